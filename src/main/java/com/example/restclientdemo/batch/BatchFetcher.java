@@ -0,0 +1,75 @@
+package com.example.restclientdemo.batch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Fetches many keys in parallel on virtual threads, at most {@code maxConcurrency} at a time.
+ *
+ * <p>Each distinct key is loaded once. A key that fails is recorded in the {@link BatchResult}
+ * and does not stop the others. A permit is taken before each thread starts, so a batch of
+ * 10,000 ids never has more than {@code maxConcurrency} threads alive.
+ */
+public final class BatchFetcher {
+
+    private BatchFetcher() {}
+
+    public static <K, V> BatchResult<K, V> fetchAll(
+            Collection<K> keys, Function<K, V> loader, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        Semaphore permits = new Semaphore(maxConcurrency);
+        Map<K, Future<V>> futures = new LinkedHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (K key : new LinkedHashSet<>(keys)) {
+                permits.acquire();
+                futures.put(
+                        key,
+                        executor.submit(
+                                () -> {
+                                    try {
+                                        return loader.apply(key);
+                                    } finally {
+                                        permits.release();
+                                    }
+                                }));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching batch", e);
+        }
+
+        List<BatchResult.Outcome<K, V>> outcomes = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            Future<V> future = futures.get(key);
+            outcomes.add(
+                    switch (future.state()) {
+                        case SUCCESS -> new BatchResult.Outcome<>(key, future.resultNow(), null);
+                        default ->
+                                new BatchResult.Outcome<>(
+                                        key, null, asRuntimeException(future.exceptionNow()));
+                    });
+        }
+        return new BatchResult<>(outcomes);
+    }
+
+    private static RuntimeException asRuntimeException(Throwable failure) {
+        if (failure instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(failure);
+    }
+}
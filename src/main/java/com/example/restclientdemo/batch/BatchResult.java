@@ -0,0 +1,46 @@
+package com.example.restclientdemo.batch;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Outcome of a batch fetch: one {@link Outcome} per requested key, in request order (duplicates
+ * included), each holding either the value or the exception that key failed with.
+ */
+public record BatchResult<K, V>(List<Outcome<K, V>> outcomes) {
+
+    public BatchResult {
+        outcomes = List.copyOf(outcomes);
+    }
+
+    /** Successfully fetched values in request order; {@code null} results are skipped. */
+    public List<V> values() {
+        return outcomes.stream()
+                .filter(Outcome::isSuccess)
+                .map(Outcome::value)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /** Failed keys, each listed once, with the exception that ended its fetch. */
+    public Map<K, RuntimeException> failures() {
+        Map<K, RuntimeException> failures = new LinkedHashMap<>();
+        outcomes.stream()
+                .filter(outcome -> !outcome.isSuccess())
+                .forEach(outcome -> failures.putIfAbsent(outcome.key(), outcome.failure()));
+        return failures;
+    }
+
+    public boolean hasFailures() {
+        return outcomes.stream().anyMatch(outcome -> !outcome.isSuccess());
+    }
+
+    public record Outcome<K, V>(K key, V value, RuntimeException failure) {
+
+        public boolean isSuccess() {
+            return failure == null;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.restclientdemo.batch;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Collects single-key loads from independent callers and resolves them with one multi-key call,
+ * in the style of a DataLoader.
+ *
+ * <p>The first key of a batch starts a timer of {@code window}. The batch is dispatched when the
+ * timer fires or as soon as it holds {@code maxBatchSize} distinct keys, whichever comes first.
+ * Callers asking for a key that is already pending share its future. Keys missing from the
+ * loader's result complete with {@code null}; if the loader throws, every caller in the batch
+ * gets that exception.
+ */
+public class MicroBatcher<K, V> {
+
+    private final Function<List<K>, Map<K, V>> batchLoader;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final Executor executor;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private long generation;
+
+    public MicroBatcher(
+            Function<List<K>, Map<K, V>> batchLoader, Duration window, int maxBatchSize) {
+        this(batchLoader, window, maxBatchSize, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    MicroBatcher(
+            Function<List<K>, Map<K, V>> batchLoader,
+            Duration window,
+            int maxBatchSize,
+            Executor executor) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1");
+        }
+        this.batchLoader = batchLoader;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<V> load(K key) {
+        requests.increment();
+        Map<K, CompletableFuture<V>> full = null;
+        CompletableFuture<V> future;
+        synchronized (this) {
+            future = pending.get(key);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(key, future);
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (pending.size() == 1) {
+                long scheduled = generation;
+                CompletableFuture.delayedExecutor(windowNanos, TimeUnit.NANOSECONDS, executor)
+                        .execute(() -> flushIfCurrent(scheduled));
+            }
+        }
+        if (full != null) {
+            Map<K, CompletableFuture<V>> batch = full;
+            executor.execute(() -> dispatch(batch));
+        }
+        return future;
+    }
+
+    /** Blocking form of {@link #load(Object)} that rethrows the loader's exception as is. */
+    public V get(K key) {
+        try {
+            return load(key).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(requests.sum(), batches.sum());
+    }
+
+    private Map<K, CompletableFuture<V>> takePending() {
+        Map<K, CompletableFuture<V>> batch = pending;
+        pending = new LinkedHashMap<>();
+        generation++;
+        return batch;
+    }
+
+    /** Timer callback; skipped when the batch it was started for has already gone out. */
+    private void flushIfCurrent(long scheduled) {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (this) {
+            if (generation != scheduled || pending.isEmpty()) {
+                return;
+            }
+            batch = takePending();
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        batches.increment();
+        try {
+            Map<K, V> values = batchLoader.apply(List.copyOf(batch.keySet()));
+            batch.forEach((key, future) -> future.complete(values.get(key)));
+        } catch (RuntimeException | Error e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * @param requests calls to {@link #load(Object)}
+     * @param batches multi-key calls made to the loader
+     */
+    public record Stats(long requests, long batches) {
+
+        public double requestsPerBatch() {
+            return batches == 0 ? 0.0 : (double) requests / batches;
+        }
+    }
+}
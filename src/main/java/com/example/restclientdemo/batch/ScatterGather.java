@@ -0,0 +1,142 @@
+package com.example.restclientdemo.batch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs independent calls ("legs") concurrently on virtual threads under one shared deadline.
+ *
+ * <pre>
+ * try (ScatterGather gather = new ScatterGather(Duration.ofSeconds(2))) {
+ *     ScatterGather.Leg&lt;String&gt; ip = gather.fork("ip", service::getIpAddress);
+ *     ScatterGather.Leg&lt;String&gt; agent = gather.fork("user-agent", service::getUserAgent);
+ *     gather.join();
+ *     ip.value().orElse("unknown");
+ * }
+ * </pre>
+ *
+ * <p>The deadline counts from construction. {@link #join()} waits for every leg until then,
+ * cancels (interrupts) the ones still running and never throws for a failed leg, so the caller
+ * can assemble a partial result. Each leg records its own state and duration.
+ */
+public class ScatterGather implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Leg<?>> legs = new ArrayList<>();
+    private final long startedAt = System.nanoTime();
+    private final long deadlineAt;
+
+    public ScatterGather(Duration deadline) {
+        this.deadlineAt = startedAt + deadline.toNanos();
+    }
+
+    public <T> Leg<T> fork(String name, Callable<T> call) {
+        Leg<T> leg = new Leg<>(name);
+        leg.future =
+                executor.submit(
+                        () -> {
+                            leg.startedAt = System.nanoTime();
+                            try {
+                                return call.call();
+                            } finally {
+                                leg.finishedAt = System.nanoTime();
+                            }
+                        });
+        legs.add(leg);
+        return leg;
+    }
+
+    /** Waits for all legs until the deadline, then cancels whatever is still running. */
+    public void join() throws InterruptedException {
+        try {
+            for (Leg<?> leg : legs) {
+                long remaining = deadlineAt - System.nanoTime();
+                try {
+                    leg.future.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+                } catch (ExecutionException e) {
+                    // Recorded on the leg; the other legs carry on.
+                } catch (TimeoutException e) {
+                    break;
+                }
+            }
+        } finally {
+            legs.forEach(leg -> leg.future.cancel(true));
+        }
+    }
+
+    /** Outcome and duration of every leg, in fork order. Call after {@link #join()}. */
+    public List<LegTiming> timings() {
+        return legs.stream().map(Leg::timing).toList();
+    }
+
+    /**
+     * Does not wait for cancelled legs: a blocking read that ignores interrupts (the
+     * HttpURLConnection transport) ends on its own read timeout.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    public enum LegState {
+        SUCCEEDED,
+        FAILED,
+        TIMED_OUT
+    }
+
+    /** @param error failure message for FAILED legs, {@code null} otherwise */
+    public record LegTiming(String name, LegState state, Duration elapsed, String error) {}
+
+    public final class Leg<T> {
+
+        private final String name;
+        private Future<T> future;
+        private volatile long startedAt;
+        private volatile long finishedAt;
+
+        private Leg(String name) {
+            this.name = name;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public LegState state() {
+            return switch (future.state()) {
+                case SUCCESS -> LegState.SUCCEEDED;
+                case FAILED -> LegState.FAILED;
+                default -> LegState.TIMED_OUT;
+            };
+        }
+
+        /** The leg's result; empty if it failed, timed out or returned {@code null}. */
+        public Optional<T> value() {
+            return state() == LegState.SUCCEEDED
+                    ? Optional.ofNullable(future.resultNow())
+                    : Optional.empty();
+        }
+
+        public Optional<Throwable> failure() {
+            return state() == LegState.FAILED
+                    ? Optional.of(future.exceptionNow())
+                    : Optional.empty();
+        }
+
+        LegTiming timing() {
+            long start = startedAt != 0 ? startedAt : ScatterGather.this.startedAt;
+            long end = state() == LegState.TIMED_OUT || finishedAt == 0 ? deadlineAt : finishedAt;
+            String error = failure().map(Throwable::getMessage).orElse(null);
+            return new LegTiming(name, state(), Duration.ofNanos(Math.max(end - start, 0)), error);
+        }
+    }
+}
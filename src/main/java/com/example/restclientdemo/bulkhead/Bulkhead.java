@@ -0,0 +1,81 @@
+package com.example.restclientdemo.bulkhead;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.example.restclientdemo.exception.BulkheadFullException;
+
+/**
+ * Bounded permits for the calls of one RestClient bean.
+ *
+ * <p>The connection pool is shared by every bean on a host, so a slow endpoint behind one bean can
+ * use up all of its connections; the adaptive limit is per bean and origin and does not prevent
+ * that. A bulkhead caps what each bean may hold, and a call that finds it full waits at most
+ * {@code maxWait} before failing with {@link BulkheadFullException}, so the other beans keep
+ * their share.
+ */
+public class Bulkhead {
+
+    private final String clientName;
+    private final int maxConcurrentCalls;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder waited = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public Bulkhead(String clientName, BulkheadProperties.Settings settings) {
+        this.clientName = clientName;
+        this.maxConcurrentCalls = settings.maxConcurrentCalls();
+        this.maxWaitNanos = settings.maxWait().toNanos();
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+    }
+
+    /**
+     * Takes a permit, waiting at most the configured time for one.
+     *
+     * @throws BulkheadFullException if no permit is released in time
+     */
+    public void acquire() throws InterruptedIOException {
+        if (!permits.tryAcquire()) {
+            if (maxWaitNanos <= 0 || !awaitPermit()) {
+                rejected.increment();
+                throw new BulkheadFullException(clientName, maxConcurrentCalls);
+            }
+            waited.increment();
+        }
+        accepted.increment();
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+        permits.release();
+    }
+
+    public BulkheadStats stats() {
+        return new BulkheadStats(
+                maxConcurrentCalls,
+                inFlight.get(),
+                peakInFlight.get(),
+                accepted.sum(),
+                waited.sum(),
+                rejected.sum());
+    }
+
+    private boolean awaitPermit() throws InterruptedIOException {
+        try {
+            return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(
+                    "Interrupted waiting for the bulkhead of " + clientName);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.restclientdemo.bulkhead;
+
+import java.io.IOException;
+
+import com.example.restclientdemo.http.ObservedClientHttpResponse;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/** Holds a {@link Bulkhead} permit from sending the request until the response is closed. */
+public class BulkheadInterceptor implements ClientHttpRequestInterceptor {
+
+    private final Bulkhead bulkhead;
+
+    public BulkheadInterceptor(Bulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(
+            HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        bulkhead.acquire();
+        try {
+            return new ObservedClientHttpResponse(
+                    execution.execute(request, body), bulkhead::release);
+        } catch (IOException | RuntimeException e) {
+            bulkhead.release();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.restclientdemo.bulkhead;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.example.restclientdemo.http.ClientNames;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-bean bulkheads, bound from {@code app.http.bulkhead.*}.
+ *
+ * <p>Only beans with an entry under {@code app.http.bulkhead.clients.<bean>} get a bulkhead; the
+ * top-level values are defaults for settings the entry leaves out, e.g.
+ *
+ * <pre>
+ * app.http.bulkhead.max-concurrent-calls=25
+ * app.http.bulkhead.max-wait=0s
+ * app.http.bulkhead.clients.errorHandlingRestClient.max-concurrent-calls=5
+ * app.http.bulkhead.clients.defaultRestClient.max-wait=50ms
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.http.bulkhead")
+public class BulkheadProperties {
+
+    /** Default number of calls a bean may have in flight at once. */
+    private int maxConcurrentCalls = 25;
+
+    /** Default time a call waits for a permit before it is rejected; zero fails fast. */
+    private Duration maxWait = Duration.ZERO;
+
+    private Map<String, Client> clients = new LinkedHashMap<>();
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public Map<String, Client> getClients() {
+        return clients;
+    }
+
+    public void setClients(Map<String, Client> clients) {
+        this.clients = clients;
+    }
+
+    /** Resolves the bulkhead of a RestClient bean, or {@code null} if it has none. */
+    public Settings settingsFor(String clientName) {
+        return clients.entrySet().stream()
+                .filter(entry -> ClientNames.matches(entry.getKey(), clientName))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .map(
+                        client ->
+                                new Settings(
+                                        client.getMaxConcurrentCalls() != null
+                                                ? client.getMaxConcurrentCalls()
+                                                : maxConcurrentCalls,
+                                        client.getMaxWait() != null
+                                                ? client.getMaxWait()
+                                                : maxWait))
+                .orElse(null);
+    }
+
+    /** Per-bean overrides; {@code null} means "use the default". */
+    public static class Client {
+        private Integer maxConcurrentCalls;
+        private Duration maxWait;
+
+        public Integer getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        public void setMaxConcurrentCalls(Integer maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+
+    /** Effective bulkhead settings of one RestClient bean. */
+    public record Settings(int maxConcurrentCalls, Duration maxWait) {}
+}
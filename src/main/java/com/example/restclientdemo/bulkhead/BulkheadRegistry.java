@@ -0,0 +1,36 @@
+package com.example.restclientdemo.bulkhead;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.springframework.web.client.RestClient;
+
+/** Creates the bulkhead of each configured RestClient bean and exposes its rejection counts. */
+public class BulkheadRegistry {
+
+    private final BulkheadProperties properties;
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public BulkheadRegistry(BulkheadProperties properties) {
+        this.properties = properties;
+    }
+
+    public Consumer<RestClient.Builder> forClient(String clientName) {
+        BulkheadProperties.Settings settings = properties.settingsFor(clientName);
+        if (settings == null) {
+            return builder -> {};
+        }
+        Bulkhead bulkhead =
+                bulkheads.computeIfAbsent(clientName, name -> new Bulkhead(name, settings));
+        return builder -> builder.requestInterceptor(new BulkheadInterceptor(bulkhead));
+    }
+
+    /** Counters per RestClient bean name. */
+    public Map<String, BulkheadStats> stats() {
+        Map<String, BulkheadStats> stats = new TreeMap<>();
+        bulkheads.forEach((name, bulkhead) -> stats.put(name, bulkhead.stats()));
+        return stats;
+    }
+}
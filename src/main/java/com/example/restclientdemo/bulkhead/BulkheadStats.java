@@ -0,0 +1,18 @@
+package com.example.restclientdemo.bulkhead;
+
+/** Point-in-time view of a {@link Bulkhead}. */
+public record BulkheadStats(
+        int maxConcurrentCalls,
+        int inFlight,
+        int peakInFlight,
+        long accepted,
+        long waited,
+        long rejected) {
+
+    @Override
+    public String toString() {
+        return String.format(
+                "limit=%d inFlight=%d peak=%d accepted=%d waited=%d rejected=%d",
+                maxConcurrentCalls, inFlight, peakInFlight, accepted, waited, rejected);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.restclientdemo.cache;
+
+import java.util.List;
+
+/**
+ * The subset of {@code Cache-Control} directives (RFC 9111 section 5.2) a private client cache
+ * acts on. Numeric values are in seconds; {@code null} means the directive is absent.
+ */
+public record CacheDirectives(
+        boolean noStore,
+        boolean noCache,
+        boolean mustRevalidate,
+        Long maxAge,
+        Long staleWhileRevalidate,
+        Long staleIfError) {
+
+    public static final CacheDirectives NONE =
+            new CacheDirectives(false, false, false, null, null, null);
+
+    /** Parses all {@code Cache-Control} header lines; unknown directives are ignored. */
+    public static CacheDirectives parse(List<String> headerValues) {
+        if (headerValues == null || headerValues.isEmpty()) {
+            return NONE;
+        }
+        boolean noStore = false;
+        boolean noCache = false;
+        boolean mustRevalidate = false;
+        Long maxAge = null;
+        Long staleWhileRevalidate = null;
+        Long staleIfError = null;
+        for (String headerValue : headerValues) {
+            for (String directive : headerValue.split(",")) {
+                String[] parts = directive.trim().split("=", 2);
+                String name = parts[0].trim().toLowerCase();
+                String value = parts.length > 1 ? parts[1].trim().replace("\"", "") : null;
+                switch (name) {
+                    case "no-store" -> noStore = true;
+                    case "no-cache" -> noCache = true;
+                    case "must-revalidate", "proxy-revalidate" -> mustRevalidate = true;
+                    case "max-age" -> maxAge = seconds(value, maxAge);
+                    case "stale-while-revalidate" ->
+                            staleWhileRevalidate = seconds(value, staleWhileRevalidate);
+                    case "stale-if-error" -> staleIfError = seconds(value, staleIfError);
+                    default -> {}
+                }
+            }
+        }
+        return new CacheDirectives(
+                noStore, noCache, mustRevalidate, maxAge, staleWhileRevalidate, staleIfError);
+    }
+
+    private static Long seconds(String value, Long current) {
+        if (value == null) {
+            return current;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            // An invalid max-age makes the response stale (RFC 9111 section 4.2.1)
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.restclientdemo.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.example.restclientdemo.http.BufferedClientHttpResponse;
+import com.example.restclientdemo.http.HttpDates;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * A stored response plus what RFC 9111 needs to judge it: when it was requested and received,
+ * and the request header values it was selected with ({@code Vary}).
+ */
+public record CacheEntry(
+        HttpStatusCode statusCode,
+        String statusText,
+        HttpHeaders headers,
+        byte[] body,
+        Instant requestTime,
+        Instant responseTime,
+        Map<String, List<String>> varyValues) {
+
+    /** Headers a 304 response must not overwrite in the stored response (section 4.3.4). */
+    private static final Set<String> NOT_UPDATED_BY_304 =
+            Set.of("content-length", "content-encoding", "transfer-encoding", "content-range");
+
+    public CacheDirectives directives() {
+        return CacheDirectives.parse(headers.get(HttpHeaders.CACHE_CONTROL));
+    }
+
+    public boolean hasValidators() {
+        return headers.getETag() != null || headers.getFirst(HttpHeaders.LAST_MODIFIED) != null;
+    }
+
+    /** Freshness lifetime per RFC 9111 section 4.2.1, including the 10% heuristic (4.2.2). */
+    public Duration freshnessLifetime() {
+        CacheDirectives directives = directives();
+        if (directives.maxAge() != null) {
+            return Duration.ofSeconds(directives.maxAge());
+        }
+        Instant date = date();
+        String expires = headers.getFirst(HttpHeaders.EXPIRES);
+        if (expires != null) {
+            // An invalid Expires value means "already expired"
+            return HttpDates.parse(expires)
+                    .map(instant -> positive(Duration.between(date, instant)))
+                    .orElse(Duration.ZERO);
+        }
+        return HttpDates.parse(headers.getFirst(HttpHeaders.LAST_MODIFIED))
+                .map(lastModified -> positive(Duration.between(lastModified, date)).dividedBy(10))
+                .orElse(Duration.ZERO);
+    }
+
+    /** Current age per RFC 9111 section 4.2.3. */
+    public Duration currentAge(Instant now) {
+        Duration apparentAge = positive(Duration.between(date(), responseTime));
+        Duration responseDelay = Duration.between(requestTime, responseTime);
+        Duration correctedAgeValue = ageHeader().plus(responseDelay);
+        Duration correctedInitialAge =
+                apparentAge.compareTo(correctedAgeValue) > 0 ? apparentAge : correctedAgeValue;
+        return correctedInitialAge.plus(positive(Duration.between(responseTime, now)));
+    }
+
+    public boolean isFresh(Instant now) {
+        return freshnessLifetime().compareTo(currentAge(now)) > 0;
+    }
+
+    /** How long the entry has been stale; zero while it is fresh. */
+    public Duration staleness(Instant now) {
+        return positive(currentAge(now).minus(freshnessLifetime()));
+    }
+
+    public boolean matchesVary(HttpHeaders requestHeaders) {
+        return varyValues.entrySet().stream()
+                .allMatch(
+                        vary ->
+                                Objects.equals(
+                                        vary.getValue(),
+                                        requestHeaders.getOrDefault(vary.getKey(), List.of())));
+    }
+
+    /** Returns a copy with headers updated from a 304 response (section 4.3.4). */
+    public CacheEntry refresh(HttpHeaders notModified, Instant requestTime, Instant responseTime) {
+        HttpHeaders updated = new HttpHeaders();
+        updated.putAll(headers);
+        notModified.forEach(
+                (name, values) -> {
+                    if (!NOT_UPDATED_BY_304.contains(name.toLowerCase())) {
+                        updated.put(name, values);
+                    }
+                });
+        return new CacheEntry(
+                statusCode, statusText, updated, body, requestTime, responseTime, varyValues);
+    }
+
+    /** The stored response with an {@code Age} header reflecting its current age. */
+    public BufferedClientHttpResponse toResponse(Instant now) {
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.putAll(headers);
+        responseHeaders.set(HttpHeaders.AGE, String.valueOf(currentAge(now).toSeconds()));
+        return new BufferedClientHttpResponse(statusCode, statusText, responseHeaders, body);
+    }
+
+    public long sizeInBytes() {
+        long headerBytes =
+                headers.entrySet().stream()
+                        .mapToLong(
+                                header ->
+                                        header.getKey().length()
+                                                + header.getValue().stream()
+                                                        .mapToLong(String::length)
+                                                        .sum())
+                        .sum();
+        return body.length + headerBytes;
+    }
+
+    private Instant date() {
+        return HttpDates.parse(headers.getFirst(HttpHeaders.DATE)).orElse(responseTime);
+    }
+
+    private Duration ageHeader() {
+        try {
+            String age = headers.getFirst(HttpHeaders.AGE);
+            return age != null ? Duration.ofSeconds(Long.parseLong(age.trim())) : Duration.ZERO;
+        } catch (NumberFormatException e) {
+            return Duration.ZERO;
+        }
+    }
+
+    private static Duration positive(Duration duration) {
+        return duration.isNegative() ? Duration.ZERO : duration;
+    }
+}
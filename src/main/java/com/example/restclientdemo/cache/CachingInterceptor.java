@@ -0,0 +1,226 @@
+package com.example.restclientdemo.cache;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.example.restclientdemo.http.BufferedClientHttpResponse;
+import com.example.restclientdemo.http.JsonArrayStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+
+/**
+ * Private HTTP cache for GET requests following RFC 9111.
+ *
+ * <ul>
+ *   <li>Fresh responses ({@code max-age}, {@code Expires}, or 10% of the time since {@code
+ *       Last-Modified}) are served without a network round-trip.
+ *   <li>Stale responses with an {@code ETag} or {@code Last-Modified} are revalidated with {@code
+ *       If-None-Match} / {@code If-Modified-Since}; a 304 refreshes the stored headers and the
+ *       stored body is returned.
+ *   <li>{@code no-store} (request or response) bypasses the cache, {@code no-cache} forces
+ *       revalidation, and {@code Vary} selects the stored response by request headers.
+ *   <li>A successful POST, PUT, PATCH or DELETE invalidates the stored response for its URI.
+ * </ul>
+ *
+ * <p>Requests that already carry their own conditional headers, and streaming requests ({@link
+ * JsonArrayStream#isStreaming}), are passed through untouched.
+ *
+ * <p>How each request was served is left in the request attribute {@link
+ * #CACHE_OUTCOME_ATTRIBUTE} for the interceptors further out.
+ */
+public class CachingInterceptor implements ClientHttpRequestInterceptor {
+
+    /**
+     * Request attribute set to {@code HIT}, {@code MISS}, {@code REVALIDATED} or {@code BYPASS}.
+     */
+    public static final String CACHE_OUTCOME_ATTRIBUTE =
+            CachingInterceptor.class.getName() + ".outcome";
+
+    /** Status codes cacheable by default (RFC 9110 section 15.1). */
+    private static final Set<Integer> CACHEABLE_STATUS =
+            Set.of(200, 203, 204, 206, 300, 301, 308, 404, 405, 410, 414, 501);
+
+    private final String clientName;
+    private final HttpResponseCache cache;
+    private final long maxEntryBytes;
+    private final Clock clock;
+
+    public CachingInterceptor(String clientName, HttpResponseCache cache, long maxEntryBytes) {
+        this(clientName, cache, maxEntryBytes, Clock.systemUTC());
+    }
+
+    CachingInterceptor(
+            String clientName, HttpResponseCache cache, long maxEntryBytes, Clock clock) {
+        this.clientName = clientName;
+        this.cache = cache;
+        this.maxEntryBytes = maxEntryBytes;
+        this.clock = clock;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(
+            HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String key = clientName + " " + request.getURI();
+        HttpMethod method = request.getMethod();
+        if (!HttpMethod.GET.equals(method)) {
+            request.getAttributes().put(CACHE_OUTCOME_ATTRIBUTE, "BYPASS");
+            ClientHttpResponse response = execution.execute(request, body);
+            if (!HttpMethod.HEAD.equals(method) && !response.getStatusCode().isError()) {
+                cache.invalidate(key);
+            }
+            return response;
+        }
+
+        HttpHeaders requestHeaders = request.getHeaders();
+        CacheDirectives requested =
+                CacheDirectives.parse(requestHeaders.get(HttpHeaders.CACHE_CONTROL));
+        if (requested.noStore()
+                || isConditional(requestHeaders)
+                || JsonArrayStream.isStreaming(request)) {
+            request.getAttributes().put(CACHE_OUTCOME_ATTRIBUTE, "BYPASS");
+            return execution.execute(request, body);
+        }
+
+        Instant now = clock.instant();
+        CacheEntry entry = cache.get(key);
+        if (entry != null && entry.matchesVary(requestHeaders)) {
+            if (entry.isFresh(now) && !mustRevalidate(requested, entry, now)) {
+                cache.recordHit();
+                request.getAttributes().put(CACHE_OUTCOME_ATTRIBUTE, "HIT");
+                return entry.toResponse(now);
+            }
+            if (entry.hasValidators()) {
+                return revalidate(key, entry, request, body, execution);
+            }
+        }
+        cache.recordMiss();
+        request.getAttributes().put(CACHE_OUTCOME_ATTRIBUTE, "MISS");
+        return fetch(key, request, body, execution);
+    }
+
+    private ClientHttpResponse revalidate(
+            String key,
+            CacheEntry entry,
+            HttpRequest request,
+            byte[] body,
+            ClientHttpRequestExecution execution)
+            throws IOException {
+        HttpHeaders conditionalHeaders = new HttpHeaders();
+        conditionalHeaders.putAll(request.getHeaders());
+        if (entry.headers().getETag() != null) {
+            conditionalHeaders.set(HttpHeaders.IF_NONE_MATCH, entry.headers().getETag());
+        }
+        String lastModified = entry.headers().getFirst(HttpHeaders.LAST_MODIFIED);
+        if (lastModified != null) {
+            conditionalHeaders.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
+        HttpRequest conditional =
+                new HttpRequestWrapper(request) {
+                    @Override
+                    public HttpHeaders getHeaders() {
+                        return conditionalHeaders;
+                    }
+                };
+
+        Instant requestTime = clock.instant();
+        ClientHttpResponse response = execution.execute(conditional, body);
+        if (response.getStatusCode().value() != 304) {
+            cache.recordMiss();
+            request.getAttributes().put(CACHE_OUTCOME_ATTRIBUTE, "MISS");
+            return store(key, request, response, requestTime);
+        }
+        HttpHeaders notModified = new HttpHeaders();
+        notModified.putAll(response.getHeaders());
+        response.close();
+
+        Instant responseTime = clock.instant();
+        CacheEntry refreshed = entry.refresh(notModified, requestTime, responseTime);
+        cache.put(key, refreshed);
+        cache.recordRevalidation();
+        request.getAttributes().put(CACHE_OUTCOME_ATTRIBUTE, "REVALIDATED");
+        return refreshed.toResponse(responseTime);
+    }
+
+    private ClientHttpResponse fetch(
+            String key, HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Instant requestTime = clock.instant();
+        return store(key, request, execution.execute(request, body), requestTime);
+    }
+
+    private ClientHttpResponse store(
+            String key, HttpRequest request, ClientHttpResponse response, Instant requestTime)
+            throws IOException {
+        Instant responseTime = clock.instant();
+        if (!isStorable(response)) {
+            return response;
+        }
+        BufferedClientHttpResponse buffered;
+        try (response) {
+            buffered = BufferedClientHttpResponse.copyOf(response);
+        }
+        if (buffered.getBodyAsBytes().length <= maxEntryBytes) {
+            cache.put(
+                    key,
+                    new CacheEntry(
+                            buffered.getStatusCode(),
+                            buffered.getStatusText(),
+                            buffered.getHeaders(),
+                            buffered.getBodyAsBytes(),
+                            requestTime,
+                            responseTime,
+                            varyValues(request.getHeaders(), buffered.getHeaders())));
+        }
+        return buffered;
+    }
+
+    /** Storable per RFC 9111 section 3, limited to responses this cache can reuse. */
+    private static boolean isStorable(ClientHttpResponse response) throws IOException {
+        HttpHeaders headers = response.getHeaders();
+        if (!CACHEABLE_STATUS.contains(response.getStatusCode().value())
+                || CacheDirectives.parse(headers.get(HttpHeaders.CACHE_CONTROL)).noStore()
+                || headers.getVary().contains("*")) {
+            return false;
+        }
+        return headers.getFirst(HttpHeaders.CACHE_CONTROL) != null
+                || headers.getFirst(HttpHeaders.EXPIRES) != null
+                || headers.getETag() != null
+                || headers.getFirst(HttpHeaders.LAST_MODIFIED) != null;
+    }
+
+    private static boolean mustRevalidate(
+            CacheDirectives requested, CacheEntry entry, Instant now) {
+        if (requested.noCache() || entry.directives().noCache()) {
+            return true;
+        }
+        return requested.maxAge() != null
+                && entry.currentAge(now).compareTo(Duration.ofSeconds(requested.maxAge())) > 0;
+    }
+
+    private static boolean isConditional(HttpHeaders headers) {
+        return headers.containsKey(HttpHeaders.IF_NONE_MATCH)
+                || headers.containsKey(HttpHeaders.IF_MODIFIED_SINCE);
+    }
+
+    private static Map<String, List<String>> varyValues(
+            HttpHeaders requestHeaders, HttpHeaders responseHeaders) {
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        for (String name : responseHeaders.getVary()) {
+            values.put(name, List.copyOf(requestHeaders.getOrDefault(name, List.of())));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.restclientdemo.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Size- and TTL-bounded LRU cache of domain objects keyed by id.
+ *
+ * <p>Unlike {@link HttpResponseCache}, which stores HTTP responses per URI, this cache holds
+ * decoded entities so every read path for the same id shares one copy, and writes can refresh or
+ * evict it. Loading happens outside the lock, so two concurrent misses may both load.
+ *
+ * <p>Each miss in {@link #getOrLoad} takes a load token for its key; a {@link #put} or {@link
+ * #evict} of that key, or a newer miss, revokes it. A load whose token was revoked returns its
+ * value to the caller but does not store it, so a slow load cannot write back a user that an
+ * update or delete already replaced.
+ */
+public class EntityCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final Map<K, Object> loadTokens = new HashMap<>();
+
+    private long hits;
+    private long misses;
+
+    public EntityCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    EntityCache(int maxSize, Duration ttl, LongSupplier ticker) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+        this.entries =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                        return size() > EntityCache.this.maxSize;
+                    }
+                };
+    }
+
+    /** A cache that never stores anything, for callers that opt out of caching. */
+    public static <K, V> EntityCache<K, V> disabled() {
+        return new EntityCache<>(0, Duration.ZERO);
+    }
+
+    public synchronized Optional<V> get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.expiresAt() - ticker.getAsLong() > 0) {
+            hits++;
+            return Optional.of(entry.value());
+        }
+        if (entry != null) {
+            entries.remove(key);
+        }
+        misses++;
+        return Optional.empty();
+    }
+
+    /** Returns the cached value or loads, stores and returns it. {@code null} is not cached. */
+    public V getOrLoad(K key, Function<K, V> loader) {
+        Object token = new Object();
+        synchronized (this) {
+            Optional<V> cached = get(key);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+            loadTokens.put(key, token);
+        }
+        V value = null;
+        try {
+            value = loader.apply(key);
+            return value;
+        } finally {
+            completeLoad(key, token, value);
+        }
+    }
+
+    public synchronized void put(K key, V value) {
+        loadTokens.remove(key);
+        store(key, value);
+    }
+
+    public synchronized void evict(K key) {
+        loadTokens.remove(key);
+        entries.remove(key);
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, entries.size());
+    }
+
+    /** Stores the loaded value only if no write or newer miss revoked the load's token. */
+    private synchronized void completeLoad(K key, Object token, V value) {
+        if (loadTokens.remove(key, token)) {
+            store(key, value);
+        }
+    }
+
+    private void store(K key, V value) {
+        if (value == null || maxSize == 0) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, ticker.getAsLong() + ttlNanos));
+    }
+
+    private record Entry<V>(V value, long expiresAt) {}
+
+    /** Lookup counters and current number of entries (expired entries included until read). */
+    public record Stats(long hits, long misses, int size) {}
+}
@@ -0,0 +1,59 @@
+package com.example.restclientdemo.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.restclientdemo.http.ClientNames;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * HTTP response caching, bound from {@code app.http.cache.*}.
+ *
+ * <pre>
+ * app.http.cache.clients=defaultRestClient,jsonPlaceholderRestClient
+ * app.http.cache.max-size=10MB
+ * app.http.cache.max-entry-size=1MB
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.http.cache")
+public class HttpCacheProperties {
+
+    /** RestClient bean names whose GET responses are cached. */
+    private List<String> clients = new ArrayList<>();
+
+    /** Total size of all stored responses, shared by every caching bean. */
+    private DataSize maxSize = DataSize.ofMegabytes(10);
+
+    /** Responses with a larger body are passed through without being stored. */
+    private DataSize maxEntrySize = DataSize.ofMegabytes(1);
+
+    public List<String> getClients() {
+        return clients;
+    }
+
+    public void setClients(List<String> clients) {
+        this.clients = clients;
+    }
+
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public DataSize getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    public void setMaxEntrySize(DataSize maxEntrySize) {
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    public boolean isEnabledFor(String clientName) {
+        return ClientNames.contains(clients, clientName);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.restclientdemo.cache;
+
+import java.util.function.Consumer;
+
+import org.springframework.web.client.RestClient;
+
+/**
+ * Attaches a {@link CachingInterceptor} to each opted-in RestClient bean. All beans share one
+ * {@link HttpResponseCache}, so the size limit is global; entries are keyed by bean name and URI
+ * because beans send different default headers.
+ */
+public class HttpCacheRegistry {
+
+    private final HttpCacheProperties properties;
+    private final HttpResponseCache cache;
+
+    public HttpCacheRegistry(HttpCacheProperties properties) {
+        this.properties = properties;
+        this.cache = new HttpResponseCache(properties.getMaxSize().toBytes());
+    }
+
+    public Consumer<RestClient.Builder> forClient(String clientName) {
+        if (!properties.isEnabledFor(clientName)) {
+            return builder -> {};
+        }
+        CachingInterceptor interceptor =
+                new CachingInterceptor(
+                        clientName, cache, properties.getMaxEntrySize().toBytes());
+        return builder -> builder.requestInterceptor(interceptor);
+    }
+
+    public HttpCacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.restclientdemo.cache;
+
+/**
+ * Counters of the {@link HttpResponseCache}.
+ *
+ * @param hits requests answered from a fresh stored response
+ * @param misses requests that went upstream without a usable stored response
+ * @param revalidations stale responses confirmed by a 304 Not Modified
+ * @param stores responses written to the cache
+ * @param evictions entries removed to stay within the size limit
+ */
+public record HttpCacheStats(
+        long hits,
+        long misses,
+        long revalidations,
+        long stores,
+        long evictions,
+        int entries,
+        long sizeInBytes) {
+
+    public double hitRatio() {
+        long lookups = hits + misses + revalidations;
+        return lookups == 0 ? 0.0 : (double) (hits + revalidations) / lookups;
+    }
+}
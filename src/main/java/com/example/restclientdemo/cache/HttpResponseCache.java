@@ -0,0 +1,84 @@
+package com.example.restclientdemo.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-memory store of HTTP responses, shared by all caching RestClient beans.
+ *
+ * <p>Entries are kept in access order and the least recently used ones are evicted once the total
+ * size of bodies and headers exceeds {@code maxSizeInBytes}.
+ */
+public class HttpResponseCache {
+
+    private final long maxSizeInBytes;
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeInBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public HttpResponseCache(long maxSizeInBytes) {
+        this.maxSizeInBytes = maxSizeInBytes;
+    }
+
+    public synchronized CacheEntry get(String key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(String key, CacheEntry entry) {
+        long size = entry.sizeInBytes();
+        if (size > maxSizeInBytes) {
+            invalidate(key);
+            return;
+        }
+        CacheEntry previous = entries.put(key, entry);
+        if (previous != null) {
+            sizeInBytes -= previous.sizeInBytes();
+        }
+        sizeInBytes += size;
+        stores.increment();
+
+        Iterator<Map.Entry<String, CacheEntry>> eldest = entries.entrySet().iterator();
+        while (sizeInBytes > maxSizeInBytes && eldest.hasNext()) {
+            sizeInBytes -= eldest.next().getValue().sizeInBytes();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    public synchronized void invalidate(String key) {
+        CacheEntry removed = entries.remove(key);
+        if (removed != null) {
+            sizeInBytes -= removed.sizeInBytes();
+        }
+    }
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    void recordRevalidation() {
+        revalidations.increment();
+    }
+
+    public synchronized HttpCacheStats stats() {
+        return new HttpCacheStats(
+                hits.sum(),
+                misses.sum(),
+                revalidations.sum(),
+                stores.sum(),
+                evictions.sum(),
+                entries.size(),
+                sizeInBytes);
+    }
+}
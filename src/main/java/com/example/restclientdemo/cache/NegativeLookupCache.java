@@ -0,0 +1,43 @@
+package com.example.restclientdemo.cache;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers keys that were recently confirmed missing (404), so repeated lookups of ids that do
+ * not exist can be answered without a round-trip. Entries expire after a short TTL and must be
+ * invalidated when the key is created.
+ */
+public class NegativeLookupCache<K> {
+
+    private final EntityCache<K, Boolean> missing;
+
+    public NegativeLookupCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    NegativeLookupCache(int maxSize, Duration ttl, LongSupplier ticker) {
+        this.missing = new EntityCache<>(maxSize, ttl, ticker);
+    }
+
+    public static <K> NegativeLookupCache<K> disabled() {
+        return new NegativeLookupCache<>(0, Duration.ZERO);
+    }
+
+    public boolean isKnownMissing(K key) {
+        return missing.get(key).isPresent();
+    }
+
+    public void recordMissing(K key) {
+        missing.put(key, Boolean.TRUE);
+    }
+
+    public void invalidate(K key) {
+        missing.evict(key);
+    }
+
+    /** Lookup counters; a hit is a lookup answered as "missing" without a request. */
+    public EntityCache.Stats stats() {
+        return missing.stats();
+    }
+}
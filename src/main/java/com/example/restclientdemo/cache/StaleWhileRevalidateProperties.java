@@ -0,0 +1,88 @@
+package com.example.restclientdemo.cache;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Stale-while-revalidate policies for HTTP Interface methods, bound from {@code
+ * app.http.stale.*}. Methods are keyed by interface simple name and method name.
+ *
+ * <pre>
+ * app.http.stale.methods[UserClient.getAllUsers].fresh-for=30s
+ * app.http.stale.methods[UserClient.getAllUsers].stale-while-revalidate=5m
+ * app.http.stale.methods[UserClient.getAllUsers].stale-if-error=1h
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.http.stale")
+public class StaleWhileRevalidateProperties {
+
+    private Map<String, Policy> methods = new LinkedHashMap<>();
+
+    public Map<String, Policy> getMethods() {
+        return methods;
+    }
+
+    public void setMethods(Map<String, Policy> methods) {
+        this.methods = methods;
+    }
+
+    public Optional<Policy> policyFor(Class<?> type, Method method) {
+        String key = type.getSimpleName() + "." + method.getName();
+        return methods.entrySet().stream()
+                .filter(entry -> entry.getKey().equalsIgnoreCase(key))
+                .map(Map.Entry::getValue)
+                .findFirst();
+    }
+
+    public static class Policy {
+
+        /** How long a result is returned without refreshing. */
+        private Duration freshFor = Duration.ofSeconds(30);
+
+        /** After that, how long the old result is still returned while a refresh runs. */
+        private Duration staleWhileRevalidate = Duration.ofMinutes(5);
+
+        /** How long past {@code freshFor} the old result may replace a failed call. */
+        private Duration staleIfError = Duration.ofHours(1);
+
+        /** Distinct argument combinations remembered per method. */
+        private int maxEntries = 100;
+
+        public Duration getFreshFor() {
+            return freshFor;
+        }
+
+        public void setFreshFor(Duration freshFor) {
+            this.freshFor = freshFor;
+        }
+
+        public Duration getStaleWhileRevalidate() {
+            return staleWhileRevalidate;
+        }
+
+        public void setStaleWhileRevalidate(Duration staleWhileRevalidate) {
+            this.staleWhileRevalidate = staleWhileRevalidate;
+        }
+
+        public Duration getStaleIfError() {
+            return staleIfError;
+        }
+
+        public void setStaleIfError(Duration staleIfError) {
+            this.staleIfError = staleIfError;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.restclientdemo.cache;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import com.example.restclientdemo.http.Proxies;
+
+/**
+ * Wraps HTTP Interface clients so configured read methods serve their last result immediately and
+ * refresh it in the background once it is older than {@code fresh-for}. If a blocking call fails,
+ * a result within the {@code stale-if-error} window is returned instead of the exception.
+ *
+ * <p>Results are cached per method and argument list. Concurrent loads of the same key share one
+ * call to the target, whether they block or run in the background. {@code null} is never cached.
+ */
+public class StaleWhileRevalidateProxyFactory {
+
+    private final StaleWhileRevalidateProperties properties;
+    private final Executor refreshExecutor;
+    private final LongSupplier ticker;
+
+    private final LongAdder fresh = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+    private final LongAdder staleOnError = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+
+    public StaleWhileRevalidateProxyFactory(StaleWhileRevalidateProperties properties) {
+        this(properties, Executors.newVirtualThreadPerTaskExecutor(), System::nanoTime);
+    }
+
+    StaleWhileRevalidateProxyFactory(
+            StaleWhileRevalidateProperties properties,
+            Executor refreshExecutor,
+            LongSupplier ticker) {
+        this.properties = properties;
+        this.refreshExecutor = refreshExecutor;
+        this.ticker = ticker;
+    }
+
+    /** Returns {@code target} itself when none of the interface's methods is configured. */
+    @SuppressWarnings("unchecked")
+    public <T> T wrap(Class<T> type, T target) {
+        Map<Method, MethodCache> caches = new HashMap<>();
+        for (Method method : type.getMethods()) {
+            properties
+                    .policyFor(type, method)
+                    .ifPresent(policy -> caches.put(method, new MethodCache(policy)));
+        }
+        if (caches.isEmpty()) {
+            return target;
+        }
+        InvocationHandler handler =
+                (proxy, method, args) -> {
+                    MethodCache cache = caches.get(method);
+                    if (cache == null) {
+                        return invokeTarget(target, method, args);
+                    }
+                    return cache.invoke(() -> invokeTarget(target, method, args), args);
+                };
+        return (T)
+                Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    public StaleWhileRevalidateStats stats() {
+        return new StaleWhileRevalidateStats(
+                fresh.sum(),
+                stale.sum(),
+                staleOnError.sum(),
+                loads.sum(),
+                refreshes.sum(),
+                refreshFailures.sum());
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) {
+        try {
+            return Proxies.invoke(target, method, args);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable failure) {
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        if (failure instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        throw new CompletionException(failure);
+    }
+
+    private static Duration maxOf(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    private interface Call {
+        Object invoke();
+    }
+
+    private record Stamped(Object value, long fetchedAt) {}
+
+    private final class MethodCache {
+
+        private final long freshNanos;
+        private final long staleWhileRevalidateNanos;
+        private final long staleIfErrorNanos;
+        private final EntityCache<List<Object>, Stamped> results;
+        private final Map<List<Object>, CompletableFuture<Object>> inFlight =
+                new ConcurrentHashMap<>();
+
+        MethodCache(StaleWhileRevalidateProperties.Policy policy) {
+            this.freshNanos = policy.getFreshFor().toNanos();
+            this.staleWhileRevalidateNanos = policy.getStaleWhileRevalidate().toNanos();
+            this.staleIfErrorNanos = policy.getStaleIfError().toNanos();
+            Duration staleWindow =
+                    maxOf(policy.getStaleWhileRevalidate(), policy.getStaleIfError());
+            Duration retention = policy.getFreshFor().plus(staleWindow);
+            this.results = new EntityCache<>(policy.getMaxEntries(), retention, ticker);
+        }
+
+        Object invoke(Call call, Object[] args) {
+            List<Object> key =
+                    args == null ? List.of() : Collections.unmodifiableList(Arrays.asList(args));
+            Optional<Stamped> cached = results.get(key);
+            long age = cached.map(entry -> ticker.getAsLong() - entry.fetchedAt()).orElse(0L);
+            if (cached.isPresent() && age < freshNanos) {
+                fresh.increment();
+                return cached.get().value();
+            }
+            if (cached.isPresent() && age < freshNanos + staleWhileRevalidateNanos) {
+                stale.increment();
+                refreshInBackground(key, call);
+                return cached.get().value();
+            }
+            loads.increment();
+            try {
+                return load(key, call, false).join();
+            } catch (RuntimeException | Error e) {
+                if (cached.isPresent() && age < freshNanos + staleIfErrorNanos) {
+                    staleOnError.increment();
+                    return cached.get().value();
+                }
+                throw rethrow(e);
+            }
+        }
+
+        private void refreshInBackground(List<Object> key, Call call) {
+            load(key, call, true)
+                    .exceptionally(
+                            failure -> {
+                                refreshFailures.increment();
+                                return null;
+                            });
+        }
+
+        /** Starts a load unless one is already running for the key, and returns its future. */
+        private CompletableFuture<Object> load(List<Object> key, Call call, boolean background) {
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            CompletableFuture<Object> running = inFlight.putIfAbsent(key, future);
+            if (running != null) {
+                return running;
+            }
+            Runnable task =
+                    () -> {
+                        try {
+                            Object value = call.invoke();
+                            if (value != null) {
+                                results.put(key, new Stamped(value, ticker.getAsLong()));
+                            }
+                            future.complete(value);
+                        } catch (Throwable failure) {
+                            future.completeExceptionally(failure);
+                        } finally {
+                            inFlight.remove(key, future);
+                        }
+                    };
+            if (background) {
+                refreshes.increment();
+                refreshExecutor.execute(task);
+            } else {
+                task.run();
+            }
+            return future;
+        }
+    }
+}
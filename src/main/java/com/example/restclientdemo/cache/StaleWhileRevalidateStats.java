@@ -0,0 +1,19 @@
+package com.example.restclientdemo.cache;
+
+/**
+ * Counters of all {@link StaleWhileRevalidateProxyFactory} proxies.
+ *
+ * @param fresh calls answered from a fresh result
+ * @param stale calls answered from a stale result while a refresh ran in the background
+ * @param staleOnError failed calls answered from a stale result
+ * @param loads calls that waited for the target
+ * @param refreshes background refreshes started
+ * @param refreshFailures background refreshes that failed and kept the old result
+ */
+public record StaleWhileRevalidateStats(
+        long fresh,
+        long stale,
+        long staleOnError,
+        long loads,
+        long refreshes,
+        long refreshFailures) {}
@@ -0,0 +1,224 @@
+package com.example.restclientdemo.circuitbreaker;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import com.example.restclientdemo.exception.CircuitBreakerOpenException;
+
+/**
+ * Count-based circuit breaker for the calls of one RestClient bean.
+ *
+ * <p>While {@link State#CLOSED}, the outcome of the last {@code slidingWindowSize} calls is kept
+ * in a ring buffer. Once it holds {@code minimumCalls} outcomes and the failure rate reaches the
+ * threshold, the breaker opens and {@link #acquire()} fails without a network round trip. After
+ * {@code waitInOpenState} it goes half-open and lets {@code permittedCallsInHalfOpenState} probes
+ * through: if they all succeed it closes with an empty window, and the first failure opens it
+ * again.
+ *
+ * <p>Each permit carries the generation of the state it was issued in, so a slow call started
+ * before a transition cannot close or reopen the breaker afterwards.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /** Proof that a call was let through; report its outcome exactly once. */
+    public static final class Permit {
+        private final long generation;
+
+        private Permit(long generation) {
+            this.generation = generation;
+        }
+    }
+
+    private final String clientName;
+    private final CircuitBreakerProperties.Settings settings;
+    private final CircuitBreakerListener listener;
+    private final LongSupplier ticker;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final boolean[] outcomes;
+    private int bufferedCalls;
+    private int failedCalls;
+    private int nextSlot;
+
+    private State state = State.CLOSED;
+    private long generation;
+    private long openedAt;
+    private int probesIssued;
+    private int probesSucceeded;
+    private long notPermittedCalls;
+
+    public CircuitBreaker(
+            String clientName,
+            CircuitBreakerProperties.Settings settings,
+            CircuitBreakerListener listener) {
+        this(clientName, settings, listener, System::nanoTime);
+    }
+
+    CircuitBreaker(
+            String clientName,
+            CircuitBreakerProperties.Settings settings,
+            CircuitBreakerListener listener,
+            LongSupplier ticker) {
+        this.clientName = clientName;
+        this.settings = settings;
+        this.listener = listener;
+        this.ticker = ticker;
+        this.outcomes = new boolean[Math.max(1, settings.slidingWindowSize())];
+    }
+
+    /**
+     * Lets a call through or rejects it.
+     *
+     * @throws CircuitBreakerOpenException if the breaker is open, or half-open with all probes
+     *     already issued
+     */
+    public Permit acquire() {
+        State from;
+        State to;
+        Permit permit = null;
+        long retryAfterNanos = 0;
+        lock.lock();
+        try {
+            from = state;
+            if (state == State.OPEN) {
+                long openFor = ticker.getAsLong() - openedAt;
+                retryAfterNanos = settings.waitInOpenState().toNanos() - openFor;
+                if (retryAfterNanos <= 0) {
+                    transitionTo(State.HALF_OPEN);
+                }
+            }
+            if (state == State.CLOSED) {
+                permit = new Permit(generation);
+            } else if (state == State.HALF_OPEN
+                    && probesIssued < settings.permittedCallsInHalfOpenState()) {
+                probesIssued++;
+                permit = new Permit(generation);
+            } else {
+                notPermittedCalls++;
+            }
+            to = state;
+        } finally {
+            lock.unlock();
+        }
+        notify(from, to);
+        if (permit == null) {
+            throw new CircuitBreakerOpenException(
+                    clientName, Duration.ofNanos(Math.max(0, retryAfterNanos)));
+        }
+        return permit;
+    }
+
+    public void onSuccess(Permit permit) {
+        record(permit, false);
+    }
+
+    /** Records a server error or I/O failure (including timeouts). */
+    public void onFailure(Permit permit) {
+        record(permit, true);
+    }
+
+    /** Returns a permit whose call ended without an outcome that says anything about upstream. */
+    public void onIgnored(Permit permit) {
+        lock.lock();
+        try {
+            if (permit.generation == generation && state == State.HALF_OPEN) {
+                probesIssued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State state() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public CircuitBreakerStats stats() {
+        lock.lock();
+        try {
+            return new CircuitBreakerStats(
+                    state, failureRate(), bufferedCalls, failedCalls, notPermittedCalls);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(Permit permit, boolean failure) {
+        State from;
+        State to;
+        lock.lock();
+        try {
+            from = state;
+            if (permit.generation == generation) {
+                if (state == State.CLOSED) {
+                    recordInWindow(failure);
+                    if (bufferedCalls >= settings.minimumCalls()
+                            && failureRate() >= settings.failureRateThreshold()) {
+                        transitionTo(State.OPEN);
+                    }
+                } else if (state == State.HALF_OPEN) {
+                    if (failure) {
+                        transitionTo(State.OPEN);
+                    } else if (++probesSucceeded >= settings.permittedCallsInHalfOpenState()) {
+                        transitionTo(State.CLOSED);
+                    }
+                }
+            }
+            to = state;
+        } finally {
+            lock.unlock();
+        }
+        notify(from, to);
+    }
+
+    private void recordInWindow(boolean failure) {
+        if (bufferedCalls == outcomes.length) {
+            if (outcomes[nextSlot]) {
+                failedCalls--;
+            }
+        } else {
+            bufferedCalls++;
+        }
+        outcomes[nextSlot] = failure;
+        if (failure) {
+            failedCalls++;
+        }
+        nextSlot = (nextSlot + 1) % outcomes.length;
+    }
+
+    private float failureRate() {
+        return bufferedCalls == 0 ? 0f : failedCalls * 100f / bufferedCalls;
+    }
+
+    private void transitionTo(State next) {
+        state = next;
+        generation++;
+        probesIssued = 0;
+        probesSucceeded = 0;
+        if (next == State.OPEN) {
+            openedAt = ticker.getAsLong();
+        } else if (next == State.CLOSED) {
+            bufferedCalls = 0;
+            failedCalls = 0;
+            nextSlot = 0;
+        }
+    }
+
+    private void notify(State from, State to) {
+        if (from != to) {
+            listener.onStateTransition(clientName, from, to);
+        }
+    }
+}
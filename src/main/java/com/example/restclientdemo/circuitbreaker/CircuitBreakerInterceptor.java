@@ -0,0 +1,50 @@
+package com.example.restclientdemo.circuitbreaker;
+
+import java.io.IOException;
+
+import com.example.restclientdemo.handler.CustomResponseErrorHandler;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Short-circuits requests while the bean's {@link CircuitBreaker} is open.
+ *
+ * <p>A response counts as a failure when {@link CustomResponseErrorHandler#isServerError} says it
+ * would become a {@code ServerErrorException}; I/O errors, including timeouts, count as failures
+ * too. Exceptions thrown by inner interceptors (a full bulkhead, the concurrency limit) say
+ * nothing about the upstream and are not recorded.
+ */
+public class CircuitBreakerInterceptor implements ClientHttpRequestInterceptor {
+
+    private final CircuitBreaker circuitBreaker;
+
+    public CircuitBreakerInterceptor(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(
+            HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        CircuitBreaker.Permit permit = circuitBreaker.acquire();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+            if (CustomResponseErrorHandler.isServerError(response.getStatusCode())) {
+                circuitBreaker.onFailure(permit);
+            } else {
+                circuitBreaker.onSuccess(permit);
+            }
+        } catch (IOException e) {
+            circuitBreaker.onFailure(permit);
+            throw e;
+        } catch (RuntimeException e) {
+            circuitBreaker.onIgnored(permit);
+            throw e;
+        }
+        return response;
+    }
+}
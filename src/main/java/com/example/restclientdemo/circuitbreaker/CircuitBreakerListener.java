@@ -0,0 +1,8 @@
+package com.example.restclientdemo.circuitbreaker;
+
+/** Notified after a circuit breaker changes state, outside the breaker's lock. */
+@FunctionalInterface
+public interface CircuitBreakerListener {
+
+    void onStateTransition(String clientName, CircuitBreaker.State from, CircuitBreaker.State to);
+}
@@ -0,0 +1,172 @@
+package com.example.restclientdemo.circuitbreaker;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.example.restclientdemo.http.ClientNames;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-bean circuit breakers, bound from {@code app.http.circuit-breaker.*}.
+ *
+ * <p>Only beans with an entry under {@code app.http.circuit-breaker.clients.<bean>} get a circuit
+ * breaker; the top-level values are defaults for settings the entry leaves out, e.g.
+ *
+ * <pre>
+ * app.http.circuit-breaker.failure-rate-threshold=50
+ * app.http.circuit-breaker.sliding-window-size=20
+ * app.http.circuit-breaker.clients.errorHandlingRestClient.wait-in-open-state=10s
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.http.circuit-breaker")
+public class CircuitBreakerProperties {
+
+    /** Failure percentage of the sliding window at which the breaker opens. */
+    private int failureRateThreshold = 50;
+
+    /** Number of most recent calls the failure rate is computed over. */
+    private int slidingWindowSize = 20;
+
+    /** Calls needed in the window before the failure rate is evaluated. */
+    private int minimumCalls = 10;
+
+    /** How long the breaker stays open before letting probe calls through. */
+    private Duration waitInOpenState = Duration.ofSeconds(30);
+
+    /** Probe calls allowed while half-open; all must succeed to close the breaker. */
+    private int permittedCallsInHalfOpenState = 3;
+
+    private Map<String, Client> clients = new LinkedHashMap<>();
+
+    public int getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public void setFailureRateThreshold(int failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    public void setSlidingWindowSize(int slidingWindowSize) {
+        this.slidingWindowSize = slidingWindowSize;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    public void setMinimumCalls(int minimumCalls) {
+        this.minimumCalls = minimumCalls;
+    }
+
+    public Duration getWaitInOpenState() {
+        return waitInOpenState;
+    }
+
+    public void setWaitInOpenState(Duration waitInOpenState) {
+        this.waitInOpenState = waitInOpenState;
+    }
+
+    public int getPermittedCallsInHalfOpenState() {
+        return permittedCallsInHalfOpenState;
+    }
+
+    public void setPermittedCallsInHalfOpenState(int permittedCallsInHalfOpenState) {
+        this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+    }
+
+    public Map<String, Client> getClients() {
+        return clients;
+    }
+
+    public void setClients(Map<String, Client> clients) {
+        this.clients = clients;
+    }
+
+    /** Resolves the circuit breaker of a RestClient bean, or {@code null} if it has none. */
+    public Settings settingsFor(String clientName) {
+        return clients.entrySet().stream()
+                .filter(entry -> ClientNames.matches(entry.getKey(), clientName))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .map(this::resolve)
+                .orElse(null);
+    }
+
+    private Settings resolve(Client client) {
+        return new Settings(
+                orDefault(client.getFailureRateThreshold(), failureRateThreshold),
+                orDefault(client.getSlidingWindowSize(), slidingWindowSize),
+                orDefault(client.getMinimumCalls(), minimumCalls),
+                orDefault(client.getWaitInOpenState(), waitInOpenState),
+                orDefault(
+                        client.getPermittedCallsInHalfOpenState(),
+                        permittedCallsInHalfOpenState));
+    }
+
+    private static <T> T orDefault(T value, T defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    /** Per-bean overrides; {@code null} means "use the default". */
+    public static class Client {
+        private Integer failureRateThreshold;
+        private Integer slidingWindowSize;
+        private Integer minimumCalls;
+        private Duration waitInOpenState;
+        private Integer permittedCallsInHalfOpenState;
+
+        public Integer getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(Integer failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public Integer getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        public void setSlidingWindowSize(Integer slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        public Integer getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(Integer minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public Duration getWaitInOpenState() {
+            return waitInOpenState;
+        }
+
+        public void setWaitInOpenState(Duration waitInOpenState) {
+            this.waitInOpenState = waitInOpenState;
+        }
+
+        public Integer getPermittedCallsInHalfOpenState() {
+            return permittedCallsInHalfOpenState;
+        }
+
+        public void setPermittedCallsInHalfOpenState(Integer permittedCallsInHalfOpenState) {
+            this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+        }
+    }
+
+    /** Effective circuit breaker settings of one RestClient bean. */
+    public record Settings(
+            int failureRateThreshold,
+            int slidingWindowSize,
+            int minimumCalls,
+            Duration waitInOpenState,
+            int permittedCallsInHalfOpenState) {}
+}
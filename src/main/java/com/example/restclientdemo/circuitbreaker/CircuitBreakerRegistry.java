@@ -0,0 +1,53 @@
+package com.example.restclientdemo.circuitbreaker;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.web.client.RestClient;
+
+/**
+ * Creates the circuit breaker of each configured RestClient bean, exposes their state and fans
+ * state transitions out to the registered listeners.
+ */
+public class CircuitBreakerRegistry {
+
+    private final CircuitBreakerProperties properties;
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final List<CircuitBreakerListener> listeners = new CopyOnWriteArrayList<>();
+
+    public CircuitBreakerRegistry(CircuitBreakerProperties properties) {
+        this.properties = properties;
+    }
+
+    public Consumer<RestClient.Builder> forClient(String clientName) {
+        CircuitBreakerProperties.Settings settings = properties.settingsFor(clientName);
+        if (settings == null) {
+            return builder -> {};
+        }
+        CircuitBreaker circuitBreaker =
+                circuitBreakers.computeIfAbsent(
+                        clientName, name -> new CircuitBreaker(name, settings, this::publish));
+        return builder -> builder.requestInterceptor(new CircuitBreakerInterceptor(circuitBreaker));
+    }
+
+    public void addListener(CircuitBreakerListener listener) {
+        listeners.add(listener);
+    }
+
+    /** State and sliding window per RestClient bean name. */
+    public Map<String, CircuitBreakerStats> stats() {
+        Map<String, CircuitBreakerStats> stats = new TreeMap<>();
+        circuitBreakers.forEach((name, circuitBreaker) -> stats.put(name, circuitBreaker.stats()));
+        return stats;
+    }
+
+    private void publish(String clientName, CircuitBreaker.State from, CircuitBreaker.State to) {
+        for (CircuitBreakerListener listener : listeners) {
+            listener.onStateTransition(clientName, from, to);
+        }
+    }
+}
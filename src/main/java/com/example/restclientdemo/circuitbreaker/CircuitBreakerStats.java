@@ -0,0 +1,17 @@
+package com.example.restclientdemo.circuitbreaker;
+
+/** Point-in-time view of a {@link CircuitBreaker}. */
+public record CircuitBreakerStats(
+        CircuitBreaker.State state,
+        float failureRate,
+        int bufferedCalls,
+        int failedCalls,
+        long notPermittedCalls) {
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%s failureRate=%.0f%% window=%d/%d notPermitted=%d",
+                state, failureRate, failedCalls, bufferedCalls, notPermittedCalls);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.restclientdemo.client;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+
+import com.example.restclientdemo.cache.EntityCache;
+import com.example.restclientdemo.model.User;
+
+/**
+ * UserClient decorator backed by the same {@link EntityCache} as UserService, so users read or
+ * written through the HTTP Interface proxy and through UserService see one cached copy.
+ */
+public class CachingUserClient implements UserClient {
+
+    private final UserClient delegate;
+    private final EntityCache<Long, User> userCache;
+
+    public CachingUserClient(UserClient delegate, EntityCache<Long, User> userCache) {
+        this.delegate = delegate;
+        this.userCache = userCache;
+    }
+
+    @Override
+    public List<User> getAllUsers() {
+        List<User> users = delegate.getAllUsers();
+        if (users != null) {
+            users.forEach(user -> userCache.put(user.getId(), user));
+        }
+        return users;
+    }
+
+    @Override
+    public User getUser(Long id) {
+        return userCache.getOrLoad(id, delegate::getUser);
+    }
+
+    @Override
+    public List<User> getUsersByIds(Collection<Long> ids) {
+        List<User> users = delegate.getUsersByIds(ids);
+        if (users != null) {
+            users.forEach(user -> userCache.put(user.getId(), user));
+        }
+        return users;
+    }
+
+    @Override
+    public User createUser(User user) {
+        User created = delegate.createUser(user);
+        if (created != null && created.getId() != null) {
+            userCache.put(created.getId(), created);
+        }
+        return created;
+    }
+
+    @Override
+    public User updateUser(Long id, User user) {
+        User updated = delegate.updateUser(id, user);
+        refresh(id, updated);
+        return updated;
+    }
+
+    @Override
+    public void deleteUser(Long id) {
+        delegate.deleteUser(id);
+        userCache.evict(id);
+    }
+
+    @Override
+    public List<User> searchUsers(String name, Integer age) {
+        return delegate.searchUsers(name, age);
+    }
+
+    /** Streams are passed through uncached, so the cache never holds a partial list. */
+    @Override
+    public Stream<User> streamAllUsers() {
+        return delegate.streamAllUsers();
+    }
+
+    @Override
+    public Stream<User> streamSearchUsers(String name, Integer age) {
+        return delegate.streamSearchUsers(name, age);
+    }
+
+    @Override
+    public Flow.Publisher<User> publishAllUsers() {
+        return delegate.publishAllUsers();
+    }
+
+    private void refresh(Long id, User user) {
+        if (user != null) {
+            userCache.put(id, user);
+        } else {
+            userCache.evict(id);
+        }
+    }
+}
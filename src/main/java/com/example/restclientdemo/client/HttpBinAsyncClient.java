@@ -0,0 +1,33 @@
+package com.example.restclientdemo.client;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import com.example.restclientdemo.model.HttpBinResponse;
+import com.example.restclientdemo.model.User;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.service.annotation.GetExchange;
+import org.springframework.web.service.annotation.HttpExchange;
+import org.springframework.web.service.annotation.PostExchange;
+
+/** Non-blocking counterpart of {@link HttpBinClient}. */
+@HttpExchange
+public interface HttpBinAsyncClient {
+
+    @GetExchange("/get")
+    CompletableFuture<HttpBinResponse> get();
+
+    @GetExchange("/get")
+    CompletableFuture<HttpBinResponse> getWithParams(@RequestParam Map<String, String> params);
+
+    @PostExchange("/post")
+    CompletableFuture<ResponseEntity<HttpBinResponse>> post(@RequestBody User user);
+
+    /** Responds after {@code seconds}; useful to see cancellation abort a slow request. */
+    @GetExchange("/delay/{seconds}")
+    CompletableFuture<HttpBinResponse> delay(@PathVariable int seconds);
+}
@@ -0,0 +1,37 @@
+package com.example.restclientdemo.client;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.example.restclientdemo.model.User;
+
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.service.annotation.DeleteExchange;
+import org.springframework.web.service.annotation.GetExchange;
+import org.springframework.web.service.annotation.HttpExchange;
+import org.springframework.web.service.annotation.PostExchange;
+import org.springframework.web.service.annotation.PutExchange;
+
+/**
+ * Non-blocking counterpart of {@link UserClient}. Each call runs on the async executor and
+ * returns immediately; cancelling the future aborts the request.
+ */
+@HttpExchange
+public interface UserAsyncClient {
+
+    @GetExchange("/users")
+    CompletableFuture<List<User>> getAllUsers();
+
+    @GetExchange("/users/{id}")
+    CompletableFuture<User> getUser(@PathVariable Long id);
+
+    @PostExchange("/users")
+    CompletableFuture<User> createUser(@RequestBody User user);
+
+    @PutExchange("/users/{id}")
+    CompletableFuture<User> updateUser(@PathVariable Long id, @RequestBody User user);
+
+    @DeleteExchange("/users/{id}")
+    CompletableFuture<Void> deleteUser(@PathVariable Long id);
+}
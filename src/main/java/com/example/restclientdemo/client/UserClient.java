@@ -1,7 +1,13 @@
 package com.example.restclientdemo.client;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import com.example.restclientdemo.batch.BatchFetcher;
+import com.example.restclientdemo.batch.BatchResult;
 import com.example.restclientdemo.model.User;
 
 import org.springframework.web.bind.annotation.PathVariable;
@@ -27,6 +33,10 @@ public interface UserClient {
     @GetExchange("/users/{id}")
     User getUser(@PathVariable Long id);
 
+    /** Multi-id lookup: {@code GET /users?id=1&id=2}. Unknown ids are left out of the result. */
+    @GetExchange("/users")
+    List<User> getUsersByIds(@RequestParam("id") Collection<Long> ids);
+
     @PostExchange("/users")
     User createUser(@RequestBody User user);
 
@@ -38,4 +48,38 @@ public interface UserClient {
 
     @GetExchange("/users/search")
     List<User> searchUsers(@RequestParam String name, @RequestParam(required = false) Integer age);
+
+    /**
+     * Streaming variant of {@link #getAllUsers()}, decoded element by element. Requires the
+     * proxy to be built on a {@code StreamingExchangeAdapter}; close the returned stream.
+     */
+    @GetExchange("/users")
+    Stream<User> streamAllUsers();
+
+    /** Streaming variant of {@link #searchUsers(String, Integer)}; close the returned stream. */
+    @GetExchange("/users/search")
+    Stream<User> streamSearchUsers(
+            @RequestParam String name, @RequestParam(required = false) Integer age);
+
+    /**
+     * Backpressure-aware variant of {@link #getAllUsers()}: users are read from the socket only as
+     * fast as the subscriber requests them. Each subscription sends its own request.
+     */
+    @GetExchange("/users")
+    Flow.Publisher<User> publishAllUsers();
+
+    /** Pushes each user to {@code action} as it is decoded, then releases the connection. */
+    default void forEachUser(Consumer<? super User> action) {
+        try (Stream<User> users = streamAllUsers()) {
+            users.forEach(action);
+        }
+    }
+
+    /**
+     * Fetches users by id through {@link #getUser(Long)}, at most {@code maxConcurrency} at a time.
+     * Not an HTTP exchange: the proxy runs this default method on the caller's instance.
+     */
+    default BatchResult<Long, User> getUsers(Collection<Long> ids, int maxConcurrency) {
+        return BatchFetcher.fetchAll(ids, this::getUser, maxConcurrency);
+    }
 }
@@ -0,0 +1,56 @@
+package com.example.restclientdemo.coalescing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.restclientdemo.http.ClientNames;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Opt-in request coalescing, bound from {@code app.http.coalescing.*}.
+ *
+ * <pre>
+ * app.http.coalescing.clients=defaultRestClient,jsonPlaceholderUserClient
+ * app.http.coalescing.varying-headers=Accept,Authorization
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.http.coalescing")
+public class CoalescingProperties {
+
+    /** RestClient bean names whose identical in-flight GET/HEAD requests are coalesced. */
+    private List<String> clients = new ArrayList<>();
+
+    /**
+     * Request headers that make two requests to the same URI different. Requests are only shared
+     * when these headers are equal.
+     */
+    private List<String> varyingHeaders =
+            new ArrayList<>(
+                    List.of(
+                            "Accept",
+                            "Accept-Encoding",
+                            "Accept-Language",
+                            "Authorization",
+                            "Cookie"));
+
+    public List<String> getClients() {
+        return clients;
+    }
+
+    public void setClients(List<String> clients) {
+        this.clients = clients;
+    }
+
+    public List<String> getVaryingHeaders() {
+        return varyingHeaders;
+    }
+
+    public void setVaryingHeaders(List<String> varyingHeaders) {
+        this.varyingHeaders = varyingHeaders;
+    }
+
+    public boolean isEnabledFor(String clientName) {
+        return ClientNames.contains(clients, clientName);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.restclientdemo.coalescing;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.springframework.web.client.RestClient;
+
+/** Creates the coalescing interceptor of each opted-in RestClient bean and exposes its counters. */
+public class CoalescingRegistry {
+
+    private final CoalescingProperties properties;
+    private final Map<String, RequestCoalescingInterceptor> interceptors =
+            new ConcurrentHashMap<>();
+
+    public CoalescingRegistry(CoalescingProperties properties) {
+        this.properties = properties;
+    }
+
+    public Consumer<RestClient.Builder> forClient(String clientName) {
+        if (!properties.isEnabledFor(clientName)) {
+            return builder -> {};
+        }
+        RequestCoalescingInterceptor interceptor =
+                interceptors.computeIfAbsent(
+                        clientName,
+                        name -> new RequestCoalescingInterceptor(properties.getVaryingHeaders()));
+        return builder -> builder.requestInterceptor(interceptor);
+    }
+
+    /** Counters per RestClient bean name. */
+    public Map<String, CoalescingStats> stats() {
+        Map<String, CoalescingStats> stats = new TreeMap<>();
+        interceptors.forEach((name, interceptor) -> stats.put(name, interceptor.stats()));
+        return stats;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.restclientdemo.coalescing;
+
+/**
+ * Counters of one coalescing interceptor.
+ *
+ * @param executed requests that went upstream (one per group of identical requests)
+ * @param coalesced requests that waited for and shared an in-flight response instead
+ */
+public record CoalescingStats(long executed, long coalesced) {}
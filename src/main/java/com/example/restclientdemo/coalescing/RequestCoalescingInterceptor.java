@@ -0,0 +1,109 @@
+package com.example.restclientdemo.coalescing;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.example.restclientdemo.http.BufferedClientHttpResponse;
+import com.example.restclientdemo.http.JsonArrayStream;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Single-flight for idempotent requests: while a GET or HEAD is in flight, identical requests
+ * (same method, expanded URI and varying headers) wait for it and receive a copy of its response
+ * instead of going upstream themselves.
+ *
+ * <p>The shared response is buffered in memory so every waiter can read the body independently.
+ * Failures are shared as well: if the leading request fails, every waiter rethrows the leader's
+ * exception unchanged, so callers still see its exact type and fields (a timeout, a {@code
+ * ServiceUnavailableException} with its {@code Retry-After}). The exception is not modified, as
+ * other threads may be throwing it; its stack trace is the leader's. Streaming requests ({@link
+ * JsonArrayStream#isStreaming}) are never buffered and so never coalesced.
+ */
+public class RequestCoalescingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final List<String> varyingHeaders;
+    private final Map<Key, CompletableFuture<BufferedClientHttpResponse>> inFlight =
+            new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public RequestCoalescingInterceptor(List<String> varyingHeaders) {
+        this.varyingHeaders = List.copyOf(varyingHeaders);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(
+            HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        HttpMethod method = request.getMethod();
+        if (!(HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method))
+                || JsonArrayStream.isStreaming(request)) {
+            return execution.execute(request, body);
+        }
+
+        Key key = keyOf(request);
+        CompletableFuture<BufferedClientHttpResponse> leader = new CompletableFuture<>();
+        CompletableFuture<BufferedClientHttpResponse> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        executed.increment();
+        try (ClientHttpResponse response = execution.execute(request, body)) {
+            BufferedClientHttpResponse buffered = BufferedClientHttpResponse.copyOf(response);
+            leader.complete(buffered);
+            return buffered;
+        } catch (IOException | RuntimeException e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    public CoalescingStats stats() {
+        return new CoalescingStats(executed.sum(), coalesced.sum());
+    }
+
+    private Key keyOf(HttpRequest request) {
+        List<List<String>> headerValues =
+                varyingHeaders.stream()
+                        .map(name -> request.getHeaders().getOrDefault(name, List.of()))
+                        .toList();
+        return new Key(request.getMethod(), request.getURI(), headerValues);
+    }
+
+    private static BufferedClientHttpResponse await(
+            CompletableFuture<BufferedClientHttpResponse> response) throws IOException {
+        try {
+            return response.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for a coalesced response");
+        } catch (ExecutionException e) {
+            Throwable failure = e.getCause();
+            if (failure instanceof IOException io) {
+                throw io;
+            }
+            if (failure instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IOException(failure);
+        }
+    }
+
+    private record Key(HttpMethod method, URI uri, List<List<String>> headerValues) {}
+}
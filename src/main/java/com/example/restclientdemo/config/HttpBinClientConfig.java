@@ -1,14 +1,20 @@
 package com.example.restclientdemo.config;
 
+import java.util.concurrent.ExecutorService;
+
+import com.example.restclientdemo.cache.StaleWhileRevalidateProxyFactory;
+import com.example.restclientdemo.client.HttpBinAsyncClient;
 import com.example.restclientdemo.client.HttpBinClient;
 import com.example.restclientdemo.handler.CustomResponseErrorHandler;
+import com.example.restclientdemo.http.AsyncExchangeAdapter;
+import com.example.restclientdemo.jfr.HttpEvents;
+import com.example.restclientdemo.ratelimit.RateLimitRegistry;
 import com.example.restclientdemo.resolver.SearchQueryArgumentResolver;
 
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.support.RestClientAdapter;
 import org.springframework.web.service.invoker.HttpServiceProxyFactory;
@@ -20,61 +26,81 @@ public class HttpBinClientConfig {
     private String httpBinBaseUrl;
 
     @Bean
-    public RestClient defaultRestClient(RestClient.Builder builder) {
+    public RestClient defaultRestClient(
+            RestClient.Builder builder, HttpClientCustomizer customizer) {
         return builder.baseUrl(httpBinBaseUrl)
                 .defaultHeader("User-Agent", "Spring-RestClient-Demo/1.0")
                 .defaultHeader("Accept", "application/json")
                 .defaultHeader("what", "whatever")
-                .requestInterceptor(loggingInterceptor())
+                .apply(customizer.forClient("defaultRestClient"))
                 .build();
     }
 
     @Bean
-    public RestClient customRestClient(RestClient.Builder builder) {
+    public RestClient customRestClient(
+            RestClient.Builder builder, HttpClientCustomizer customizer) {
         return builder.baseUrl(httpBinBaseUrl)
                 .defaultHeader("Custom-Header", "Demo-Value")
-                .requestInterceptor(loggingInterceptor())
+                .apply(customizer.forClient("customRestClient"))
                 .build();
     }
 
     /** RestClient configured with custom error handler. */
     @Bean
-    public RestClient errorHandlingRestClient(RestClient.Builder builder) {
+    public RestClient errorHandlingRestClient(
+            RestClient.Builder builder, HttpClientCustomizer customizer) {
         return builder.baseUrl(httpBinBaseUrl)
                 .defaultHeader("User-Agent", "Spring-RestClient-Demo/1.0")
                 .defaultHeader("Accept", "application/json")
-                .requestInterceptor(loggingInterceptor())
                 .defaultStatusHandler(new CustomResponseErrorHandler())
+                .apply(customizer.forClient("errorHandlingRestClient"))
                 .build();
     }
 
-    private ClientHttpRequestInterceptor loggingInterceptor() {
-        return (request, body, execution) -> {
-            System.out.println(
-                    "Making request to: " + request.getMethod() + " " + request.getURI());
-            System.out.println("Headers: " + request.getHeaders());
-            if (body.length > 0) {
-                System.out.println("Body: " + new String(body));
-            }
-
-            var response = execution.execute(request, body);
-
-            System.out.println("Response Status: " + response.getStatusCode());
-            System.out.println("Response Headers: " + response.getHeaders());
-            System.out.println("---");
-
-            return response;
-        };
-    }
-
-    /** Creates an HTTP Interface client proxy with custom argument resolver. */
+    /**
+     * Creates an HTTP Interface client proxy with custom argument resolver. Rate-limited methods
+     * sit inside the stale-while-revalidate cache, so cached results do not take a permit. JFR
+     * interface call events wrap everything, so they also record calls served from the cache.
+     */
     @Bean
-    public HttpBinClient httpBinClient(@Qualifier("defaultRestClient") RestClient restClient) {
+    public HttpBinClient httpBinClient(
+            @Qualifier("defaultRestClient") RestClient restClient,
+            StaleWhileRevalidateProxyFactory staleWhileRevalidate,
+            RateLimitRegistry rateLimits,
+            HttpEvents httpEvents) {
         RestClientAdapter adapter = RestClientAdapter.create(restClient);
         HttpServiceProxyFactory factory =
                 HttpServiceProxyFactory.builderFor(adapter)
                         .customArgumentResolver(new SearchQueryArgumentResolver())
                         .build();
-        return factory.createClient(HttpBinClient.class);
+        HttpBinClient client =
+                rateLimits.wrap(HttpBinClient.class, factory.createClient(HttpBinClient.class));
+        return httpEvents.wrap(
+                HttpBinClient.class,
+                "defaultRestClient",
+                staleWhileRevalidate.wrap(HttpBinClient.class, client));
+    }
+
+    /**
+     * Async HTTP Interface client on the same RestClient as {@link #httpBinClient}. Its methods
+     * share the rate limits configured for {@link HttpBinClient}, and JFR interface call events
+     * last until the returned future completes.
+     */
+    @Bean
+    public HttpBinAsyncClient httpBinAsyncClient(
+            @Qualifier("defaultRestClient") RestClient restClient,
+            @Qualifier("httpClientAsyncExecutor") ExecutorService executor,
+            RateLimitRegistry rateLimits,
+            HttpEvents httpEvents) {
+        AsyncExchangeAdapter adapter =
+                new AsyncExchangeAdapter(RestClientAdapter.create(restClient), executor);
+        HttpBinAsyncClient client =
+                HttpServiceProxyFactory.builderFor(adapter)
+                        .build()
+                        .createClient(HttpBinAsyncClient.class);
+        return httpEvents.wrap(
+                HttpBinAsyncClient.class,
+                "defaultRestClient",
+                rateLimits.wrap(HttpBinAsyncClient.class, HttpBinClient.class, client));
     }
 }
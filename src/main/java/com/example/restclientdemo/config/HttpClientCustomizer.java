@@ -0,0 +1,93 @@
+package com.example.restclientdemo.config;
+
+import java.util.function.Consumer;
+
+import com.example.restclientdemo.bulkhead.BulkheadRegistry;
+import com.example.restclientdemo.cache.HttpCacheRegistry;
+import com.example.restclientdemo.circuitbreaker.CircuitBreakerRegistry;
+import com.example.restclientdemo.coalescing.CoalescingRegistry;
+import com.example.restclientdemo.jfr.HttpEvents;
+import com.example.restclientdemo.limit.AdaptiveLimitRegistry;
+import com.example.restclientdemo.logging.RequestLogRegistry;
+import com.example.restclientdemo.metrics.LatencyRegistry;
+import com.example.restclientdemo.ratelimit.RateLimitRegistry;
+import com.example.restclientdemo.retry.HostPauseRegistry;
+import com.example.restclientdemo.retry.RetryBudgetRegistry;
+import com.example.restclientdemo.transport.HttpTransportFactory;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Applies the shared HTTP infrastructure to a RestClient builder, keyed by bean name.
+ *
+ * <p>Usage: {@code builder.baseUrl(...).apply(customizer.forClient("defaultRestClient"))}.
+ * Interceptors are added outermost first: JFR exchange events, request logging, latency histograms,
+ * HTTP cache, request coalescing, the {@code Retry-After} host pause, the rate limit, retry budget
+ * deposits, circuit breaker, the bean's bulkhead, the adaptive concurrency limit, then the
+ * transport's connection pool, so cache hits never wait for a connection or a rate-limit permit,
+ * only cache misses are coalesced, a coalesced request takes a single permit, and a paused host or
+ * an open circuit rejects calls before they take any. Latency is measured as the caller sees it,
+ * including cache hits and time spent waiting for permits; a marker just before the transport
+ * splits it into admission and transport phases.
+ */
+@Component
+public class HttpClientCustomizer {
+
+    private final HttpTransportFactory transportFactory;
+    private final HttpEvents httpEvents;
+    private final RequestLogRegistry requestLogRegistry;
+    private final LatencyRegistry latencyRegistry;
+    private final CoalescingRegistry coalescingRegistry;
+    private final HttpCacheRegistry cacheRegistry;
+    private final HostPauseRegistry hostPauseRegistry;
+    private final RateLimitRegistry rateLimitRegistry;
+    private final RetryBudgetRegistry retryBudgetRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final AdaptiveLimitRegistry adaptiveLimitRegistry;
+
+    public HttpClientCustomizer(
+            HttpTransportFactory transportFactory,
+            HttpEvents httpEvents,
+            RequestLogRegistry requestLogRegistry,
+            LatencyRegistry latencyRegistry,
+            CoalescingRegistry coalescingRegistry,
+            HttpCacheRegistry cacheRegistry,
+            HostPauseRegistry hostPauseRegistry,
+            RateLimitRegistry rateLimitRegistry,
+            RetryBudgetRegistry retryBudgetRegistry,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            AdaptiveLimitRegistry adaptiveLimitRegistry) {
+        this.transportFactory = transportFactory;
+        this.httpEvents = httpEvents;
+        this.requestLogRegistry = requestLogRegistry;
+        this.latencyRegistry = latencyRegistry;
+        this.coalescingRegistry = coalescingRegistry;
+        this.cacheRegistry = cacheRegistry;
+        this.hostPauseRegistry = hostPauseRegistry;
+        this.rateLimitRegistry = rateLimitRegistry;
+        this.retryBudgetRegistry = retryBudgetRegistry;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.adaptiveLimitRegistry = adaptiveLimitRegistry;
+    }
+
+    public Consumer<RestClient.Builder> forClient(String clientName) {
+        return builder ->
+                builder.apply(httpEvents.forClient(clientName))
+                        .apply(requestLogRegistry.forClient(clientName))
+                        .apply(latencyRegistry.forClient(clientName))
+                        .apply(cacheRegistry.forClient(clientName))
+                        .apply(coalescingRegistry.forClient(clientName))
+                        .apply(hostPauseRegistry.forClient(clientName))
+                        .apply(rateLimitRegistry.forClient(clientName))
+                        .apply(retryBudgetRegistry.forClient(clientName))
+                        .apply(circuitBreakerRegistry.forClient(clientName))
+                        .apply(bulkheadRegistry.forClient(clientName))
+                        .apply(adaptiveLimitRegistry.forClient(clientName))
+                        .apply(latencyRegistry.forTransport(clientName))
+                        .apply(transportFactory.forClient(clientName));
+    }
+}
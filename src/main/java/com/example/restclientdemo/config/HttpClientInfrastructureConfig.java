@@ -0,0 +1,169 @@
+package com.example.restclientdemo.config;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.example.restclientdemo.bulkhead.BulkheadProperties;
+import com.example.restclientdemo.bulkhead.BulkheadRegistry;
+import com.example.restclientdemo.cache.HttpCacheProperties;
+import com.example.restclientdemo.cache.HttpCacheRegistry;
+import com.example.restclientdemo.cache.StaleWhileRevalidateProperties;
+import com.example.restclientdemo.cache.StaleWhileRevalidateProxyFactory;
+import com.example.restclientdemo.circuitbreaker.CircuitBreakerProperties;
+import com.example.restclientdemo.circuitbreaker.CircuitBreakerRegistry;
+import com.example.restclientdemo.coalescing.CoalescingProperties;
+import com.example.restclientdemo.coalescing.CoalescingRegistry;
+import com.example.restclientdemo.jfr.HttpEvents;
+import com.example.restclientdemo.limit.AdaptiveLimitProperties;
+import com.example.restclientdemo.limit.AdaptiveLimitRegistry;
+import com.example.restclientdemo.logging.RequestLogProperties;
+import com.example.restclientdemo.logging.RequestLogRegistry;
+import com.example.restclientdemo.metrics.LatencyProperties;
+import com.example.restclientdemo.metrics.LatencyRegistry;
+import com.example.restclientdemo.ratelimit.RateLimitProperties;
+import com.example.restclientdemo.ratelimit.RateLimitRegistry;
+import com.example.restclientdemo.retry.HostPauseRegistry;
+import com.example.restclientdemo.retry.RetryBudgetProperties;
+import com.example.restclientdemo.retry.RetryBudgetRegistry;
+import com.example.restclientdemo.retry.RetryExecutor;
+import com.example.restclientdemo.retry.RetryProperties;
+import com.example.restclientdemo.transport.ConnectionPoolRegistry;
+import com.example.restclientdemo.transport.HttpTransportFactory;
+import com.example.restclientdemo.transport.HttpTransportProperties;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Shared HTTP infrastructure used by every RestClient bean.
+ *
+ * <p>The client configurations ({@link HttpBinClientConfig}, {@link JSONPlaceholderClientConfig})
+ * apply it per bean through {@link HttpClientCustomizer}.
+ */
+@Configuration
+@EnableConfigurationProperties({
+    HttpTransportProperties.class,
+    CoalescingProperties.class,
+    HttpCacheProperties.class,
+    StaleWhileRevalidateProperties.class,
+    AdaptiveLimitProperties.class,
+    BulkheadProperties.class,
+    CircuitBreakerProperties.class,
+    RetryProperties.class,
+    RetryBudgetProperties.class,
+    RateLimitProperties.class,
+    RequestLogProperties.class,
+    LatencyProperties.class
+})
+public class HttpClientInfrastructureConfig {
+
+    /** Platform threads for async HTTP Interface calls; 0 runs each call on a virtual thread. */
+    @Value("${app.http.async.threads:0}")
+    private int asyncThreads;
+
+    /** Upper bound of a host pause requested through {@code Retry-After}. */
+    @Value("${app.http.retry-after.max-pause:5m}")
+    private Duration maxHostPause;
+
+    /** One registry for all beans, so beans sharing a host also share its connections. */
+    @Bean(destroyMethod = "close")
+    public ConnectionPoolRegistry connectionPoolRegistry(HttpTransportProperties properties) {
+        return new ConnectionPoolRegistry(properties);
+    }
+
+    @Bean
+    public HttpTransportFactory httpTransportFactory(
+            HttpTransportProperties properties, ConnectionPoolRegistry connectionPoolRegistry) {
+        return new HttpTransportFactory(properties, connectionPoolRegistry);
+    }
+
+    @Bean
+    public CoalescingRegistry coalescingRegistry(CoalescingProperties properties) {
+        return new CoalescingRegistry(properties);
+    }
+
+    @Bean
+    public HttpCacheRegistry httpCacheRegistry(HttpCacheProperties properties) {
+        return new HttpCacheRegistry(properties);
+    }
+
+    /** Logs every state transition; further listeners can be added to the registry. */
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(CircuitBreakerProperties properties) {
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry(properties);
+        registry.addListener(
+                (client, from, to) ->
+                        System.out.println(
+                                "Circuit breaker of " + client + ": " + from + " -> " + to));
+        return registry;
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(BulkheadProperties properties) {
+        return new BulkheadRegistry(properties);
+    }
+
+    @Bean
+    public AdaptiveLimitRegistry adaptiveLimitRegistry(AdaptiveLimitProperties properties) {
+        return new AdaptiveLimitRegistry(properties);
+    }
+
+    /** Retries whole RestClient calls; used by services, not installed as an interceptor. */
+    @Bean
+    public RetryExecutor retryExecutor(RetryProperties properties) {
+        return new RetryExecutor(properties);
+    }
+
+    /** One registry for all beans, so a host that asked for a pause is left alone by every bean. */
+    @Bean
+    public HostPauseRegistry hostPauseRegistry() {
+        return new HostPauseRegistry(maxHostPause);
+    }
+
+    /** One writer thread for all beans; queued entries are written before shutdown. */
+    @Bean(destroyMethod = "close")
+    public RequestLogRegistry requestLogRegistry(RequestLogProperties properties) {
+        return new RequestLogRegistry(properties);
+    }
+
+    /** JFR events for RestClient exchanges and, through {@code wrap}, HTTP Interface calls. */
+    @Bean
+    public HttpEvents httpEvents() {
+        return new HttpEvents();
+    }
+
+    /** Shared by all beans; written to {@code app.http.metrics.dump-file} on close. */
+    @Bean(destroyMethod = "close")
+    public LatencyRegistry latencyRegistry(LatencyProperties properties) {
+        return new LatencyRegistry(properties);
+    }
+
+    /** Limits RestClient beans per host and, through {@code wrap}, HTTP Interface methods. */
+    @Bean
+    public RateLimitRegistry rateLimitRegistry(RateLimitProperties properties) {
+        return new RateLimitRegistry(properties);
+    }
+
+    @Bean
+    public RetryBudgetRegistry retryBudgetRegistry(RetryBudgetProperties properties) {
+        return new RetryBudgetRegistry(properties);
+    }
+
+    /** Runs the exchanges of async HTTP Interface clients (CompletableFuture return types). */
+    @Bean(destroyMethod = "close")
+    public ExecutorService httpClientAsyncExecutor() {
+        return asyncThreads > 0
+                ? Executors.newFixedThreadPool(asyncThreads)
+                : Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /** Wraps HTTP Interface clients; applied by the client configurations, not per RestClient. */
+    @Bean
+    public StaleWhileRevalidateProxyFactory staleWhileRevalidateProxyFactory(
+            StaleWhileRevalidateProperties properties) {
+        return new StaleWhileRevalidateProxyFactory(properties);
+    }
+}
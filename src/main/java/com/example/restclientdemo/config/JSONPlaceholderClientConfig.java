@@ -1,7 +1,27 @@
 package com.example.restclientdemo.config;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.example.restclientdemo.batch.MicroBatcher;
+import com.example.restclientdemo.cache.EntityCache;
+import com.example.restclientdemo.cache.NegativeLookupCache;
+import com.example.restclientdemo.cache.StaleWhileRevalidateProxyFactory;
+import com.example.restclientdemo.client.CachingUserClient;
+import com.example.restclientdemo.client.UserAsyncClient;
 import com.example.restclientdemo.client.UserClient;
+import com.example.restclientdemo.http.AsyncExchangeAdapter;
+import com.example.restclientdemo.http.StreamingExchangeAdapter;
+import com.example.restclientdemo.jfr.HttpEvents;
+import com.example.restclientdemo.model.User;
+import com.example.restclientdemo.ratelimit.RateLimitRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestClient;
@@ -17,29 +37,127 @@ import org.springframework.web.service.invoker.HttpServiceProxyFactory;
 @Configuration
 public class JSONPlaceholderClientConfig {
 
+    @Value("${app.cache.users.max-size:1000}")
+    private int userCacheMaxSize;
+
+    @Value("${app.cache.users.ttl:5m}")
+    private Duration userCacheTtl;
+
+    @Value("${app.cache.users.negative-max-size:10000}")
+    private int missingUserCacheMaxSize;
+
+    @Value("${app.cache.users.negative-ttl:30s}")
+    private Duration missingUserCacheTtl;
+
+    @Value("${app.batch.users.window:5ms}")
+    private Duration userBatchWindow;
+
+    @Value("${app.batch.users.max-size:50}")
+    private int userBatchMaxSize;
+
+    /**
+     * Entity cache of users by id, shared by UserService and the UserClient proxy so both paths
+     * see the same copy and the same invalidations.
+     */
+    @Bean
+    public EntityCache<Long, User> userEntityCache() {
+        return new EntityCache<>(userCacheMaxSize, userCacheTtl);
+    }
+
+    /** Short-lived record of user ids that returned 404. */
+    @Bean
+    public NegativeLookupCache<Long> missingUserCache() {
+        return new NegativeLookupCache<>(missingUserCacheMaxSize, missingUserCacheTtl);
+    }
+
+    /**
+     * Combines getUser calls made within {@code app.batch.users.window} of each other into one
+     * {@code GET /users?id=..} request through the UserClient proxy.
+     */
+    @Bean
+    public MicroBatcher<Long, User> userMicroBatcher(
+            @Qualifier("jsonPlaceholderUserClient") UserClient userClient) {
+        return new MicroBatcher<>(
+                ids ->
+                        userClient.getUsersByIds(ids).stream()
+                                .collect(
+                                        Collectors.toMap(
+                                                User::getId,
+                                                Function.identity(),
+                                                (first, second) -> first)),
+                userBatchWindow,
+                userBatchMaxSize);
+    }
+
     /**
      * RestClient configured for JSONPlaceholder API. Used by UserService for testing real API
      * operations.
      */
     @Bean
-    public RestClient jsonPlaceholderRestClient(RestClient.Builder builder) {
+    public RestClient jsonPlaceholderRestClient(
+            RestClient.Builder builder, HttpClientCustomizer customizer) {
         return builder.baseUrl("https://jsonplaceholder.typicode.com")
                 .defaultHeader("Content-Type", "application/json")
                 .defaultHeader("Accept", "application/json")
+                .apply(customizer.forClient("jsonPlaceholderRestClient"))
                 .build();
     }
 
-    /** Declarative HTTP Interface client for JSONPlaceholder users endpoint. */
+    /**
+     * Declarative HTTP Interface client for JSONPlaceholder users endpoint. Rate-limited methods
+     * are wrapped innermost, so entity cache hits do not take a permit; JFR interface call events
+     * are outermost and cover cache hits too.
+     */
     @Bean
-    public UserClient jsonPlaceholderUserClient(RestClient.Builder builder) {
+    public UserClient jsonPlaceholderUserClient(
+            RestClient.Builder builder,
+            HttpClientCustomizer customizer,
+            EntityCache<Long, User> userEntityCache,
+            StaleWhileRevalidateProxyFactory staleWhileRevalidate,
+            RateLimitRegistry rateLimits,
+            HttpEvents httpEvents,
+            ObjectMapper objectMapper,
+            @Qualifier("httpClientAsyncExecutor") ExecutorService executor) {
         RestClient restClient =
                 builder.baseUrl("https://jsonplaceholder.typicode.com")
                         .defaultHeader("Accept", "application/json")
+                        .apply(customizer.forClient("jsonPlaceholderUserClient"))
                         .build();
 
-        RestClientAdapter adapter = RestClientAdapter.create(restClient);
+        StreamingExchangeAdapter adapter =
+                new StreamingExchangeAdapter(restClient, objectMapper, executor);
         HttpServiceProxyFactory factory = HttpServiceProxyFactory.builderFor(adapter).build();
 
-        return factory.createClient(UserClient.class);
+        UserClient userClient =
+                new CachingUserClient(
+                        rateLimits.wrap(UserClient.class, factory.createClient(UserClient.class)),
+                        userEntityCache);
+        return httpEvents.wrap(
+                UserClient.class,
+                "jsonPlaceholderUserClient",
+                staleWhileRevalidate.wrap(UserClient.class, userClient));
+    }
+
+    /**
+     * Async HTTP Interface client for JSONPlaceholder users, on the UserService RestClient. Its
+     * methods share the rate limits configured for {@link UserClient}, and JFR interface call
+     * events last until the returned future completes.
+     */
+    @Bean
+    public UserAsyncClient jsonPlaceholderUserAsyncClient(
+            @Qualifier("jsonPlaceholderRestClient") RestClient restClient,
+            @Qualifier("httpClientAsyncExecutor") ExecutorService executor,
+            RateLimitRegistry rateLimits,
+            HttpEvents httpEvents) {
+        AsyncExchangeAdapter adapter =
+                new AsyncExchangeAdapter(RestClientAdapter.create(restClient), executor);
+        UserAsyncClient client =
+                HttpServiceProxyFactory.builderFor(adapter)
+                        .build()
+                        .createClient(UserAsyncClient.class);
+        return httpEvents.wrap(
+                UserAsyncClient.class,
+                "jsonPlaceholderRestClient",
+                rateLimits.wrap(UserAsyncClient.class, UserClient.class, client));
     }
 }
@@ -0,0 +1,27 @@
+package com.example.restclientdemo.exception;
+
+/** Thrown when a RestClient bean's bulkhead has no free permit within its wait timeout. */
+public class BulkheadFullException extends RuntimeException {
+
+    private final String clientName;
+    private final int maxConcurrentCalls;
+
+    public BulkheadFullException(String clientName, int maxConcurrentCalls) {
+        super(
+                "Bulkhead of "
+                        + clientName
+                        + " is full ("
+                        + maxConcurrentCalls
+                        + " concurrent calls)");
+        this.clientName = clientName;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.restclientdemo.exception;
+
+import java.time.Duration;
+
+/** Thrown instead of sending a request while a RestClient bean's circuit breaker is open. */
+public class CircuitBreakerOpenException extends ServiceUnavailableException {
+
+    private final String clientName;
+    private final Duration retryAfter;
+
+    public CircuitBreakerOpenException(String clientName, Duration retryAfter) {
+        super(
+                "Circuit breaker of "
+                        + clientName
+                        + " is open; next probe in "
+                        + retryAfter.toMillis()
+                        + "ms");
+        this.clientName = clientName;
+        this.retryAfter = retryAfter;
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+
+    /** Time until the breaker lets probe calls through again. */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.restclientdemo.exception;
+
+/** Thrown when a request is rejected because the adaptive concurrency limit is reached. */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    private final int limit;
+
+    public ConcurrencyLimitExceededException(String message, int limit) {
+        super(message);
+        this.limit = limit;
+    }
+
+    /** The limit in force when the request was rejected. */
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.restclientdemo.exception;
+
+import java.time.Duration;
+
+import com.example.restclientdemo.http.Origin;
+
+/**
+ * Thrown instead of sending a request to a host that answered 429 or 503 with a {@code
+ * Retry-After} that has not passed yet.
+ */
+public class HostPausedException extends ServiceUnavailableException {
+
+    private final Origin origin;
+    private final Duration retryAfter;
+
+    public HostPausedException(Origin origin, Duration retryAfter) {
+        super("Requests to " + origin + " are paused for " + retryAfter.toMillis() + "ms");
+        this.origin = origin;
+        this.retryAfter = retryAfter;
+    }
+
+    public Origin getOrigin() {
+        return origin;
+    }
+
+    /** Time until the host accepts requests again. */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.restclientdemo.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a client-side rate limit has no permit free within its wait timeout. No request
+ * was sent.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final String limiterName;
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(String limiterName, Duration retryAfter) {
+        super(
+                "Rate limit of "
+                        + limiterName
+                        + " exceeded, next permit in "
+                        + retryAfter.toMillis()
+                        + "ms");
+        this.limiterName = limiterName;
+        this.retryAfter = retryAfter;
+    }
+
+    public String getLimiterName() {
+        return limiterName;
+    }
+
+    /** How long until a permit would have been free without waiting. */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
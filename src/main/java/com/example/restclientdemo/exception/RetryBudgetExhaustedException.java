@@ -0,0 +1,19 @@
+package com.example.restclientdemo.exception;
+
+/**
+ * Thrown instead of a retry when the client's retry budget is used up. The failure that would
+ * have been retried is the cause.
+ */
+public class RetryBudgetExhaustedException extends ServiceUnavailableException {
+
+    private final String clientName;
+
+    public RetryBudgetExhaustedException(String clientName, Throwable lastFailure) {
+        super("Retry budget of " + clientName + " is exhausted", lastFailure);
+        this.clientName = clientName;
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+}
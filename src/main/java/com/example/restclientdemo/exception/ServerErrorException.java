@@ -1,14 +1,25 @@
 package com.example.restclientdemo.exception;
 
+import java.time.Duration;
+import java.util.Optional;
+
 public class ServerErrorException extends RuntimeException {
 
     private final int statusCode;
     private final String responseBody;
+    private final Duration retryAfter;
 
     public ServerErrorException(String message, int statusCode, String responseBody) {
+        this(message, statusCode, responseBody, null);
+    }
+
+    /** @param retryAfter the response's {@code Retry-After}, or {@code null} if it had none */
+    public ServerErrorException(
+            String message, int statusCode, String responseBody, Duration retryAfter) {
         super(message);
         this.statusCode = statusCode;
         this.responseBody = responseBody;
+        this.retryAfter = retryAfter;
     }
 
     public int getStatusCode() {
@@ -19,6 +30,11 @@ public class ServerErrorException extends RuntimeException {
         return responseBody;
     }
 
+    /** How long the server asked the client to wait before retrying. */
+    public Optional<Duration> getRetryAfter() {
+        return Optional.ofNullable(retryAfter);
+    }
+
     @Override
     public String toString() {
         return "ServerErrorException{"
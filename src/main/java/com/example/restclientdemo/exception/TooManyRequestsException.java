@@ -0,0 +1,11 @@
+package com.example.restclientdemo.exception;
+
+import java.time.Duration;
+
+/** A {@code 429 Too Many Requests} response; unlike other client errors it is worth retrying. */
+public class TooManyRequestsException extends ClientErrorException {
+
+    public TooManyRequestsException(String message, String responseBody, Duration retryAfter) {
+        super(message, 429, responseBody, retryAfter);
+    }
+}
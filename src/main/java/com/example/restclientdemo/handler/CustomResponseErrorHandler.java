@@ -5,12 +5,16 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.stream.Collectors;
 
 import com.example.restclientdemo.exception.ClientErrorException;
 import com.example.restclientdemo.exception.ServerErrorException;
+import com.example.restclientdemo.exception.TooManyRequestsException;
+import com.example.restclientdemo.http.RetryAfter;
 
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.web.client.ResponseErrorHandler;
@@ -21,7 +25,15 @@ public class CustomResponseErrorHandler implements ResponseErrorHandler {
     @Override
     public boolean hasError(ClientHttpResponse response) throws IOException {
         HttpStatusCode statusCode = response.getStatusCode();
-        return statusCode.is4xxClientError() || statusCode.is5xxServerError();
+        return statusCode.is4xxClientError() || isServerError(statusCode);
+    }
+
+    /**
+     * Whether a status is turned into a {@link ServerErrorException}. The circuit breaker counts
+     * the same statuses as failures, so both agree on what a failing upstream is.
+     */
+    public static boolean isServerError(HttpStatusCode statusCode) {
+        return statusCode.is5xxServerError();
     }
 
     @Override
@@ -29,23 +41,33 @@ public class CustomResponseErrorHandler implements ResponseErrorHandler {
             throws IOException {
         HttpStatusCode statusCode = response.getStatusCode();
         String responseBody = getResponseBody(response);
+        Duration retryAfter =
+                RetryAfter.appliesTo(statusCode)
+                        ? RetryAfter.from(response.getHeaders()).orElse(null)
+                        : null;
 
         System.err.println("Error occurred while calling: " + method + " " + url);
         System.err.println("Status Code: " + statusCode.value());
         System.err.println("Response Body: " + responseBody);
 
-        if (statusCode.is4xxClientError()) {
+        if (statusCode.value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            throw new TooManyRequestsException(
+                    String.format("Too many requests: %s %s returned 429", method, url),
+                    responseBody,
+                    retryAfter);
+        } else if (statusCode.is4xxClientError()) {
             throw new ClientErrorException(
                     String.format(
                             "Client error: %s %s returned %d", method, url, statusCode.value()),
                     statusCode.value(),
                     responseBody);
-        } else if (statusCode.is5xxServerError()) {
+        } else if (isServerError(statusCode)) {
             throw new ServerErrorException(
                     String.format(
                             "Server error: %s %s returned %d", method, url, statusCode.value()),
                     statusCode.value(),
-                    responseBody);
+                    responseBody,
+                    retryAfter);
         }
     }
 
@@ -0,0 +1,141 @@
+package com.example.restclientdemo.http;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.service.invoker.HttpExchangeAdapter;
+import org.springframework.web.service.invoker.HttpRequestValues;
+
+/**
+ * {@link HttpExchangeAdapter} decorator that adds {@code CompletableFuture<T>} as an HTTP
+ * Interface return type. The blocking exchange runs on {@code executor}, and {@code T} may be
+ * anything the delegate supports: a body type, {@code Void}, {@code HttpHeaders} or {@code
+ * ResponseEntity<B>}.
+ *
+ * <p>Cancelling a returned future interrupts the thread running its exchange. The JDK {@code
+ * HttpClient} transport aborts the request on interrupt. {@code HttpURLConnection} (the SIMPLE
+ * transport) only notices it between blocking reads.
+ */
+public class AsyncExchangeAdapter implements HttpExchangeAdapter {
+
+    private final HttpExchangeAdapter delegate;
+    private final Executor executor;
+
+    public AsyncExchangeAdapter(HttpExchangeAdapter delegate, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean supportsRequestAttributes() {
+        return delegate.supportsRequestAttributes();
+    }
+
+    @Override
+    public void exchange(HttpRequestValues values) {
+        delegate.exchange(values);
+    }
+
+    @Override
+    public HttpHeaders exchangeForHeaders(HttpRequestValues values) {
+        return delegate.exchangeForHeaders(values);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T exchangeForBody(HttpRequestValues values, ParameterizedTypeReference<T> bodyType) {
+        if (bodyType.getType() instanceof ParameterizedType type
+                && type.getRawType() == CompletableFuture.class) {
+            Type resultType = type.getActualTypeArguments()[0];
+            return (T) submit(() -> exchangeFor(values, resultType));
+        }
+        return delegate.exchangeForBody(values, bodyType);
+    }
+
+    @Override
+    public ResponseEntity<Void> exchangeForBodilessEntity(HttpRequestValues values) {
+        return delegate.exchangeForBodilessEntity(values);
+    }
+
+    @Override
+    public <T> ResponseEntity<T> exchangeForEntity(
+            HttpRequestValues values, ParameterizedTypeReference<T> bodyType) {
+        return delegate.exchangeForEntity(values, bodyType);
+    }
+
+    /** Mirrors how the proxy picks an exchange for a blocking method returning {@code type}. */
+    private Object exchangeFor(HttpRequestValues values, Type type) {
+        Type raw =
+                type instanceof ParameterizedType parameterized
+                        ? parameterized.getRawType()
+                        : type;
+        if (raw == Void.class) {
+            delegate.exchange(values);
+            return null;
+        }
+        if (raw == HttpHeaders.class) {
+            return delegate.exchangeForHeaders(values);
+        }
+        if (raw == ResponseEntity.class) {
+            Type body =
+                    type instanceof ParameterizedType parameterized
+                            ? parameterized.getActualTypeArguments()[0]
+                            : Object.class;
+            return body == Void.class
+                    ? delegate.exchangeForBodilessEntity(values)
+                    : delegate.exchangeForEntity(values, ParameterizedTypeReference.forType(body));
+        }
+        return delegate.exchangeForBody(values, ParameterizedTypeReference.forType(type));
+    }
+
+    <R> CompletableFuture<R> submit(Supplier<R> exchange) {
+        InterruptibleFuture<R> future = new InterruptibleFuture<>();
+        executor.execute(() -> future.run(exchange));
+        return future;
+    }
+
+    /** A future whose {@code cancel} interrupts the thread running it, if any. */
+    private static final class InterruptibleFuture<R> extends CompletableFuture<R> {
+
+        private Thread runner;
+
+        void run(Supplier<R> exchange) {
+            synchronized (this) {
+                if (isDone()) {
+                    return;
+                }
+                runner = Thread.currentThread();
+            }
+            try {
+                complete(exchange.get());
+            } catch (Throwable failure) {
+                completeExceptionally(failure);
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                }
+                // A cancel that raced with completion must not leak into the next task.
+                Thread.interrupted();
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                synchronized (this) {
+                    if (runner != null) {
+                        runner.interrupt();
+                    }
+                }
+            }
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.restclientdemo.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Fully buffered, re-readable response. Every {@link #getBody()} call returns a fresh stream over
+ * the same bytes, so one upstream response can be handed to several callers.
+ */
+public class BufferedClientHttpResponse implements ClientHttpResponse {
+
+    private final HttpStatusCode statusCode;
+    private final String statusText;
+    private final HttpHeaders headers;
+    private final byte[] body;
+
+    public BufferedClientHttpResponse(
+            HttpStatusCode statusCode, String statusText, HttpHeaders headers, byte[] body) {
+        this.statusCode = statusCode;
+        this.statusText = statusText;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+    }
+
+    /** Reads the body of {@code response} into memory. The caller still closes the original. */
+    public static BufferedClientHttpResponse copyOf(ClientHttpResponse response)
+            throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        try (InputStream in = response.getBody()) {
+            return new BufferedClientHttpResponse(
+                    response.getStatusCode(), response.getStatusText(), headers, in.readAllBytes());
+        }
+    }
+
+    public byte[] getBodyAsBytes() {
+        return body;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() {
+        return statusCode;
+    }
+
+    @Override
+    public String getStatusText() {
+        return statusText;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public InputStream getBody() {
+        return new ByteArrayInputStream(body);
+    }
+
+    @Override
+    public void close() {}
+}
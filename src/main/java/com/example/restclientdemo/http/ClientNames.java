@@ -0,0 +1,25 @@
+package com.example.restclientdemo.http;
+
+import java.util.Collection;
+
+/**
+ * Matches RestClient bean names against configuration keys. Relaxed binding may lower-case or
+ * dash-separate map keys and list entries, so {@code jsonPlaceholderRestClient}, {@code
+ * jsonplaceholderrestclient} and {@code json-placeholder-rest-client} are treated as equal.
+ */
+public final class ClientNames {
+
+    private ClientNames() {}
+
+    public static boolean matches(String configured, String clientName) {
+        return normalize(configured).equals(normalize(clientName));
+    }
+
+    public static boolean contains(Collection<String> configured, String clientName) {
+        return configured.stream().anyMatch(name -> matches(name, clientName));
+    }
+
+    private static String normalize(String name) {
+        return name.replace("-", "").toLowerCase();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.restclientdemo.http;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/** Lenient parsing of HTTP-date header values (RFC 9110 section 5.6.7). */
+public final class HttpDates {
+
+    private HttpDates() {}
+
+    /** Parses an IMF-fixdate such as {@code Sun, 06 Nov 1994 08:49:37 GMT}. */
+    public static Optional<Instant> parse(String value) {
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(
+                    ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                            .toInstant());
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
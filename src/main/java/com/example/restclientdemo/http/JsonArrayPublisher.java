@@ -0,0 +1,144 @@
+package com.example.restclientdemo.http;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Cold {@link Flow.Publisher} over a lazily decoded stream, usually a {@link JsonArrayStream}.
+ *
+ * <p>Each subscriber gets its own request, sent on the first {@code request(n)}. A task on the
+ * given executor, which holds its thread for the life of the subscription, decodes an element
+ * only when there is outstanding demand. While demand is zero, nothing is read
+ * from the socket, so a slow subscriber throttles the download through TCP flow control instead
+ * of the body piling up in memory. Cancelling, completing or failing closes the stream and with it
+ * the connection.
+ */
+public final class JsonArrayPublisher<T> implements Flow.Publisher<T> {
+
+    private final Supplier<Stream<T>> source;
+    private final Executor executor;
+
+    public JsonArrayPublisher(Supplier<Stream<T>> source, Executor executor) {
+        this.source = source;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        DemandSubscription subscription = new DemandSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        executor.execute(subscription::drain);
+    }
+
+    private final class DemandSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition demandChanged = lock.newCondition();
+
+        private long demand;
+        private boolean cancelled;
+        private IllegalArgumentException invalidRequest;
+
+        DemandSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            lock.lock();
+            try {
+                if (n <= 0) {
+                    invalidRequest =
+                            new IllegalArgumentException("request(n) requires n > 0, was " + n);
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+                demandChanged.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            lock.lock();
+            try {
+                cancelled = true;
+                demandChanged.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void drain() {
+            Stream<T> stream = null;
+            try {
+                Iterator<T> elements = null;
+                while (awaitDemand()) {
+                    if (elements == null) {
+                        stream = source.get();
+                        elements = stream.iterator();
+                    }
+                    if (!elements.hasNext()) {
+                        subscriber.onComplete();
+                        return;
+                    }
+                    T element = elements.next();
+                    if (isCancelled()) {
+                        return;
+                    }
+                    subscriber.onNext(element);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable failure) {
+                if (!isCancelled()) {
+                    subscriber.onError(failure);
+                }
+            } finally {
+                if (stream != null) {
+                    stream.close();
+                }
+            }
+        }
+
+        /** Takes one unit of demand, waiting for it; {@code false} once cancelled. */
+        private boolean awaitDemand() throws InterruptedException {
+            lock.lock();
+            try {
+                while (demand == 0 && !cancelled && invalidRequest == null) {
+                    demandChanged.await();
+                }
+                if (invalidRequest != null) {
+                    throw invalidRequest;
+                }
+                if (cancelled) {
+                    return false;
+                }
+                if (demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean isCancelled() {
+            lock.lock();
+            try {
+                return cancelled;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
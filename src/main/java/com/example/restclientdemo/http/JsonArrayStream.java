@@ -0,0 +1,119 @@
+package com.example.restclientdemo.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClientResponseException;
+
+/**
+ * Decodes a top-level JSON array one element at a time from Jackson's token stream, so memory use
+ * does not grow with the array length.
+ *
+ * <p>The returned stream is lazy and sequential, and it owns the response: close it (for example
+ * with try-with-resources) to release the connection, also when stopping early. Requests sent for
+ * streaming carry {@link #STREAMING_ATTRIBUTE}, which tells buffering interceptors (coalescing,
+ * response cache) to pass them through.
+ */
+public final class JsonArrayStream {
+
+    public static final String STREAMING_ATTRIBUTE = JsonArrayStream.class.getName() + ".streaming";
+
+    private JsonArrayStream() {}
+
+    public static boolean isStreaming(HttpRequest request) {
+        return Boolean.TRUE.equals(request.getAttributes().get(STREAMING_ATTRIBUTE));
+    }
+
+    /**
+     * Streams the elements of the response body. Error statuses are raised as {@link
+     * HttpClientErrorException} or {@link HttpServerErrorException}, like {@code retrieve()} does.
+     */
+    public static <T> Stream<T> open(
+            ClientHttpResponse response, ObjectMapper objectMapper, Type elementType)
+            throws IOException {
+        try {
+            throwIfError(response);
+            return JsonArrayStream.<T>of(response.getBody(), objectMapper, elementType)
+                    .onClose(response::close);
+        } catch (IOException | RuntimeException e) {
+            response.close();
+            throw e;
+        }
+    }
+
+    public static <T> Stream<T> of(InputStream body, ObjectMapper objectMapper, Type elementType)
+            throws IOException {
+        JsonParser parser = objectMapper.createParser(body);
+        JavaType type = objectMapper.constructType(elementType);
+        Spliterator<T> elements =
+                new Spliterators.AbstractSpliterator<>(
+                        Long.MAX_VALUE, Spliterator.ORDERED) {
+                    private boolean started;
+
+                    @Override
+                    public boolean tryAdvance(Consumer<? super T> action) {
+                        try {
+                            if (!started) {
+                                started = true;
+                                JsonToken first = parser.nextToken();
+                                if (first != JsonToken.START_ARRAY) {
+                                    throw new IOException(
+                                            "Expected a JSON array but found " + first);
+                                }
+                            }
+                            JsonToken token = parser.nextToken();
+                            if (token == null || token == JsonToken.END_ARRAY) {
+                                return false;
+                            }
+                            T element = objectMapper.readValue(parser, type);
+                            action.accept(element);
+                            return true;
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                };
+        return StreamSupport.stream(elements, false)
+                .onClose(
+                        () -> {
+                            try {
+                                parser.close();
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+    }
+
+    private static void throwIfError(ClientHttpResponse response) throws IOException {
+        HttpStatusCode status = response.getStatusCode();
+        if (!status.isError()) {
+            return;
+        }
+        byte[] body = response.getBody().readAllBytes();
+        String statusText = response.getStatusText();
+        RestClientResponseException exception =
+                status.is4xxClientError()
+                        ? HttpClientErrorException.create(
+                                status, statusText, response.getHeaders(), body, null)
+                        : HttpServerErrorException.create(
+                                status, statusText, response.getHeaders(), body, null);
+        throw exception;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.restclientdemo.http;
+
+import java.net.URI;
+
+/** Scheme/host/port triple identifying the server side of a connection. */
+public record Origin(String scheme, String host, int port) {
+
+    public static Origin of(URI uri) {
+        String scheme = uri.getScheme() != null ? uri.getScheme().toLowerCase() : "http";
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "https".equals(scheme) ? 443 : 80;
+        }
+        return new Origin(scheme, uri.getHost().toLowerCase(), port);
+    }
+
+    @Override
+    public String toString() {
+        return scheme + "://" + host + ":" + port;
+    }
+}
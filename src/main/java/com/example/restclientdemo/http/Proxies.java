@@ -0,0 +1,32 @@
+package com.example.restclientdemo.http;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Helpers for the JDK dynamic proxies that wrap HTTP Interface clients (rate limits, JFR events,
+ * stale-while-revalidate).
+ */
+public final class Proxies {
+
+    private Proxies() {}
+
+    /**
+     * Calls {@code method} on the wrapped target and rethrows whatever it threw unchanged, so the
+     * proxy is transparent to callers. Methods of interfaces that are not public are made
+     * accessible first, since this class is not in their package.
+     */
+    public static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        if (!Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+            method.trySetAccessible();
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.restclientdemo.http;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+
+/** Parsing of the {@code Retry-After} response header (RFC 9110 section 10.2.3). */
+public final class RetryAfter {
+
+    public static final String HEADER = "Retry-After";
+
+    private RetryAfter() {}
+
+    /** Whether a response with this status asks the client to come back later. */
+    public static boolean appliesTo(HttpStatusCode status) {
+        return status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status.value() == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    /** Reads the header of a response received now. */
+    public static Optional<Duration> from(HttpHeaders headers) {
+        return parse(headers.getFirst(HEADER), Instant.now());
+    }
+
+    /**
+     * Parses delta-seconds ({@code 120}) or an HTTP-date ({@code Wed, 21 Oct 2015 07:28:00 GMT}).
+     * A date in the past yields zero; a malformed value yields empty.
+     */
+    public static Optional<Duration> parse(String value, Instant now) {
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        String trimmed = value.trim();
+        if (trimmed.chars().allMatch(Character::isDigit)) {
+            try {
+                return Optional.of(Duration.ofSeconds(Long.parseLong(trimmed)));
+            } catch (NumberFormatException e) {
+                return Optional.empty();
+            }
+        }
+        return HttpDates.parse(trimmed)
+                .map(date -> date.isAfter(now) ? Duration.between(now, date) : Duration.ZERO);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.restclientdemo.http;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.support.RestClientAdapter;
+import org.springframework.web.service.invoker.HttpExchangeAdapter;
+import org.springframework.web.service.invoker.HttpRequestValues;
+
+/**
+ * {@link HttpExchangeAdapter} that adds {@code Stream<T>} and {@code Flow.Publisher<T>} as HTTP
+ * Interface return types. Such methods decode the JSON array response with {@link
+ * JsonArrayStream}, a publisher doing so only as fast as its subscriber requests elements, on a
+ * task of the given executor. Every other exchange is handled by the standard {@link
+ * RestClientAdapter}.
+ */
+public class StreamingExchangeAdapter implements HttpExchangeAdapter {
+
+    private final RestClient restClient;
+    private final RestClientAdapter delegate;
+    private final ObjectMapper objectMapper;
+    private final Executor publisherExecutor;
+
+    public StreamingExchangeAdapter(
+            RestClient restClient, ObjectMapper objectMapper, Executor publisherExecutor) {
+        this.restClient = restClient;
+        this.delegate = RestClientAdapter.create(restClient);
+        this.objectMapper = objectMapper;
+        this.publisherExecutor = publisherExecutor;
+    }
+
+    @Override
+    public boolean supportsRequestAttributes() {
+        return delegate.supportsRequestAttributes();
+    }
+
+    @Override
+    public void exchange(HttpRequestValues values) {
+        delegate.exchange(values);
+    }
+
+    @Override
+    public HttpHeaders exchangeForHeaders(HttpRequestValues values) {
+        return delegate.exchangeForHeaders(values);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T exchangeForBody(HttpRequestValues values, ParameterizedTypeReference<T> bodyType) {
+        if (bodyType.getType() instanceof ParameterizedType type) {
+            Type elementType = type.getActualTypeArguments()[0];
+            if (type.getRawType() == Stream.class) {
+                return (T) stream(values, elementType);
+            }
+            if (type.getRawType() == Flow.Publisher.class) {
+                return (T)
+                        new JsonArrayPublisher<>(
+                                () -> stream(values, elementType), publisherExecutor);
+            }
+        }
+        return delegate.exchangeForBody(values, bodyType);
+    }
+
+    @Override
+    public ResponseEntity<Void> exchangeForBodilessEntity(HttpRequestValues values) {
+        return delegate.exchangeForBodilessEntity(values);
+    }
+
+    @Override
+    public <T> ResponseEntity<T> exchangeForEntity(
+            HttpRequestValues values, ParameterizedTypeReference<T> bodyType) {
+        return delegate.exchangeForEntity(values, bodyType);
+    }
+
+    /** The response stays open until the returned stream is closed. */
+    private <E> Stream<E> stream(HttpRequestValues values, Type elementType) {
+        RestClient.RequestBodyUriSpec request = restClient.method(values.getHttpMethod());
+        RestClient.RequestBodySpec spec =
+                values.getUri() != null
+                        ? request.uri(values.getUri())
+                        : request.uri(values.getUriTemplate(), values.getUriVariables());
+        spec.headers(headers -> headers.putAll(values.getHeaders()))
+                .attributes(attributes -> attributes.putAll(values.getAttributes()))
+                .attribute(JsonArrayStream.STREAMING_ATTRIBUTE, true);
+        if (values.getBodyValue() != null) {
+            spec.body(values.getBodyValue());
+        }
+        return spec.exchange(
+                (clientRequest, response) ->
+                        JsonArrayStream.<E>open(response, objectMapper, elementType),
+                false);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.restclientdemo.http;
+
+import java.net.URI;
+import java.util.regex.Pattern;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Recovers the URI template of a RestClient request, so metrics and events are keyed by {@code
+ * /users/{id}} rather than by every expanded URI.
+ *
+ * <p>RestClient stores the template passed to {@code uri(String, Object...)} as a request
+ * attribute, and HTTP Interface clients pass theirs the same way. Only its path is kept, should
+ * it include the base URL. Requests built from a ready-made {@link URI} have no template; their
+ * path is used with numeric and UUID segments replaced by {@code {id}}.
+ */
+public final class UriTemplates {
+
+    /**
+     * Attribute under which {@code DefaultRestClient} keeps the URI template, named like {@code
+     * DefaultWebClient}'s. Not public API; {@code LatencyRegistryTest} checks it against a real
+     * RestClient.
+     */
+    public static final String URI_TEMPLATE_ATTRIBUTE = RestClient.class.getName() + ".uriTemplate";
+
+    private static final Pattern ID_SEGMENT =
+            Pattern.compile("/(\\d+|[0-9a-fA-F]{8}(-[0-9a-fA-F]{4}){3}-[0-9a-fA-F]{12})(?=/|$)");
+
+    private UriTemplates() {}
+
+    public static String of(HttpRequest request) {
+        return of(request.getAttributes().get(URI_TEMPLATE_ATTRIBUTE), request.getURI());
+    }
+
+    /** The path part of the URI template, or the normalized request path if there is none. */
+    public static String of(Object templateAttribute, URI uri) {
+        if (templateAttribute instanceof String template && !template.isEmpty()) {
+            int query = template.indexOf('?');
+            String path = query >= 0 ? template.substring(0, query) : template;
+            int scheme = path.indexOf("://");
+            if (scheme < 0) {
+                return path;
+            }
+            int pathStart = path.indexOf('/', scheme + 3);
+            return pathStart >= 0 ? path.substring(pathStart) : "/";
+        }
+        String path = uri.getRawPath();
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        return ID_SEGMENT.matcher(path).replaceAll("/{id}");
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.restclientdemo.jfr;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+import com.example.restclientdemo.http.Proxies;
+
+import jdk.jfr.EventType;
+
+import org.springframework.web.client.RestClient;
+
+/**
+ * Java Flight Recorder events for RestClient beans and HTTP Interface clients.
+ *
+ * <p>{@code com.example.restclientdemo.HttpExchange} is emitted per exchange from the interceptor
+ * chain and {@code com.example.restclientdemo.HttpInterfaceCall} per proxy method call. Both are
+ * disabled by default and enabled like any JFR event, e.g. {@code
+ * -XX:StartFlightRecording:com.example.restclientdemo.HttpExchange#enabled=true}. Each call first
+ * checks whether its event type is enabled, a field read; only then is an event allocated and
+ * the request inspected.
+ */
+public class HttpEvents {
+
+    static final EventType EXCHANGE = EventType.getEventType(HttpExchangeEvent.class);
+    static final EventType INTERFACE_CALL = EventType.getEventType(HttpInterfaceCallEvent.class);
+
+    /** Adds the exchange event interceptor; apply it outermost so the event spans the others. */
+    public Consumer<RestClient.Builder> forClient(String clientName) {
+        HttpExchangeEventInterceptor interceptor = new HttpExchangeEventInterceptor(clientName);
+        return builder -> builder.requestInterceptor(interceptor);
+    }
+
+    /**
+     * Wraps an HTTP Interface client so every method call emits an interface call event. For a
+     * method returning a {@link CompletableFuture} the event ends when the future completes.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T wrap(Class<T> type, String clientName, T target) {
+        InvocationHandler handler =
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class
+                            || !INTERFACE_CALL.isEnabled()) {
+                        return Proxies.invoke(target, method, args);
+                    }
+                    HttpInterfaceCallEvent event = new HttpInterfaceCallEvent();
+                    event.begin();
+                    Object result;
+                    try {
+                        result = Proxies.invoke(target, method, args);
+                    } catch (Throwable e) {
+                        commit(event, clientName, type, method, e);
+                        throw e;
+                    }
+                    if (result instanceof CompletableFuture<?> future) {
+                        future.whenComplete(
+                                (value, failure) ->
+                                        commit(event, clientName, type, method, failure));
+                    } else {
+                        commit(event, clientName, type, method, null);
+                    }
+                    return result;
+                };
+        return (T)
+                Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private static void commit(
+            HttpInterfaceCallEvent event,
+            String clientName,
+            Class<?> type,
+            Method method,
+            Throwable failure) {
+        event.end();
+        if (event.shouldCommit()) {
+            if (failure instanceof CompletionException && failure.getCause() != null) {
+                failure = failure.getCause();
+            }
+            event.clientName = clientName;
+            event.interfaceName = type.getSimpleName();
+            event.methodName = method.getName();
+            event.failure = failure != null ? failure.getClass().getName() : null;
+            event.commit();
+        }
+    }
+}
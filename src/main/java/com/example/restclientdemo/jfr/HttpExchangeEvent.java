@@ -0,0 +1,53 @@
+package com.example.restclientdemo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One RestClient exchange, from the outermost interceptor until the response is closed. */
+@Name("com.example.restclientdemo.HttpExchange")
+@Label("HTTP Exchange")
+@Category({"RestClient"})
+@Description("Request sent through a RestClient bean, including time spent reading the body")
+@Enabled(false)
+@StackTrace(false)
+class HttpExchangeEvent extends jdk.jfr.Event {
+
+    @Label("Client")
+    @Description("RestClient bean name")
+    String clientName;
+
+    @Label("Method")
+    String method;
+
+    @Label("URI Template")
+    String uriTemplate;
+
+    @Label("Status")
+    @Description("HTTP status code, or -1 if no response arrived")
+    int status;
+
+    @Label("Bytes Out")
+    @DataAmount
+    long bytesOut;
+
+    @Label("Bytes In")
+    @Description("Response body bytes read by the caller")
+    @DataAmount
+    long bytesIn;
+
+    @Label("Retry Count")
+    @Description("Retries before this attempt; 0 outside RetryExecutor")
+    int retryCount;
+
+    @Label("Cache Outcome")
+    @Description("HIT, MISS, REVALIDATED, BYPASS, or NONE if the bean has no HTTP cache")
+    String cacheOutcome;
+
+    @Label("Failure")
+    String failure;
+}
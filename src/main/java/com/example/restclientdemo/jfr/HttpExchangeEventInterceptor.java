@@ -0,0 +1,141 @@
+package com.example.restclientdemo.jfr;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.restclientdemo.cache.CachingInterceptor;
+import com.example.restclientdemo.http.ObservedClientHttpResponse;
+import com.example.restclientdemo.http.UriTemplates;
+import com.example.restclientdemo.retry.RetryContext;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Emits an {@link HttpExchangeEvent} per exchange of one RestClient bean. While the event is
+ * disabled in the running recording, or no recording runs, requests pass straight through.
+ */
+class HttpExchangeEventInterceptor implements ClientHttpRequestInterceptor {
+
+    private final String clientName;
+
+    HttpExchangeEventInterceptor(String clientName) {
+        this.clientName = clientName;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(
+            HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!HttpEvents.EXCHANGE.isEnabled()) {
+            return execution.execute(request, body);
+        }
+        HttpExchangeEvent event = new HttpExchangeEvent();
+        event.begin();
+        int retryCount = RetryContext.retryCount();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            event.end();
+            if (event.shouldCommit()) {
+                describe(event, request, body, retryCount, -1);
+                event.failure = e.getClass().getName();
+                event.commit();
+            }
+            throw e;
+        }
+        int status = response.getStatusCode().value();
+        return new CountingResponse(
+                response,
+                bytesIn -> {
+                    event.end();
+                    if (event.shouldCommit()) {
+                        describe(event, request, body, retryCount, status);
+                        event.bytesIn = bytesIn;
+                        event.commit();
+                    }
+                });
+    }
+
+    private void describe(
+            HttpExchangeEvent event, HttpRequest request, byte[] body, int retryCount, int status) {
+        Object cacheOutcome =
+                request.getAttributes().get(CachingInterceptor.CACHE_OUTCOME_ATTRIBUTE);
+        event.clientName = clientName;
+        event.method = request.getMethod().name();
+        event.uriTemplate = UriTemplates.of(request);
+        event.status = status;
+        event.bytesOut = body.length;
+        event.retryCount = retryCount;
+        event.cacheOutcome = cacheOutcome != null ? cacheOutcome.toString() : "NONE";
+    }
+
+    private interface CloseListener {
+        void closed(long bytesIn);
+    }
+
+    /** Counts the body bytes the caller reads and reports the total when the response closes. */
+    private static final class CountingResponse extends ObservedClientHttpResponse {
+
+        private final AtomicLong bytesIn;
+        private InputStream body;
+
+        CountingResponse(ClientHttpResponse delegate, CloseListener listener) {
+            this(delegate, listener, new AtomicLong());
+        }
+
+        private CountingResponse(
+                ClientHttpResponse delegate, CloseListener listener, AtomicLong bytesIn) {
+            super(delegate, () -> listener.closed(bytesIn.get()));
+            this.bytesIn = bytesIn;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new CountingInputStream(super.getBody(), bytesIn);
+            }
+            return body;
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final AtomicLong count;
+
+        CountingInputStream(InputStream in, AtomicLong count) {
+            super(in);
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count.addAndGet(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count.addAndGet(skipped);
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.restclientdemo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call of an HTTP Interface method. The {@link HttpExchangeEvent}s of the exchanges it made
+ * fall within it on the same thread; a call served from a proxy cache has none.
+ */
+@Name("com.example.restclientdemo.HttpInterfaceCall")
+@Label("HTTP Interface Call")
+@Category({"RestClient"})
+@Description("Call of an @HttpExchange method through its client proxy")
+@Enabled(false)
+@StackTrace(false)
+class HttpInterfaceCallEvent extends jdk.jfr.Event {
+
+    @Label("Client")
+    @Description("RestClient bean the proxy sends its requests through")
+    String clientName;
+
+    @Label("Interface")
+    String interfaceName;
+
+    @Label("Method")
+    String methodName;
+
+    @Label("Failure")
+    String failure;
+}
@@ -0,0 +1,91 @@
+package com.example.restclientdemo.limit;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.example.restclientdemo.http.ObservedClientHttpResponse;
+import com.example.restclientdemo.http.Origin;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Limits the in-flight requests of one RestClient bean per scheme/host/port.
+ *
+ * <p>The round trip is measured up to the response headers, so a caller reading the body slowly
+ * does not look like a slow upstream; the slot is held until the response is closed. Timeouts,
+ * {@code 429 Too Many Requests} and {@code 503 Service Unavailable} count as drops and shrink the
+ * limit. Other I/O errors (connection refused, unknown host, reset) say nothing about queueing
+ * upstream, so they return the slot without a sample.
+ */
+public class AdaptiveLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private final AdaptiveLimitProperties properties;
+    private final Map<Origin, AdaptiveLimiter> limiters = new ConcurrentHashMap<>();
+
+    public AdaptiveLimitInterceptor(AdaptiveLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(
+            HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        AdaptiveLimiter limiter =
+                limiters.computeIfAbsent(
+                        Origin.of(request.getURI()),
+                        origin -> new AdaptiveLimiter(origin, properties));
+        int inFlight = limiter.acquire();
+        long start = System.nanoTime();
+        ClientHttpResponse response;
+        boolean dropped;
+        try {
+            response = execution.execute(request, body);
+            dropped = isDropped(response.getStatusCode());
+        } catch (IOException e) {
+            if (isTimeout(e)) {
+                limiter.release(System.nanoTime() - start, inFlight, true);
+            } else {
+                limiter.release();
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            limiter.release();
+            throw e;
+        }
+        long rttNanos = System.nanoTime() - start;
+        return new ObservedClientHttpResponse(
+                response, () -> limiter.release(rttNanos, inFlight, dropped));
+    }
+
+    /** Current limit and counters per origin, ordered by origin. */
+    public List<AdaptiveLimitStats> stats() {
+        return limiters.values().stream()
+                .map(AdaptiveLimiter::stats)
+                .sorted(Comparator.comparing(stats -> stats.origin().toString()))
+                .toList();
+    }
+
+    private static boolean isTimeout(IOException failure) {
+        for (Throwable e = failure; e != null; e = e.getCause()) {
+            if (e instanceof HttpTimeoutException || e instanceof SocketTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isDropped(HttpStatusCode status) {
+        return status.value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                || status.value() == HttpStatus.SERVICE_UNAVAILABLE.value();
+    }
+}
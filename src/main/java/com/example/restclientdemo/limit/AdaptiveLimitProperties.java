@@ -0,0 +1,126 @@
+package com.example.restclientdemo.limit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.restclientdemo.http.ClientNames;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Opt-in adaptive concurrency limiting, bound from {@code app.http.adaptive-limit.*}.
+ *
+ * <pre>
+ * app.http.adaptive-limit.clients=defaultRestClient,jsonPlaceholderRestClient
+ * app.http.adaptive-limit.initial-limit=20
+ * app.http.adaptive-limit.max-queue-wait=0s
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.http.adaptive-limit")
+public class AdaptiveLimitProperties {
+
+    /** RestClient bean names whose in-flight requests are limited, per scheme/host/port. */
+    private List<String> clients = new ArrayList<>();
+
+    /** Limit used until enough round trips have been observed. */
+    private int initialLimit = 20;
+
+    private int minLimit = 1;
+
+    private int maxLimit = 200;
+
+    /** How long a request may wait for a slot; zero rejects at once. */
+    private Duration maxQueueWait = Duration.ZERO;
+
+    /**
+     * How much slower than the long-term average a round trip may be before the limit shrinks;
+     * 1.5 tolerates 50% more latency.
+     */
+    private double rttTolerance = 1.5;
+
+    /** Number of samples the long-term RTT average spans. */
+    private int rttWindow = 100;
+
+    /** Weight of each new estimate in the limit, between 0 and 1. */
+    private double smoothing = 0.2;
+
+    /** Factor applied to the limit after a timeout, 429 or 503. */
+    private double backoffRatio = 0.9;
+
+    public List<String> getClients() {
+        return clients;
+    }
+
+    public void setClients(List<String> clients) {
+        this.clients = clients;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public Duration getMaxQueueWait() {
+        return maxQueueWait;
+    }
+
+    public void setMaxQueueWait(Duration maxQueueWait) {
+        this.maxQueueWait = maxQueueWait;
+    }
+
+    public double getRttTolerance() {
+        return rttTolerance;
+    }
+
+    public void setRttTolerance(double rttTolerance) {
+        this.rttTolerance = rttTolerance;
+    }
+
+    public int getRttWindow() {
+        return rttWindow;
+    }
+
+    public void setRttWindow(int rttWindow) {
+        this.rttWindow = rttWindow;
+    }
+
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    public void setSmoothing(double smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public void setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+    }
+
+    public boolean isEnabledFor(String clientName) {
+        return ClientNames.contains(clients, clientName);
+    }
+}
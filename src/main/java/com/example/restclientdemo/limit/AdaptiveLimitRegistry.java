@@ -0,0 +1,37 @@
+package com.example.restclientdemo.limit;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.springframework.web.client.RestClient;
+
+/** Creates the adaptive limiter of each opted-in RestClient bean and exposes its limits. */
+public class AdaptiveLimitRegistry {
+
+    private final AdaptiveLimitProperties properties;
+    private final Map<String, AdaptiveLimitInterceptor> interceptors = new ConcurrentHashMap<>();
+
+    public AdaptiveLimitRegistry(AdaptiveLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    public Consumer<RestClient.Builder> forClient(String clientName) {
+        if (!properties.isEnabledFor(clientName)) {
+            return builder -> {};
+        }
+        AdaptiveLimitInterceptor interceptor =
+                interceptors.computeIfAbsent(
+                        clientName, name -> new AdaptiveLimitInterceptor(properties));
+        return builder -> builder.requestInterceptor(interceptor);
+    }
+
+    /** Current limit and counters per RestClient bean name and origin. */
+    public Map<String, List<AdaptiveLimitStats>> stats() {
+        Map<String, List<AdaptiveLimitStats>> stats = new TreeMap<>();
+        interceptors.forEach((name, interceptor) -> stats.put(name, interceptor.stats()));
+        return stats;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.restclientdemo.limit;
+
+import com.example.restclientdemo.http.Origin;
+
+/** Point-in-time view of an {@link AdaptiveLimiter}. */
+public record AdaptiveLimitStats(
+        Origin origin,
+        int limit,
+        int inFlight,
+        int peakInFlight,
+        long longRttMillis,
+        long accepted,
+        long queued,
+        long rejected,
+        long dropped) {
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%s limit=%d inFlight=%d peak=%d rtt=%dms accepted=%d queued=%d rejected=%d"
+                        + " dropped=%d",
+                origin,
+                limit,
+                inFlight,
+                peakInFlight,
+                longRttMillis,
+                accepted,
+                queued,
+                rejected,
+                dropped);
+    }
+}
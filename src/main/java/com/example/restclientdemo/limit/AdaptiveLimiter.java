@@ -0,0 +1,133 @@
+package com.example.restclientdemo.limit;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.example.restclientdemo.exception.ConcurrencyLimitExceededException;
+import com.example.restclientdemo.http.Origin;
+
+/**
+ * In-flight request limit for one origin of one RestClient bean, adjusted from observed round
+ * trips by a {@link GradientLimit}.
+ *
+ * <p>A request over the limit waits up to {@code maxQueueWait} for a slot and is then rejected
+ * with {@link ConcurrencyLimitExceededException}; with a zero wait it is rejected at once.
+ */
+public class AdaptiveLimiter {
+
+    private final Origin origin;
+    private final GradientLimit algorithm;
+    private final long maxQueueWaitNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+
+    private int inFlight;
+    private int peakInFlight;
+    private long accepted;
+    private long queued;
+    private long rejected;
+    private long dropped;
+
+    AdaptiveLimiter(Origin origin, AdaptiveLimitProperties properties) {
+        this.origin = origin;
+        this.algorithm = new GradientLimit(properties);
+        this.maxQueueWaitNanos = properties.getMaxQueueWait().toNanos();
+    }
+
+    /**
+     * Takes a slot, waiting for one if the limit is reached.
+     *
+     * @return the number of requests in flight including this one, to pass to {@link #release}
+     * @throws ConcurrencyLimitExceededException if no slot is freed within the queue wait
+     */
+    public int acquire() throws InterruptedIOException {
+        lock.lock();
+        try {
+            if (inFlight >= algorithm.limit()) {
+                queued++;
+                long remaining = maxQueueWaitNanos;
+                while (inFlight >= algorithm.limit()) {
+                    if (remaining <= 0) {
+                        queued--;
+                        rejected++;
+                        throw new ConcurrencyLimitExceededException(
+                                "Concurrency limit of "
+                                        + algorithm.limit()
+                                        + " reached for "
+                                        + origin,
+                                algorithm.limit());
+                    }
+                    remaining = awaitSlot(remaining);
+                }
+            }
+            accepted++;
+            inFlight++;
+            peakInFlight = Math.max(peakInFlight, inFlight);
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the slot and feeds the round trip into the limit.
+     *
+     * @param rttNanos time from sending the request to receiving the response headers
+     * @param inFlightAtStart the value returned by {@link #acquire()}
+     * @param dropped whether the request timed out or the upstream shed it
+     */
+    public void release(long rttNanos, int inFlightAtStart, boolean dropped) {
+        lock.lock();
+        try {
+            if (dropped) {
+                this.dropped++;
+            }
+            algorithm.onSample(rttNanos, inFlightAtStart, dropped);
+            inFlight--;
+            // The limit may have grown, so more than one waiter can proceed
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the slot without a sample, e.g. when the request failed before being sent. */
+    public void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public AdaptiveLimitStats stats() {
+        lock.lock();
+        try {
+            return new AdaptiveLimitStats(
+                    origin,
+                    algorithm.limit(),
+                    inFlight,
+                    peakInFlight,
+                    algorithm.longRttNanos() / 1_000_000,
+                    accepted,
+                    queued,
+                    rejected,
+                    dropped);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long awaitSlot(long remainingNanos) throws InterruptedIOException {
+        try {
+            return slotFreed.awaitNanos(remainingNanos);
+        } catch (InterruptedException e) {
+            queued--;
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for a slot to " + origin);
+        }
+    }
+}
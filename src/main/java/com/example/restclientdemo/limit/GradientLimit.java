@@ -0,0 +1,74 @@
+package com.example.restclientdemo.limit;
+
+/**
+ * Gradient-style estimate of how many requests an upstream can take at once.
+ *
+ * <p>Each sample compares the round trip with the long-term average. While they are close, the
+ * limit grows by its square root per sample, leaving room for a small queue; once round trips
+ * slow beyond {@code rttTolerance}, the limit shrinks in proportion. Drops (timeouts, 429, 503)
+ * cut it multiplicatively, like AIMD. Samples taken while less than half the limit is in use do
+ * not raise it, so an idle client does not drift to the maximum. Not thread-safe; {@link
+ * AdaptiveLimiter} guards it.
+ */
+class GradientLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final int rttWindow;
+    private final double smoothing;
+    private final double backoffRatio;
+
+    private double limit;
+    private double longRttNanos;
+
+    GradientLimit(AdaptiveLimitProperties properties) {
+        this.minLimit = Math.max(1, properties.getMinLimit());
+        this.maxLimit = Math.max(minLimit, properties.getMaxLimit());
+        this.rttTolerance = properties.getRttTolerance();
+        this.rttWindow = Math.max(1, properties.getRttWindow());
+        this.smoothing = properties.getSmoothing();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.limit = clamp(properties.getInitialLimit());
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    /** Long-term average round trip, or 0 before the first sample. */
+    long longRttNanos() {
+        return (long) longRttNanos;
+    }
+
+    /**
+     * @param rttNanos time from sending the request to receiving the response headers
+     * @param inFlight requests in flight when this one was sent, including itself
+     * @param dropped whether the upstream shed the request or it timed out
+     */
+    void onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (dropped) {
+            limit = clamp(limit * backoffRatio);
+            return;
+        }
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) / rttWindow;
+        }
+        // After a long slow period the average lags behind; let it catch up with faster samples
+        if (longRttNanos > 2.0 * rttNanos) {
+            longRttNanos *= 0.95;
+        }
+        if (inFlight < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / rttNanos));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        limit = clamp(limit * (1 - smoothing) + estimate * smoothing);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.restclientdemo.logging;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+
+/**
+ * One logged exchange as captured on the request thread. Nothing is formatted there: headers and
+ * body are kept by reference and only turned into text by the writer thread.
+ */
+record RequestLogEvent(
+        String clientName,
+        HttpMethod method,
+        URI uri,
+        HttpHeaders requestHeaders,
+        byte[] body,
+        int status,
+        HttpHeaders responseHeaders,
+        long durationNanos,
+        Throwable failure) {
+
+    void formatTo(StringBuilder out, int maxBodyBytes, boolean includeHeaders) {
+        out.append("Making request to: ")
+                .append(method)
+                .append(' ')
+                .append(uri)
+                .append(" [")
+                .append(clientName)
+                .append("]\n");
+        if (includeHeaders) {
+            out.append("Headers: ").append(requestHeaders).append('\n');
+        }
+        if (body.length > 0) {
+            int shown = Math.min(body.length, maxBodyBytes);
+            out.append("Body: ").append(new String(body, 0, shown, StandardCharsets.UTF_8));
+            if (shown < body.length) {
+                out.append("... (").append(body.length).append(" bytes)");
+            }
+            out.append('\n');
+        }
+        String millis = String.format("%.1fms", durationNanos / 1_000_000.0);
+        if (failure != null) {
+            out.append("Request failed after ")
+                    .append(millis)
+                    .append(": ")
+                    .append(failure)
+                    .append('\n');
+        } else {
+            out.append("Response Status: ")
+                    .append(status)
+                    .append(" (")
+                    .append(millis)
+                    .append(")\n");
+            if (includeHeaders) {
+                out.append("Response Headers: ").append(responseHeaders).append('\n');
+            }
+        }
+        out.append("---\n");
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.restclientdemo.logging;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Hands each sampled exchange of one RestClient bean to the {@link RequestLogRegistry} writer.
+ *
+ * <p>The request thread only takes a timestamp and queues a {@link RequestLogEvent} once the
+ * response headers arrive; exchanges left out by sampling cost one random number.
+ */
+public class RequestLogInterceptor implements ClientHttpRequestInterceptor {
+
+    private final String clientName;
+    private final double sampleRate;
+    private final RequestLogRegistry registry;
+
+    RequestLogInterceptor(String clientName, double sampleRate, RequestLogRegistry registry) {
+        this.clientName = clientName;
+        this.sampleRate = sampleRate;
+        this.registry = registry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(
+            HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            registry.sampledOut();
+            return execution.execute(request, body);
+        }
+        long start = System.nanoTime();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            registry.submit(event(request, body, -1, null, start, e));
+            throw e;
+        }
+        registry.submit(
+                event(
+                        request,
+                        body,
+                        response.getStatusCode().value(),
+                        response.getHeaders(),
+                        start,
+                        null));
+        return response;
+    }
+
+    private RequestLogEvent event(
+            HttpRequest request,
+            byte[] body,
+            int status,
+            HttpHeaders responseHeaders,
+            long start,
+            Throwable failure) {
+        return new RequestLogEvent(
+                clientName,
+                request.getMethod(),
+                request.getURI(),
+                request.getHeaders(),
+                body,
+                status,
+                responseHeaders,
+                System.nanoTime() - start,
+                failure);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.restclientdemo.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.restclientdemo.http.ClientNames;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Opt-in request logging, bound from {@code app.http.logging.*}.
+ *
+ * <pre>
+ * app.http.logging.clients=defaultRestClient,customRestClient
+ * app.http.logging.sample-rate=0.1
+ * app.http.logging.max-body-bytes=256
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.http.logging")
+public class RequestLogProperties {
+
+    /** Switches logging off for every bean without touching the client list. */
+    private boolean enabled = true;
+
+    /** RestClient bean names whose exchanges are logged. */
+    private List<String> clients = new ArrayList<>();
+
+    /** Fraction of exchanges logged, between 0 and 1. */
+    private double sampleRate = 1.0;
+
+    /** Request body bytes written to the log; the rest is replaced by its length. */
+    private int maxBodyBytes = 256;
+
+    private boolean includeHeaders = true;
+
+    /**
+     * Entries waiting to be written, rounded up to a power of two. When the buffer is full, new
+     * entries are dropped rather than holding up the request.
+     */
+    private int bufferSize = 1024;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getClients() {
+        return clients;
+    }
+
+    public void setClients(List<String> clients) {
+        this.clients = clients;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public void setMaxBodyBytes(int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    public boolean isIncludeHeaders() {
+        return includeHeaders;
+    }
+
+    public void setIncludeHeaders(boolean includeHeaders) {
+        this.includeHeaders = includeHeaders;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public boolean isEnabledFor(String clientName) {
+        return enabled && sampleRate > 0 && ClientNames.contains(clients, clientName);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.restclientdemo.logging;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.springframework.web.client.RestClient;
+
+/**
+ * Request logging for opted-in RestClient beans, written off the request threads.
+ *
+ * <p>Interceptors queue one {@link RequestLogEvent} per exchange on a lock-free ring buffer and
+ * return at once. A single daemon thread drains the buffer, formats the entries and writes them
+ * in batches, so console I/O no longer serializes the callers. When the writer falls behind and
+ * the buffer fills up, entries are dropped and counted rather than slowing requests down. Beans
+ * that are not configured get no interceptor at all.
+ */
+public class RequestLogRegistry implements AutoCloseable {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final RequestLogProperties properties;
+    private final PrintStream out;
+    private final MpscRingBuffer<RequestLogEvent> buffer;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public RequestLogRegistry(RequestLogProperties properties) {
+        this(properties, System.out);
+    }
+
+    RequestLogRegistry(RequestLogProperties properties, PrintStream out) {
+        this.properties = properties;
+        this.out = out;
+        this.buffer = new MpscRingBuffer<>(properties.getBufferSize());
+        this.writer = Thread.ofPlatform().name("http-request-log").daemon().unstarted(this::drain);
+        if (properties.isEnabled()) {
+            writer.start();
+        }
+    }
+
+    public Consumer<RestClient.Builder> forClient(String clientName) {
+        if (!properties.isEnabledFor(clientName)) {
+            return builder -> {};
+        }
+        RequestLogInterceptor interceptor =
+                new RequestLogInterceptor(clientName, properties.getSampleRate(), this);
+        return builder -> builder.requestInterceptor(interceptor);
+    }
+
+    public RequestLogStats stats() {
+        return new RequestLogStats(written.sum(), sampledOut.sum(), dropped.sum());
+    }
+
+    /**
+     * Stops the writer after it has written what is already queued. If interrupted while waiting,
+     * returns at once with the interrupt flag set.
+     */
+    @Override
+    public void close() {
+        running = false;
+        if (writer.isAlive()) {
+            LockSupport.unpark(writer);
+            try {
+                writer.join(Duration.ofSeconds(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    void submit(RequestLogEvent event) {
+        if (!buffer.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    void sampledOut() {
+        sampledOut.increment();
+    }
+
+    private void drain() {
+        StringBuilder batch = new StringBuilder(4096);
+        while (true) {
+            boolean stopping = !running;
+            RequestLogEvent event;
+            while ((event = buffer.poll()) != null) {
+                event.formatTo(batch, properties.getMaxBodyBytes(), properties.isIncludeHeaders());
+                written.increment();
+                if (batch.length() >= 64 * 1024) {
+                    flush(batch);
+                }
+            }
+            flush(batch);
+            if (stopping) {
+                return;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    private void flush(StringBuilder batch) {
+        if (!batch.isEmpty()) {
+            out.print(batch);
+            out.flush();
+            batch.setLength(0);
+        }
+    }
+}
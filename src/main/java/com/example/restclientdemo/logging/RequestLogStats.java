@@ -0,0 +1,16 @@
+package com.example.restclientdemo.logging;
+
+/**
+ * Counters of the {@link RequestLogRegistry} writer.
+ *
+ * @param written exchanges written to the log
+ * @param sampledOut exchanges skipped by sampling
+ * @param dropped exchanges lost because the buffer was full
+ */
+public record RequestLogStats(long written, long sampledOut, long dropped) {
+
+    @Override
+    public String toString() {
+        return String.format("written=%d sampledOut=%d dropped=%d", written, sampledOut, dropped);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.restclientdemo.metrics;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Collects the phase boundaries of one exchange while it passes through the interceptor chain.
+ *
+ * <p>{@link LatencyInterceptor} starts a timer and makes it current for the calling thread; the
+ * interceptors further in, which run on the same thread, report to {@link #current()}. When the
+ * response is closed the timings are computed, recorded, and kept as the thread's last timings
+ * for {@link ExchangeTimings#withClientTiming}. Without a current timer, reporting is skipped,
+ * so beans that are not timed pay nothing.
+ *
+ * <p>Connection phases are reported only by a transport that exposes them, the {@code
+ * HTTP_COMPONENTS} transport; its hooks run on the calling thread inside {@code execute}.
+ */
+public final class ExchangeTimer {
+
+    private static final ThreadLocal<ExchangeTimer> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<ExchangeTimings> LAST = new ThreadLocal<>();
+
+    private final ExchangeTimer previous;
+    private final long startedAt;
+    private long transportStartedAt;
+    private long poolWaitNanos = -1;
+    private long dnsStartedAt;
+    private long dnsResolvedAt;
+    private long tlsStartedAt;
+    private long tlsCompletedAt;
+    private long connectionReadyAt;
+    private long requestWrittenAt;
+    private long headersAt;
+
+    private ExchangeTimer(ExchangeTimer previous, long startedAt) {
+        this.previous = previous;
+        this.startedAt = startedAt;
+    }
+
+    /** The timer of the exchange running on this thread, or {@code null}. */
+    public static ExchangeTimer current() {
+        return CURRENT.get();
+    }
+
+    /** Removes and returns the timings of the exchange that last completed on this thread. */
+    public static Optional<ExchangeTimings> takeLast() {
+        ExchangeTimings last = LAST.get();
+        LAST.remove();
+        return Optional.ofNullable(last);
+    }
+
+    /** Forgets timings left over from an earlier exchange on this thread. */
+    public static void clearLast() {
+        LAST.remove();
+    }
+
+    static ExchangeTimer start() {
+        ExchangeTimer timer = new ExchangeTimer(CURRENT.get(), System.nanoTime());
+        CURRENT.set(timer);
+        return timer;
+    }
+
+    /** Called as the request leaves the interceptors for the transport. */
+    public void transportStarted() {
+        transportStartedAt = System.nanoTime();
+    }
+
+    /** Called by a pooled transport once it holds a connection slot. */
+    public void connectionAcquired(long waitNanos) {
+        this.poolWaitNanos = waitNanos;
+    }
+
+    /** Called by the transport after resolving the host name of a new connection. */
+    public void dnsResolved(long startedAt) {
+        this.dnsStartedAt = startedAt;
+        this.dnsResolvedAt = System.nanoTime();
+    }
+
+    /** Called by the transport after the TLS handshake of a new connection. */
+    public void tlsHandshakeCompleted(long startedAt) {
+        this.tlsStartedAt = startedAt;
+        this.tlsCompletedAt = System.nanoTime();
+    }
+
+    /** Called by the transport once it holds a connected socket, new or reused. */
+    public void connectionReady() {
+        this.connectionReadyAt = System.nanoTime();
+    }
+
+    /** Called by the transport after writing the request; again after a request body. */
+    public void requestWritten() {
+        this.requestWrittenAt = System.nanoTime();
+    }
+
+    void headersReceived() {
+        headersAt = System.nanoTime();
+    }
+
+    /** Makes the timer that was current before this one current again. */
+    void detach() {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    ExchangeTimings finish() {
+        long closedAt = System.nanoTime();
+        long sentAt = transportStartedAt != 0 ? transportStartedAt : startedAt;
+        long transportNanos;
+        if (requestWrittenAt != 0) {
+            transportNanos = headersAt - requestWrittenAt;
+        } else {
+            transportNanos = headersAt - sentAt - Math.max(0, poolWaitNanos);
+        }
+        long connectedAt = tlsStartedAt != 0 ? tlsStartedAt : connectionReadyAt;
+        ExchangeTimings timings =
+                new ExchangeTimings(
+                        transportStartedAt != 0 ? Duration.ofNanos(sentAt - startedAt) : null,
+                        poolWaitNanos >= 0 ? Duration.ofNanos(poolWaitNanos) : null,
+                        between(dnsStartedAt, dnsResolvedAt),
+                        between(dnsResolvedAt, connectedAt),
+                        between(tlsStartedAt, tlsCompletedAt),
+                        between(connectionReadyAt, requestWrittenAt),
+                        Duration.ofNanos(Math.max(0, transportNanos)),
+                        Duration.ofNanos(closedAt - headersAt),
+                        Duration.ofNanos(closedAt - startedAt));
+        LAST.set(timings);
+        return timings;
+    }
+
+    /** {@code null} unless both ends of the phase were reported. */
+    private static Duration between(long from, long to) {
+        return from != 0 && to != 0 ? Duration.ofNanos(Math.max(0, to - from)) : null;
+    }
+}
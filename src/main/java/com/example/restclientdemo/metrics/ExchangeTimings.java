@@ -0,0 +1,100 @@
+package com.example.restclientdemo.metrics;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Where the time of one exchange went, as measured by {@link ExchangeTimer}.
+ *
+ * <p>The connection phases ({@code dnsLookup}, {@code connect}, {@code tlsHandshake}, {@code
+ * requestWrite}) are measured on the {@code HTTP_COMPONENTS} transport only, whose Apache
+ * HttpClient reports them as they happen; they are {@code null} on a reused connection. The JDK
+ * HttpClient and {@code HttpURLConnection} do all of this inside one call without callbacks, so
+ * on the other transports it is part of {@code timeToFirstByte}.
+ *
+ * @param admission time in the RestClient interceptors before the request reached the transport:
+ *     rate limit, bulkhead and concurrency limit waits; {@code null} if it never did (cache hit,
+ *     coalesced request)
+ * @param poolWait wait for a connection slot; {@code null} unless the transport is pooled
+ * @param dnsLookup host name resolution for a new connection
+ * @param connect TCP connect of a new connection, from the resolved address to an open socket
+ * @param tlsHandshake TLS handshake of a new https connection
+ * @param requestWrite from holding a connection until the request line, headers and body are
+ *     written
+ * @param timeToFirstByte from the written request until the response headers; where the request
+ *     write is not measured, from handing the request to the transport
+ * @param bodyRead from the response headers until the response was closed, which for RestClient
+ *     includes deserializing the body
+ */
+public record ExchangeTimings(
+        Duration admission,
+        Duration poolWait,
+        Duration dnsLookup,
+        Duration connect,
+        Duration tlsHandshake,
+        Duration requestWrite,
+        Duration timeToFirstByte,
+        Duration bodyRead,
+        Duration total) {
+
+    /** Response header carrying the phases, in the syntax of {@code Server-Timing}. */
+    public static final String CLIENT_TIMING = "Client-Timing";
+
+    /** Phases that were measured, by short name, in the order they happen. */
+    public Map<String, Duration> phases() {
+        Map<String, Duration> phases = new LinkedHashMap<>();
+        putIfMeasured(phases, "admission", admission);
+        putIfMeasured(phases, "pool", poolWait);
+        putIfMeasured(phases, "dns", dnsLookup);
+        putIfMeasured(phases, "connect", connect);
+        putIfMeasured(phases, "tls", tlsHandshake);
+        putIfMeasured(phases, "write", requestWrite);
+        phases.put("ttfb", timeToFirstByte);
+        phases.put("body", bodyRead);
+        phases.put("total", total);
+        return phases;
+    }
+
+    /**
+     * E.g. {@code admission;dur=0.2, pool;dur=0.0, dns;dur=3.1, connect;dur=21.4, tls;dur=44.9,
+     * write;dur=0.1, ttfb;dur=84.3, body;dur=0.7, total;dur=155.0}, durations in milliseconds.
+     */
+    public String toHeaderValue() {
+        StringBuilder value = new StringBuilder();
+        for (Map.Entry<String, Duration> phase : phases().entrySet()) {
+            if (!value.isEmpty()) {
+                value.append(", ");
+            }
+            value.append(phase.getKey())
+                    .append(";dur=")
+                    .append(String.format("%.1f", phase.getValue().toNanos() / 1e6));
+        }
+        return value.toString();
+    }
+
+    /**
+     * Returns {@code response} with a {@value #CLIENT_TIMING} header holding the timings of the
+     * exchange that last completed on this thread, or unchanged if none was timed.
+     */
+    public static <T> ResponseEntity<T> withClientTiming(ResponseEntity<T> response) {
+        Optional<ExchangeTimings> timings = ExchangeTimer.takeLast();
+        if (timings.isEmpty()) {
+            return response;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(response.getHeaders());
+        headers.set(CLIENT_TIMING, timings.get().toHeaderValue());
+        return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
+
+    private static void putIfMeasured(Map<String, Duration> phases, String name, Duration value) {
+        if (value != null) {
+            phases.put(name, value);
+        }
+    }
+}
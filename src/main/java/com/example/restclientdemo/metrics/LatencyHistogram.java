@@ -0,0 +1,102 @@
+package com.example.restclientdemo.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-linear histogram of durations, safe to record into from any number of threads.
+ *
+ * <p>Values are kept in microseconds. Each power of two is split into eight buckets, so a
+ * percentile is reported within 12.5% of the recorded value, and never above the recorded
+ * maximum. Every bucket is a {@link LongAdder},
+ * so recording never takes a lock and threads on different cores rarely touch the same cache
+ * line. Values above about 71 minutes land in the last bucket.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 31;
+    private static final long MAX_MICROS = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[indexOf(Math.min(TimeUnit.NANOSECONDS.toMicros(value), MAX_MICROS))].increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    public void record(Duration duration) {
+        record(duration.toNanos());
+    }
+
+    /**
+     * Count, mean and percentiles at this moment. Recording may continue meanwhile, so the
+     * figures can be off by the values recorded while the snapshot is taken.
+     */
+    public LatencySnapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts[i].sum();
+            count += copy[i];
+        }
+        if (count == 0) {
+            return LatencySnapshot.EMPTY;
+        }
+        long max = maxNanos.get();
+        return new LatencySnapshot(
+                count,
+                Duration.ofNanos(totalNanos.sum() / count),
+                valueAt(copy, count, 0.50, max),
+                valueAt(copy, count, 0.90, max),
+                valueAt(copy, count, 0.99, max),
+                Duration.ofNanos(max));
+    }
+
+    static int indexOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+        int subBucket = (int) (micros >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /** Largest value in microseconds that maps to the bucket. */
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowerBound = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    /** Upper bound of the bucket holding the quantile, capped at the largest recorded value. */
+    private static Duration valueAt(long[] counts, long total, double quantile, long maxNanos) {
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long upperBound = TimeUnit.MICROSECONDS.toNanos(upperBoundOf(i));
+                return Duration.ofNanos(Math.min(upperBound, maxNanos));
+            }
+        }
+        return Duration.ofNanos(maxNanos);
+    }
+}
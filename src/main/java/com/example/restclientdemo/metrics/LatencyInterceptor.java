@@ -0,0 +1,62 @@
+package com.example.restclientdemo.metrics;
+
+import java.io.IOException;
+
+import com.example.restclientdemo.http.ObservedClientHttpResponse;
+import com.example.restclientdemo.http.UriTemplates;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Times the calls of one RestClient bean from sending the request until the response is closed,
+ * so reading the body counts, and records them in the {@link LatencyRegistry} under their {@link
+ * UriTemplates URI template}. Each call also gets an {@link ExchangeTimer}, which the inner
+ * interceptors fill in with its phases.
+ */
+public class LatencyInterceptor implements ClientHttpRequestInterceptor {
+
+    private final String clientName;
+    private final LatencyRegistry registry;
+
+    LatencyInterceptor(String clientName, LatencyRegistry registry) {
+        this.clientName = clientName;
+        this.registry = registry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(
+            HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String method = request.getMethod().name();
+        String template = UriTemplates.of(request);
+        long start = System.nanoTime();
+        ExchangeTimer timer = ExchangeTimer.start();
+        ClientHttpResponse response;
+        String statusClass;
+        try {
+            response = execution.execute(request, body);
+            timer.headersReceived();
+            statusClass = LatencyKey.statusClassOf(response.getStatusCode().value());
+        } catch (IOException | RuntimeException e) {
+            registry.record(
+                    clientName,
+                    method,
+                    template,
+                    LatencyKey.statusClassOf(e),
+                    System.nanoTime() - start);
+            throw e;
+        } finally {
+            timer.detach();
+        }
+        return new ObservedClientHttpResponse(
+                response,
+                () -> {
+                    registry.record(
+                            clientName, method, template, statusClass, System.nanoTime() - start);
+                    registry.recordPhases(clientName, timer.finish());
+                });
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.restclientdemo.metrics;
+
+import java.io.IOException;
+import java.util.Comparator;
+
+import com.example.restclientdemo.exception.BulkheadFullException;
+import com.example.restclientdemo.exception.ConcurrencyLimitExceededException;
+import com.example.restclientdemo.exception.RateLimitExceededException;
+import com.example.restclientdemo.exception.ServiceUnavailableException;
+
+/**
+ * What a latency histogram is kept for. The URI template, not the expanded URI, keeps the number
+ * of histograms bounded: {@code /users/1} and {@code /users/2} both count as {@code
+ * /users/{id}}.
+ *
+ * @param statusClass {@code 2xx} to {@code 5xx} for a response; without one, {@code REJECTED} when
+ *     an interceptor turned the call away, {@code IO_ERROR} for transport failures and {@code
+ *     ERROR} for anything else
+ */
+public record LatencyKey(String clientName, String method, String uriTemplate, String statusClass)
+        implements Comparable<LatencyKey> {
+
+    private static final Comparator<LatencyKey> ORDER =
+            Comparator.comparing(LatencyKey::clientName)
+                    .thenComparing(LatencyKey::uriTemplate)
+                    .thenComparing(LatencyKey::method)
+                    .thenComparing(LatencyKey::statusClass);
+
+    public static String statusClassOf(int status) {
+        return status / 100 + "xx";
+    }
+
+    /** Status class of a call that failed without a response. */
+    public static String statusClassOf(Exception failure) {
+        if (failure instanceof IOException) {
+            return "IO_ERROR";
+        }
+        if (failure instanceof ServiceUnavailableException
+                || failure instanceof RateLimitExceededException
+                || failure instanceof BulkheadFullException
+                || failure instanceof ConcurrencyLimitExceededException) {
+            return "REJECTED";
+        }
+        return "ERROR";
+    }
+
+    @Override
+    public int compareTo(LatencyKey other) {
+        return ORDER.compare(this, other);
+    }
+
+    @Override
+    public String toString() {
+        return clientName + " " + method + " " + uriTemplate + " " + statusClass;
+    }
+}
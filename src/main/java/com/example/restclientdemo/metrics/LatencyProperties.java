@@ -0,0 +1,62 @@
+package com.example.restclientdemo.metrics;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.restclientdemo.http.ClientNames;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Opt-in latency histograms, bound from {@code app.http.metrics.*}.
+ *
+ * <pre>
+ * app.http.metrics.clients=defaultRestClient,jsonPlaceholderRestClient
+ * app.http.metrics.max-keys=1000
+ * app.http.metrics.dump-file=target/http-latency.csv
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.http.metrics")
+public class LatencyProperties {
+
+    /** RestClient bean names whose calls are timed. */
+    private List<String> clients = new ArrayList<>();
+
+    /**
+     * Upper bound on distinct histograms. Once reached, calls to new URI templates are counted
+     * under {@code {other}}.
+     */
+    private int maxKeys = 1000;
+
+    /** File the histograms are written to on shutdown; unset writes nothing. */
+    private Path dumpFile;
+
+    public List<String> getClients() {
+        return clients;
+    }
+
+    public void setClients(List<String> clients) {
+        this.clients = clients;
+    }
+
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    public Path getDumpFile() {
+        return dumpFile;
+    }
+
+    public void setDumpFile(Path dumpFile) {
+        this.dumpFile = dumpFile;
+    }
+
+    public boolean isEnabledFor(String clientName) {
+        return ClientNames.contains(clients, clientName);
+    }
+}
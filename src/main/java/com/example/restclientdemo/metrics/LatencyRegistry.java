@@ -0,0 +1,164 @@
+package com.example.restclientdemo.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.springframework.web.client.RestClient;
+
+/**
+ * Latency histograms of the calls of opted-in RestClient beans, keyed by {@link LatencyKey}.
+ *
+ * <p>Each histogram counts into {@link java.util.concurrent.atomic.LongAdder} buckets, so threads
+ * recording the same endpoint at the same time do not contend on one counter. {@link #snapshot()}
+ * reads them in process; {@link #dump(Path)} writes them as CSV, and happens on shutdown when
+ * {@code app.http.metrics.dump-file} is set.
+ */
+public class LatencyRegistry implements AutoCloseable {
+
+    static final String OTHER_TEMPLATE = "{other}";
+
+    private static final List<String> PHASES =
+            List.of(
+                    "admission", "pool", "dns", "connect", "tls", "write", "ttfb", "body", "total");
+
+    private static final String CSV_HEADER =
+            "client,method,uri_template,status,count,mean_ms,p50_ms,p90_ms,p99_ms,max_ms";
+
+    private final LatencyProperties properties;
+    private final Map<LatencyKey, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, LatencyHistogram>> phaseHistograms =
+            new ConcurrentHashMap<>();
+
+    public LatencyRegistry(LatencyProperties properties) {
+        this.properties = properties;
+    }
+
+    public Consumer<RestClient.Builder> forClient(String clientName) {
+        if (!properties.isEnabledFor(clientName)) {
+            return builder -> {};
+        }
+        LatencyInterceptor interceptor = new LatencyInterceptor(clientName, this);
+        return builder -> builder.requestInterceptor(interceptor);
+    }
+
+    /**
+     * Marks the end of the admission phase. Applied after every other interceptor of the bean and
+     * before the transport, whose connection pool reports its own wait.
+     */
+    public Consumer<RestClient.Builder> forTransport(String clientName) {
+        if (!properties.isEnabledFor(clientName)) {
+            return builder -> {};
+        }
+        TransportTimingInterceptor interceptor = new TransportTimingInterceptor();
+        return builder -> builder.requestInterceptor(interceptor);
+    }
+
+    /** Current histograms, ordered by bean, URI template, method and status class. */
+    public Map<LatencyKey, LatencySnapshot> snapshot() {
+        Map<LatencyKey, LatencySnapshot> snapshot = new TreeMap<>();
+        histograms.forEach((key, histogram) -> snapshot.put(key, histogram.snapshot()));
+        return snapshot;
+    }
+
+    /**
+     * Current phase histograms per RestClient bean, phases in the order of {@link
+     * ExchangeTimings#phases()}.
+     */
+    public Map<String, Map<String, LatencySnapshot>> phaseSnapshot() {
+        Map<String, Map<String, LatencySnapshot>> snapshot = new TreeMap<>();
+        phaseHistograms.forEach(
+                (clientName, phases) -> {
+                    Map<String, LatencySnapshot> byPhase = new LinkedHashMap<>();
+                    for (String phase : PHASES) {
+                        LatencyHistogram histogram = phases.get(phase);
+                        if (histogram != null) {
+                            byPhase.put(phase, histogram.snapshot());
+                        }
+                    }
+                    snapshot.put(clientName, byPhase);
+                });
+        return snapshot;
+    }
+
+    /** Writes the current histograms to {@code file} as CSV, replacing its contents. */
+    public void dump(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write(CSV_HEADER);
+            writer.newLine();
+            for (Map.Entry<LatencyKey, LatencySnapshot> entry : snapshot().entrySet()) {
+                LatencyKey key = entry.getKey();
+                LatencySnapshot value = entry.getValue();
+                writer.write(
+                        String.format(
+                                "%s,%s,\"%s\",%s,%d,%.3f,%.3f,%.3f,%.3f,%.3f",
+                                key.clientName(),
+                                key.method(),
+                                key.uriTemplate().replace("\"", "\"\""),
+                                key.statusClass(),
+                                value.count(),
+                                millis(value.mean().toNanos()),
+                                millis(value.p50().toNanos()),
+                                millis(value.p90().toNanos()),
+                                millis(value.p99().toNanos()),
+                                millis(value.max().toNanos())));
+                writer.newLine();
+            }
+        }
+    }
+
+    /** Dumps the histograms to the configured file, if any. */
+    @Override
+    public void close() {
+        if (properties.getDumpFile() != null) {
+            try {
+                dump(properties.getDumpFile());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    void record(
+            String clientName,
+            String method,
+            String uriTemplate,
+            String statusClass,
+            long nanos) {
+        LatencyKey key = new LatencyKey(clientName, method, uriTemplate, statusClass);
+        LatencyHistogram histogram = histograms.get(key);
+        if (histogram == null) {
+            if (histograms.size() >= properties.getMaxKeys()) {
+                key = new LatencyKey(clientName, method, OTHER_TEMPLATE, statusClass);
+            }
+            histogram = histograms.computeIfAbsent(key, k -> new LatencyHistogram());
+        }
+        histogram.record(nanos);
+    }
+
+    void recordPhases(String clientName, ExchangeTimings timings) {
+        Map<String, LatencyHistogram> phases =
+                phaseHistograms.computeIfAbsent(clientName, name -> new ConcurrentHashMap<>());
+        timings.phases()
+                .forEach(
+                        (phase, duration) ->
+                                phases.computeIfAbsent(phase, name -> new LatencyHistogram())
+                                        .record(duration));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
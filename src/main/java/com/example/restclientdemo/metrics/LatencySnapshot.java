@@ -0,0 +1,26 @@
+package com.example.restclientdemo.metrics;
+
+import java.time.Duration;
+
+/**
+ * Point-in-time view of a {@link LatencyHistogram}. Percentiles are bucket upper bounds; mean and
+ * max are exact.
+ */
+public record LatencySnapshot(
+        long count, Duration mean, Duration p50, Duration p90, Duration p99, Duration max) {
+
+    public static final LatencySnapshot EMPTY =
+            new LatencySnapshot(
+                    0, Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+
+    @Override
+    public String toString() {
+        return String.format(
+                "count=%d mean=%.1fms p50=%.1fms p90=%.1fms p99=%.1fms max=%.1fms",
+                count, millis(mean), millis(p50), millis(p90), millis(p99), millis(max));
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+}
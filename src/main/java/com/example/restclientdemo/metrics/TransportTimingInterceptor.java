@@ -0,0 +1,26 @@
+package com.example.restclientdemo.metrics;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Innermost marker of a timed bean: notes when the request has passed every other interceptor,
+ * which ends the admission phase of the current {@link ExchangeTimer}.
+ */
+class TransportTimingInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(
+            HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        ExchangeTimer timer = ExchangeTimer.current();
+        if (timer != null) {
+            timer.transportStarted();
+        }
+        return execution.execute(request, body);
+    }
+}
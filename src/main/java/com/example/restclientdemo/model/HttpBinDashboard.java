@@ -0,0 +1,22 @@
+package com.example.restclientdemo.model;
+
+import java.util.List;
+import java.util.Map;
+
+import com.example.restclientdemo.batch.ScatterGather;
+
+/**
+ * Composite of the HttpBin calls a dashboard shows together. Fields of legs that failed or missed
+ * the deadline are {@code null}; {@link #legs()} says which, and how long each call took.
+ */
+public record HttpBinDashboard(
+        Map<String, String> headers,
+        String ipAddress,
+        String userAgent,
+        HttpBinResponse get,
+        List<ScatterGather.LegTiming> legs) {
+
+    public boolean isComplete() {
+        return legs.stream().allMatch(leg -> leg.state() == ScatterGather.LegState.SUCCEEDED);
+    }
+}
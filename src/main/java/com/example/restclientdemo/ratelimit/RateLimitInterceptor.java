@@ -0,0 +1,29 @@
+package com.example.restclientdemo.ratelimit;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+import com.example.restclientdemo.http.Origin;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/** Takes a permit from the rate limiter of the request's scheme/host/port before sending it. */
+public class RateLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private final Function<Origin, RateLimiter> limiters;
+
+    public RateLimitInterceptor(Function<Origin, RateLimiter> limiters) {
+        this.limiters = limiters;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(
+            HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        limiters.apply(Origin.of(request.getURI())).acquire();
+        return execution.execute(request, body);
+    }
+}
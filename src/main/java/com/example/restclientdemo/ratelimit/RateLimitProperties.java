@@ -0,0 +1,146 @@
+package com.example.restclientdemo.ratelimit;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.example.restclientdemo.http.ClientNames;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Client-side rate limits, bound from {@code app.http.rate-limit.*}.
+ *
+ * <p>A RestClient bean with an entry under {@code clients.<bean>} is limited per upstream host. An
+ * HTTP Interface method with an entry under {@code methods[<Interface>.<method>]} is limited on
+ * its own, on top of its bean's limit. The top-level values are defaults for settings an entry
+ * leaves out, e.g.
+ *
+ * <pre>
+ * app.http.rate-limit.permits-per-second=10
+ * app.http.rate-limit.burst=10
+ * app.http.rate-limit.max-wait=0s
+ * app.http.rate-limit.clients.defaultRestClient.permits-per-second=50
+ * app.http.rate-limit.methods[HttpBinClient.post].permits-per-second=2
+ * app.http.rate-limit.methods[HttpBinClient.post].max-wait=1s
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.http.rate-limit")
+public class RateLimitProperties {
+
+    /** Default sustained rate. */
+    private double permitsPerSecond = 10;
+
+    /** Default number of requests that may be sent back to back after an idle period. */
+    private int burst = 10;
+
+    /** Default time a request may be held back for a permit; zero fails fast. */
+    private Duration maxWait = Duration.ZERO;
+
+    private Map<String, Limit> clients = new LinkedHashMap<>();
+
+    private Map<String, Limit> methods = new LinkedHashMap<>();
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public void setPermitsPerSecond(double permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public Map<String, Limit> getClients() {
+        return clients;
+    }
+
+    public void setClients(Map<String, Limit> clients) {
+        this.clients = clients;
+    }
+
+    public Map<String, Limit> getMethods() {
+        return methods;
+    }
+
+    public void setMethods(Map<String, Limit> methods) {
+        this.methods = methods;
+    }
+
+    /** Resolves the rate limit of a RestClient bean, or {@code null} if it has none. */
+    public Settings settingsFor(String clientName) {
+        return clients.entrySet().stream()
+                .filter(entry -> ClientNames.matches(entry.getKey(), clientName))
+                .map(entry -> settingsOf(entry.getValue()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /** Resolves the rate limit of an HTTP Interface method, or {@code null} if it has none. */
+    public Settings settingsFor(Class<?> type, Method method) {
+        String key = type.getSimpleName() + "." + method.getName();
+        return methods.entrySet().stream()
+                .filter(entry -> entry.getKey().equalsIgnoreCase(key))
+                .map(entry -> settingsOf(entry.getValue()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private Settings settingsOf(Limit limit) {
+        return new Settings(
+                limit.getPermitsPerSecond() != null
+                        ? limit.getPermitsPerSecond()
+                        : permitsPerSecond,
+                limit.getBurst() != null ? limit.getBurst() : burst,
+                limit.getMaxWait() != null ? limit.getMaxWait() : maxWait);
+    }
+
+    /** Per-bean or per-method overrides; {@code null} means "use the default". */
+    public static class Limit {
+        private Double permitsPerSecond;
+        private Integer burst;
+        private Duration maxWait;
+
+        public Double getPermitsPerSecond() {
+            return permitsPerSecond;
+        }
+
+        public void setPermitsPerSecond(Double permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+        }
+
+        public Integer getBurst() {
+            return burst;
+        }
+
+        public void setBurst(Integer burst) {
+            this.burst = burst;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+
+    /** Effective settings of one rate limiter. */
+    public record Settings(double permitsPerSecond, int burst, Duration maxWait) {}
+}
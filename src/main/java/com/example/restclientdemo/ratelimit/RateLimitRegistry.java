@@ -0,0 +1,110 @@
+package com.example.restclientdemo.ratelimit;
+
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import com.example.restclientdemo.http.Proxies;
+
+import org.springframework.web.client.RestClient;
+
+/**
+ * Creates the rate limiters of configured RestClient beans and HTTP Interface methods and exposes
+ * their counters.
+ *
+ * <p>Bean limiters are named {@code <bean> <origin>}, one per upstream host; method limiters are
+ * named {@code <Interface>.<method>}.
+ */
+public class RateLimitRegistry {
+
+    private final RateLimitProperties properties;
+    private final Map<String, RateLimiter> limiters = new ConcurrentHashMap<>();
+
+    public RateLimitRegistry(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    public Consumer<RestClient.Builder> forClient(String clientName) {
+        RateLimitProperties.Settings settings = properties.settingsFor(clientName);
+        if (settings == null) {
+            return builder -> {};
+        }
+        RateLimitInterceptor interceptor =
+                new RateLimitInterceptor(
+                        origin -> limiterFor(clientName + " " + origin, settings));
+        return builder -> builder.requestInterceptor(interceptor);
+    }
+
+    /**
+     * Wraps an HTTP Interface client so its configured methods take a permit before each call.
+     * Returns {@code target} itself when none of the interface's methods is configured.
+     */
+    public <T> T wrap(Class<T> type, T target) {
+        return wrap(type, type, target);
+    }
+
+    /**
+     * Like {@link #wrap(Class, Object)}, but with the method limits configured for {@code
+     * limitsOf}, matched by method name, so an async variant of an interface draws on the same
+     * permits as the blocking one. The permit is taken on the calling thread before the future is
+     * returned; a rejected call returns a failed future.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T wrap(Class<T> type, Class<?> limitsOf, T target) {
+        Map<Method, RateLimiter> methodLimiters = new HashMap<>();
+        for (Method method : type.getMethods()) {
+            RateLimitProperties.Settings settings = properties.settingsFor(limitsOf, method);
+            if (settings != null) {
+                String name = limitsOf.getSimpleName() + "." + method.getName();
+                methodLimiters.put(method, limiterFor(name, settings));
+            }
+        }
+        if (methodLimiters.isEmpty()) {
+            return target;
+        }
+        InvocationHandler handler =
+                (proxy, method, args) -> {
+                    RateLimiter limiter = methodLimiters.get(method);
+                    if (limiter != null) {
+                        try {
+                            acquire(limiter);
+                        } catch (RuntimeException e) {
+                            if (method.getReturnType() == CompletableFuture.class) {
+                                return CompletableFuture.failedFuture(e);
+                            }
+                            throw e;
+                        }
+                    }
+                    return Proxies.invoke(target, method, args);
+                };
+        return (T)
+                Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    /** Counters per limiter name. */
+    public Map<String, RateLimitStats> stats() {
+        Map<String, RateLimitStats> stats = new TreeMap<>();
+        limiters.forEach((name, limiter) -> stats.put(name, limiter.stats()));
+        return stats;
+    }
+
+    private RateLimiter limiterFor(String name, RateLimitProperties.Settings settings) {
+        return limiters.computeIfAbsent(name, key -> new RateLimiter(key, settings));
+    }
+
+    private static void acquire(RateLimiter limiter) {
+        try {
+            limiter.acquire();
+        } catch (InterruptedIOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
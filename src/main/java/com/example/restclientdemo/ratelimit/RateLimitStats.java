@@ -0,0 +1,27 @@
+package com.example.restclientdemo.ratelimit;
+
+import com.example.restclientdemo.metrics.LatencySnapshot;
+
+/**
+ * Point-in-time view of a {@link RateLimiter}.
+ *
+ * @param acquired requests let through, with or without waiting
+ * @param throttled requests held back before they were let through
+ * @param rejected requests refused because the wait would have exceeded {@code maxWait}
+ * @param waitTime time requests were held back, including those that did not wait
+ */
+public record RateLimitStats(
+        double permitsPerSecond,
+        int burst,
+        long acquired,
+        long throttled,
+        long rejected,
+        LatencySnapshot waitTime) {
+
+    @Override
+    public String toString() {
+        return String.format(
+                "rate=%.1f/s burst=%d acquired=%d throttled=%d rejected=%d wait[%s]",
+                permitsPerSecond, burst, acquired, throttled, rejected, waitTime);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.restclientdemo.ratelimit;
+
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import com.example.restclientdemo.exception.RateLimitExceededException;
+import com.example.restclientdemo.metrics.LatencyHistogram;
+
+/**
+ * Lock-free token bucket, implemented as the generic cell rate algorithm.
+ *
+ * <p>Instead of a token count refilled on a timer, the limiter keeps one value: the theoretical
+ * arrival time of the next request at the sustained rate. A request may go ahead as long as that
+ * time is less than {@code burst} intervals in the future. Taking a permit pushes the time one
+ * interval further with a single compare-and-set, so callers never block each other.
+ *
+ * <p>A request that would have to wait longer than {@code maxWait} is rejected with {@link
+ * RateLimitExceededException} without using up a permit; otherwise it keeps its slot and sleeps
+ * until the slot is due. The time each caller waited goes into a histogram.
+ */
+public class RateLimiter {
+
+    private final String name;
+    private final RateLimitProperties.Settings settings;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final long maxWaitNanos;
+    private final LongSupplier ticker;
+    private final AtomicLong theoreticalArrival;
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LatencyHistogram waitTimes = new LatencyHistogram();
+
+    public RateLimiter(String name, RateLimitProperties.Settings settings) {
+        this(name, settings, System::nanoTime);
+    }
+
+    RateLimiter(String name, RateLimitProperties.Settings settings, LongSupplier ticker) {
+        if (settings.permitsPerSecond() <= 0 || settings.burst() < 1) {
+            throw new IllegalArgumentException(
+                    "Rate limit of " + name + " needs a positive rate and a burst of at least 1");
+        }
+        this.name = name;
+        this.settings = settings;
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / settings.permitsPerSecond()));
+        this.toleranceNanos = intervalNanos * (settings.burst() - 1);
+        this.maxWaitNanos = settings.maxWait().toNanos();
+        this.ticker = ticker;
+        this.theoreticalArrival = new AtomicLong(ticker.getAsLong());
+    }
+
+    /**
+     * Takes a permit, sleeping until it is due if that is within {@code maxWait}.
+     *
+     * @return nanoseconds the caller was held back
+     * @throws RateLimitExceededException if the permit is due later than {@code maxWait}
+     */
+    public long acquire() throws InterruptedIOException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(
+                        "Interrupted waiting for the rate limit of " + name);
+            }
+        }
+        return waitNanos;
+    }
+
+    /** Claims the next slot and returns how long the caller must wait before using it. */
+    long reserve() {
+        while (true) {
+            long now = ticker.getAsLong();
+            long arrival = theoreticalArrival.get();
+            long start = arrival - now > 0 ? arrival : now;
+            long waitNanos = Math.max(0, start - toleranceNanos - now);
+            if (waitNanos > maxWaitNanos) {
+                rejected.increment();
+                throw new RateLimitExceededException(name, Duration.ofNanos(waitNanos));
+            }
+            if (theoreticalArrival.compareAndSet(arrival, start + intervalNanos)) {
+                acquired.increment();
+                if (waitNanos > 0) {
+                    throttled.increment();
+                }
+                waitTimes.record(waitNanos);
+                return waitNanos;
+            }
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public RateLimitStats stats() {
+        return new RateLimitStats(
+                settings.permitsPerSecond(),
+                settings.burst(),
+                acquired.sum(),
+                throttled.sum(),
+                rejected.sum(),
+                waitTimes.snapshot());
+    }
+}
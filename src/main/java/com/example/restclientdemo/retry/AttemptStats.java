@@ -0,0 +1,15 @@
+package com.example.restclientdemo.retry;
+
+import java.time.Duration;
+
+/** Latency and outcome of the n-th attempt of a retried operation. */
+public record AttemptStats(
+        int attempt, long calls, long failures, Duration meanLatency, Duration maxLatency) {
+
+    @Override
+    public String toString() {
+        return String.format(
+                "attempt %d: calls=%d failures=%d mean=%dms max=%dms",
+                attempt, calls, failures, meanLatency.toMillis(), maxLatency.toMillis());
+    }
+}
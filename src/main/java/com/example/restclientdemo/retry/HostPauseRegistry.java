@@ -0,0 +1,91 @@
+package com.example.restclientdemo.retry;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import com.example.restclientdemo.exception.HostPausedException;
+import com.example.restclientdemo.http.Origin;
+
+import org.springframework.web.client.RestClient;
+
+/**
+ * Hosts that answered 429 or 503 with a {@code Retry-After}, shared by every RestClient bean.
+ *
+ * <p>Until the announced time has passed, requests to such a host fail at once with {@link
+ * HostPausedException} instead of adding to its load; {@link RetryExecutor} schedules the retry
+ * for the moment the pause ends. Pauses are capped at {@code maxPause} so a bogus header cannot
+ * lock a host out for days.
+ */
+public class HostPauseRegistry {
+
+    private final Duration maxPause;
+    private final LongSupplier ticker;
+    private final Map<Origin, Long> pausedUntil = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+
+    public HostPauseRegistry(Duration maxPause) {
+        this(maxPause, System::nanoTime);
+    }
+
+    HostPauseRegistry(Duration maxPause, LongSupplier ticker) {
+        this.maxPause = maxPause;
+        this.ticker = ticker;
+    }
+
+    /**
+     * Every bean gets the gate, since a pause applies to the host whichever bean is calling. The
+     * interceptor keeps no state of its own; pauses live in this registry.
+     */
+    public Consumer<RestClient.Builder> forClient(String clientName) {
+        RetryAfterInterceptor interceptor = new RetryAfterInterceptor(this);
+        return builder -> builder.requestInterceptor(interceptor);
+    }
+
+    /**
+     * @throws HostPausedException if the host asked to be left alone for a while longer
+     */
+    public void checkNotPaused(Origin origin) {
+        Long until = pausedUntil.get(origin);
+        if (until == null) {
+            return;
+        }
+        long remaining = until - ticker.getAsLong();
+        if (remaining <= 0) {
+            pausedUntil.remove(origin, until);
+            return;
+        }
+        rejected.increment();
+        throw new HostPausedException(origin, Duration.ofNanos(remaining));
+    }
+
+    /** Pauses a host; a later pause extends an earlier one, a shorter one does not cut it. */
+    public void pause(Origin origin, Duration retryAfter) {
+        Duration pause = retryAfter.compareTo(maxPause) > 0 ? maxPause : retryAfter;
+        long until = ticker.getAsLong() + pause.toNanos();
+        pausedUntil.merge(origin, until, Math::max);
+    }
+
+    /** Remaining pause per host that is currently paused. */
+    public Map<Origin, Duration> pausedHosts() {
+        long now = ticker.getAsLong();
+        Map<Origin, Duration> paused = new TreeMap<>(Comparator.comparing(Origin::toString));
+        pausedUntil.forEach(
+                (origin, until) -> {
+                    if (until > now) {
+                        paused.put(origin, Duration.ofNanos(until - now));
+                    }
+                });
+        return paused;
+    }
+
+    /** Requests rejected because their host was paused. */
+    public long rejectedRequests() {
+        return rejected.sum();
+    }
+}
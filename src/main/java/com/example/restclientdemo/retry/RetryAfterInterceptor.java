@@ -0,0 +1,40 @@
+package com.example.restclientdemo.retry;
+
+import java.io.IOException;
+
+import com.example.restclientdemo.http.Origin;
+import com.example.restclientdemo.http.RetryAfter;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Rejects requests to paused hosts and pauses a host when it answers 429 or 503 with a {@code
+ * Retry-After}. See {@link HostPauseRegistry}.
+ */
+public class RetryAfterInterceptor implements ClientHttpRequestInterceptor {
+
+    private final HostPauseRegistry registry;
+
+    public RetryAfterInterceptor(HostPauseRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(
+            HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Origin origin = Origin.of(request.getURI());
+        registry.checkNotPaused(origin);
+        ClientHttpResponse response = execution.execute(request, body);
+        HttpStatusCode status = response.getStatusCode();
+        if (RetryAfter.appliesTo(status)) {
+            RetryAfter.from(response.getHeaders())
+                    .ifPresent(retryAfter -> registry.pause(origin, retryAfter));
+        }
+        return response;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.restclientdemo.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket that caps the retries of one RestClient bean as a share of its successful traffic.
+ *
+ * <p>Every successful request deposits {@code retryPercent / 100} of a token, up to {@code
+ * maxTokens}, and every retry withdraws a whole token. A separate reserve refills at {@code
+ * minRetriesPerSecond} so a client with little traffic can still retry. When both are empty, the
+ * retry is denied, which stops retry storms while the upstream is failing: failures deposit
+ * nothing, so the budget drains instead of multiplying the load.
+ *
+ * <p>Deposits are on every request's path and are lock-free; the reserve is only touched when the
+ * bucket is empty.
+ */
+public class RetryBudget {
+
+    private static final long SCALE = 1000;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final RetryBudget UNLIMITED = new RetryBudget("unlimited", null, () -> 0);
+
+    private final String clientName;
+    private final long depositMillis;
+    private final long maxMillis;
+    private final int minRetriesPerSecond;
+    private final LongSupplier ticker;
+    private final AtomicLong balanceMillis = new AtomicLong();
+
+    private final LongAdder deposits = new LongAdder();
+    private final LongAdder retriesAllowed = new LongAdder();
+    private final LongAdder retriesDenied = new LongAdder();
+
+    private double reserve;
+    private long reserveRefilledAt;
+
+    public RetryBudget(String clientName, RetryBudgetProperties.Settings settings) {
+        this(clientName, settings, System::nanoTime);
+    }
+
+    RetryBudget(String clientName, RetryBudgetProperties.Settings settings, LongSupplier ticker) {
+        this.clientName = clientName;
+        this.ticker = ticker;
+        if (settings == null) {
+            this.depositMillis = 0;
+            this.maxMillis = Long.MAX_VALUE;
+            this.minRetriesPerSecond = 0;
+            this.balanceMillis.set(Long.MAX_VALUE);
+        } else {
+            this.depositMillis = Math.round(settings.retryPercent() * SCALE / 100);
+            this.maxMillis = settings.maxTokens() * SCALE;
+            this.minRetriesPerSecond = settings.minRetriesPerSecond();
+            this.reserve = minRetriesPerSecond;
+            this.reserveRefilledAt = ticker.getAsLong();
+        }
+    }
+
+    /** A budget that never denies a retry, for clients without one. */
+    public static RetryBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    public String clientName() {
+        return clientName;
+    }
+
+    /** Credits a successful request. */
+    public void deposit() {
+        if (this == UNLIMITED) {
+            return;
+        }
+        deposits.increment();
+        balanceMillis.accumulateAndGet(
+                depositMillis, (balance, deposit) -> Math.min(maxMillis, balance + deposit));
+    }
+
+    /**
+     * Takes a token for one retry.
+     *
+     * @return {@code false} if the budget is exhausted and the retry must not be made
+     */
+    public boolean tryWithdraw() {
+        if (this == UNLIMITED) {
+            return true;
+        }
+        long balance;
+        do {
+            balance = balanceMillis.get();
+            if (balance < SCALE) {
+                return withdrawFromReserve();
+            }
+        } while (!balanceMillis.compareAndSet(balance, balance - SCALE));
+        retriesAllowed.increment();
+        return true;
+    }
+
+    public RetryBudgetStats stats() {
+        double balance = this == UNLIMITED ? Double.POSITIVE_INFINITY : balanceMillis.get();
+        return new RetryBudgetStats(
+                balance / SCALE, deposits.sum(), retriesAllowed.sum(), retriesDenied.sum());
+    }
+
+    private synchronized boolean withdrawFromReserve() {
+        long now = ticker.getAsLong();
+        double refill = (double) (now - reserveRefilledAt) * minRetriesPerSecond / NANOS_PER_SECOND;
+        reserve = Math.min(minRetriesPerSecond, reserve + refill);
+        reserveRefilledAt = now;
+        if (reserve >= 1) {
+            reserve--;
+            retriesAllowed.increment();
+            return true;
+        }
+        retriesDenied.increment();
+        return false;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.restclientdemo.retry;
+
+import java.io.IOException;
+
+import com.example.restclientdemo.handler.CustomResponseErrorHandler;
+import com.example.restclientdemo.http.RetryAfter;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Deposits into the bean's {@link RetryBudget} for every response that is neither a server error
+ * nor a {@code 429 Too Many Requests}, so the budget follows the bean's healthy traffic whichever
+ * code path sent the request, and a throttling upstream does not fund more retries.
+ */
+public class RetryBudgetInterceptor implements ClientHttpRequestInterceptor {
+
+    private final RetryBudget budget;
+
+    public RetryBudgetInterceptor(RetryBudget budget) {
+        this.budget = budget;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(
+            HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        ClientHttpResponse response = execution.execute(request, body);
+        if (isHealthy(response.getStatusCode())) {
+            budget.deposit();
+        }
+        return response;
+    }
+
+    private static boolean isHealthy(HttpStatusCode status) {
+        return !CustomResponseErrorHandler.isServerError(status) && !RetryAfter.appliesTo(status);
+    }
+}
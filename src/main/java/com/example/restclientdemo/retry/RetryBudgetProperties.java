@@ -0,0 +1,122 @@
+package com.example.restclientdemo.retry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.example.restclientdemo.http.ClientNames;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-bean retry budgets, bound from {@code app.http.retry-budget.*}.
+ *
+ * <p>Only beans with an entry under {@code app.http.retry-budget.clients.<bean>} have a budget;
+ * retries on other beans are not limited. The top-level values are defaults for settings the
+ * entry leaves out, e.g.
+ *
+ * <pre>
+ * app.http.retry-budget.retry-percent=10
+ * app.http.retry-budget.clients.errorHandlingRestClient.min-retries-per-second=1
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.http.retry-budget")
+public class RetryBudgetProperties {
+
+    /** Retries allowed as a percentage of successful requests. */
+    private double retryPercent = 10;
+
+    /** Retries allowed regardless of traffic, so a quiet client can still retry. */
+    private int minRetriesPerSecond = 1;
+
+    /** Most retries that can be saved up during a healthy period. */
+    private int maxTokens = 100;
+
+    private Map<String, Client> clients = new LinkedHashMap<>();
+
+    public double getRetryPercent() {
+        return retryPercent;
+    }
+
+    public void setRetryPercent(double retryPercent) {
+        this.retryPercent = retryPercent;
+    }
+
+    public int getMinRetriesPerSecond() {
+        return minRetriesPerSecond;
+    }
+
+    public void setMinRetriesPerSecond(int minRetriesPerSecond) {
+        this.minRetriesPerSecond = minRetriesPerSecond;
+    }
+
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    public void setMaxTokens(int maxTokens) {
+        this.maxTokens = maxTokens;
+    }
+
+    public Map<String, Client> getClients() {
+        return clients;
+    }
+
+    public void setClients(Map<String, Client> clients) {
+        this.clients = clients;
+    }
+
+    /** Resolves the budget of a RestClient bean, or {@code null} if it has none. */
+    public Settings settingsFor(String clientName) {
+        return clients.entrySet().stream()
+                .filter(entry -> ClientNames.matches(entry.getKey(), clientName))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .map(
+                        client ->
+                                new Settings(
+                                        client.getRetryPercent() != null
+                                                ? client.getRetryPercent()
+                                                : retryPercent,
+                                        client.getMinRetriesPerSecond() != null
+                                                ? client.getMinRetriesPerSecond()
+                                                : minRetriesPerSecond,
+                                        client.getMaxTokens() != null
+                                                ? client.getMaxTokens()
+                                                : maxTokens))
+                .orElse(null);
+    }
+
+    /** Per-bean overrides; {@code null} means "use the default". */
+    public static class Client {
+        private Double retryPercent;
+        private Integer minRetriesPerSecond;
+        private Integer maxTokens;
+
+        public Double getRetryPercent() {
+            return retryPercent;
+        }
+
+        public void setRetryPercent(Double retryPercent) {
+            this.retryPercent = retryPercent;
+        }
+
+        public Integer getMinRetriesPerSecond() {
+            return minRetriesPerSecond;
+        }
+
+        public void setMinRetriesPerSecond(Integer minRetriesPerSecond) {
+            this.minRetriesPerSecond = minRetriesPerSecond;
+        }
+
+        public Integer getMaxTokens() {
+            return maxTokens;
+        }
+
+        public void setMaxTokens(Integer maxTokens) {
+            this.maxTokens = maxTokens;
+        }
+    }
+
+    /** Effective retry budget settings of one RestClient bean. */
+    public record Settings(double retryPercent, int minRetriesPerSecond, int maxTokens) {}
+}
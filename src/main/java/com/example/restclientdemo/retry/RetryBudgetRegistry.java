@@ -0,0 +1,43 @@
+package com.example.restclientdemo.retry;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.springframework.web.client.RestClient;
+
+/** Creates the retry budget of each configured RestClient bean and exposes its balance. */
+public class RetryBudgetRegistry {
+
+    private final RetryBudgetProperties properties;
+    private final Map<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+
+    public RetryBudgetRegistry(RetryBudgetProperties properties) {
+        this.properties = properties;
+    }
+
+    public Consumer<RestClient.Builder> forClient(String clientName) {
+        RetryBudget budget = budgetFor(clientName);
+        if (budget == RetryBudget.unlimited()) {
+            return builder -> {};
+        }
+        return builder -> builder.requestInterceptor(new RetryBudgetInterceptor(budget));
+    }
+
+    /** The budget retries on a bean's calls must respect; unlimited if it has none. */
+    public RetryBudget budgetFor(String clientName) {
+        RetryBudgetProperties.Settings settings = properties.settingsFor(clientName);
+        if (settings == null) {
+            return RetryBudget.unlimited();
+        }
+        return budgets.computeIfAbsent(clientName, name -> new RetryBudget(name, settings));
+    }
+
+    /** Balance and counters per RestClient bean name. */
+    public Map<String, RetryBudgetStats> stats() {
+        Map<String, RetryBudgetStats> stats = new TreeMap<>();
+        budgets.forEach((name, budget) -> stats.put(name, budget.stats()));
+        return stats;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.restclientdemo.retry;
+
+/** Point-in-time view of a {@link RetryBudget}. */
+public record RetryBudgetStats(
+        double balance, long deposits, long retriesAllowed, long retriesDenied) {
+
+    @Override
+    public String toString() {
+        return String.format(
+                "balance=%.1f deposits=%d retries=%d denied=%d",
+                balance, deposits, retriesAllowed, retriesDenied);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.restclientdemo.retry;
+
+/**
+ * The {@link RetryExecutor} attempt running on the current thread, so code further down, such as
+ * the RestClient interceptors, can tell a first call from a retry.
+ */
+public final class RetryContext {
+
+    private static final ThreadLocal<Attempt> CURRENT = new ThreadLocal<>();
+
+    private RetryContext() {}
+
+    /** @param number 1 for the first call, 2 for the first retry, and so on */
+    public record Attempt(String operation, int number) {}
+
+    /** Retries before the attempt running on this thread; 0 outside {@link RetryExecutor}. */
+    public static int retryCount() {
+        Attempt attempt = CURRENT.get();
+        return attempt != null ? attempt.number() - 1 : 0;
+    }
+
+    static Attempt enter(String operation, int number) {
+        Attempt previous = CURRENT.get();
+        CURRENT.set(new Attempt(operation, number));
+        return previous;
+    }
+
+    static void restore(Attempt previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.restclientdemo.retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.example.restclientdemo.exception.ClientErrorException;
+import com.example.restclientdemo.exception.HostPausedException;
+import com.example.restclientdemo.exception.RetryBudgetExhaustedException;
+import com.example.restclientdemo.exception.ServerErrorException;
+import com.example.restclientdemo.http.RetryAfter;
+
+import org.springframework.web.client.RestClientResponseException;
+
+/**
+ * Retries RestClient calls with exponential backoff and full jitter.
+ *
+ * <p>The wait before attempt {@code n + 1} is drawn uniformly from {@code [0, initialBackoff *
+ * multiplier^(n - 1)]}, capped at {@code maxBackoff}, so clients that failed together do not come
+ * back together. Waits are scheduled on the JDK's shared delay timer and each retry runs on a
+ * fresh virtual thread, so no thread sleeps between attempts. The first attempt of {@link
+ * #execute} runs on the caller's thread, so it costs no thread hop and sees the caller's
+ * thread-locals (MDC, security context, {@link RetryContext}, exchange timings); retries do not.
+ * Which failures are retried, and how often, is decided per exception type by {@link
+ * RetryProperties}.
+ *
+ * <p>When the server said when to come back, through {@code Retry-After} on a 429 or 503 or a
+ * host paused by {@link HostPauseRegistry}, the retry is scheduled for exactly that time instead;
+ * a wait longer than {@code maxRetryAfter} is not retried.
+ *
+ * <p>Each retry must also take a token from the caller's {@link RetryBudget}; when the budget is
+ * exhausted the call fails at once with {@link RetryBudgetExhaustedException} instead of adding
+ * load to a struggling upstream. Latency and outcome are recorded per operation name and attempt
+ * number, see {@link #stats()}.
+ */
+public class RetryExecutor {
+
+    /** Starts each task on a new virtual thread; shared by all instances, nothing to shut down. */
+    private static final Executor VIRTUAL_THREADS =
+            task -> Thread.ofVirtual().name("retry-attempt").start(task);
+
+    private final RetryProperties properties;
+    private final Executor executor;
+    private final Map<String, Map<Integer, AttemptRecorder>> recorders = new ConcurrentHashMap<>();
+
+    public RetryExecutor(RetryProperties properties) {
+        this(properties, VIRTUAL_THREADS);
+    }
+
+    RetryExecutor(RetryProperties properties, Executor executor) {
+        this.properties = properties;
+        this.executor = executor;
+    }
+
+    /** Retries without a budget; see {@link #execute(String, RetryBudget, Supplier)}. */
+    public <T> T execute(String operation, Supplier<T> call) {
+        return execute(operation, RetryBudget.unlimited(), call);
+    }
+
+    /**
+     * Runs {@code call} until it succeeds or a failure is not retried any more, blocking the
+     * caller until then. The last failure is rethrown with the earlier ones attached as
+     * suppressed exceptions.
+     *
+     * @throws RetryBudgetExhaustedException if a retry was needed but {@code budget} had no token
+     */
+    public <T> T execute(String operation, RetryBudget budget, Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(operation, budget, call, 1, new ArrayList<>(), result);
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while retrying " + operation);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /** Retries without a budget; see {@link #executeAsync(String, RetryBudget, Supplier)}. */
+    public <T> CompletableFuture<T> executeAsync(String operation, Supplier<T> call) {
+        return executeAsync(operation, RetryBudget.unlimited(), call);
+    }
+
+    /**
+     * Like {@link #execute} without blocking. Cancelling the returned future stops further
+     * attempts; an attempt already on the wire runs to completion.
+     */
+    public <T> CompletableFuture<T> executeAsync(
+            String operation, RetryBudget budget, Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        List<RuntimeException> failures = new ArrayList<>();
+        executor.execute(() -> attempt(operation, budget, call, 1, failures, result));
+        return result;
+    }
+
+    /** Attempt statistics per operation name, ordered by name and attempt number. */
+    public Map<String, List<AttemptStats>> stats() {
+        Map<String, List<AttemptStats>> stats = new TreeMap<>();
+        recorders.forEach(
+                (operation, attempts) ->
+                        stats.put(
+                                operation,
+                                attempts.values().stream()
+                                        .map(AttemptRecorder::stats)
+                                        .sorted(Comparator.comparingInt(AttemptStats::attempt))
+                                        .toList()));
+        return stats;
+    }
+
+    /** Runs attempt number {@code attempt} on the current thread and schedules the next one. */
+    private <T> void attempt(
+            String operation,
+            RetryBudget budget,
+            Supplier<T> call,
+            int attempt,
+            List<RuntimeException> failures,
+            CompletableFuture<T> result) {
+        if (result.isDone()) {
+            return;
+        }
+        AttemptRecorder recorder = recorder(operation, attempt);
+        long start = System.nanoTime();
+        RetryContext.Attempt previous = RetryContext.enter(operation, attempt);
+        try {
+            T value = call.get();
+            recorder.record(System.nanoTime() - start, false);
+            result.complete(value);
+        } catch (RuntimeException e) {
+            recorder.record(System.nanoTime() - start, true);
+            RetryProperties.Backoff backoff = properties.backoffFor(e);
+            Optional<Duration> retryAfter = retryAfterOf(e);
+            if (!shouldRetry(backoff, attempt, retryAfter)) {
+                failures.forEach(e::addSuppressed);
+                result.completeExceptionally(e);
+                return;
+            }
+            if (!budget.tryWithdraw()) {
+                failures.forEach(e::addSuppressed);
+                result.completeExceptionally(
+                        new RetryBudgetExhaustedException(budget.clientName(), e));
+                return;
+            }
+            failures.add(e);
+            long delay =
+                    retryAfter
+                            .map(Duration::toNanos)
+                            .orElseGet(() -> nextDelayNanos(backoff, attempt));
+            CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS, executor)
+                    .execute(
+                            () ->
+                                    attempt(
+                                            operation,
+                                            budget,
+                                            call,
+                                            attempt + 1,
+                                            failures,
+                                            result));
+        } catch (Error e) {
+            result.completeExceptionally(e);
+            throw e;
+        } finally {
+            RetryContext.restore(previous);
+        }
+    }
+
+    private boolean shouldRetry(
+            RetryProperties.Backoff backoff, int attempt, Optional<Duration> retryAfter) {
+        if (backoff == null || attempt >= backoff.maxAttempts()) {
+            return false;
+        }
+        return retryAfter.isEmpty()
+                || retryAfter.get().compareTo(properties.getMaxRetryAfter()) <= 0;
+    }
+
+    /** Full jitter: uniform between zero and the exponential ceiling. */
+    static long nextDelayNanos(RetryProperties.Backoff backoff, int attempt) {
+        long ceiling = backoff.ceilingNanos(attempt);
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * The wait the server asked for, from a {@code Retry-After} header or a paused host. Rule
+     * lookup still decides whether the failure is retried at all.
+     */
+    static Optional<Duration> retryAfterOf(Throwable failure) {
+        if (failure instanceof HostPausedException e) {
+            return Optional.of(e.getRetryAfter());
+        }
+        if (failure instanceof ServerErrorException e) {
+            return e.getRetryAfter();
+        }
+        if (failure instanceof ClientErrorException e) {
+            return e.getRetryAfter();
+        }
+        if (failure instanceof RestClientResponseException e
+                && RetryAfter.appliesTo(e.getStatusCode())
+                && e.getResponseHeaders() != null) {
+            return RetryAfter.from(e.getResponseHeaders());
+        }
+        return Optional.empty();
+    }
+
+    private AttemptRecorder recorder(String operation, int attempt) {
+        return recorders
+                .computeIfAbsent(operation, name -> new ConcurrentHashMap<>())
+                .computeIfAbsent(attempt, AttemptRecorder::new);
+    }
+
+    private static final class AttemptRecorder {
+        private final int attempt;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        AttemptRecorder(int attempt) {
+            this.attempt = attempt;
+        }
+
+        void record(long nanos, boolean failed) {
+            calls.increment();
+            if (failed) {
+                failures.increment();
+            }
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        AttemptStats stats() {
+            long count = calls.sum();
+            return new AttemptStats(
+                    attempt,
+                    count,
+                    failures.sum(),
+                    Duration.ofNanos(count == 0 ? 0 : totalNanos.sum() / count),
+                    Duration.ofNanos(maxNanos.get()));
+        }
+    }
+}
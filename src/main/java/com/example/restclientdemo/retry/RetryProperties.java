@@ -0,0 +1,191 @@
+package com.example.restclientdemo.retry;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Retry rules of the {@link RetryExecutor}, bound from {@code app.http.retry.*}.
+ *
+ * <p>Only exceptions with an entry under {@code app.http.retry.exceptions[<name>]} are retried.
+ * The name is the simple or fully qualified class name of the exception, of one of its
+ * superclasses or of one of its causes, so {@code SocketTimeoutException} also matches the {@code
+ * ResourceAccessException} RestClient wraps it in. A class is checked before its superclasses and
+ * an exception before its causes. Settings an entry leaves out fall back to the top-level
+ * defaults, e.g.
+ *
+ * <pre>
+ * app.http.retry.max-attempts=3
+ * app.http.retry.initial-backoff=200ms
+ * app.http.retry.exceptions[ServiceUnavailableException].max-attempts=5
+ * app.http.retry.exceptions[CircuitBreakerOpenException].max-attempts=1
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.http.retry")
+public class RetryProperties {
+
+    /** Attempts in total, including the first call. */
+    private int maxAttempts = 3;
+
+    /** Upper bound of the first backoff; each further attempt multiplies it. */
+    private Duration initialBackoff = Duration.ofMillis(200);
+
+    /** Cap of the backoff upper bound. */
+    private Duration maxBackoff = Duration.ofSeconds(5);
+
+    private double multiplier = 2.0;
+
+    /** Longest {@code Retry-After} that is waited for; longer ones fail without retrying. */
+    private Duration maxRetryAfter = Duration.ofMinutes(1);
+
+    private Map<String, Rule> exceptions = new LinkedHashMap<>(defaultRules());
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public void setInitialBackoff(Duration initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public void setMultiplier(double multiplier) {
+        this.multiplier = multiplier;
+    }
+
+    public Duration getMaxRetryAfter() {
+        return maxRetryAfter;
+    }
+
+    public void setMaxRetryAfter(Duration maxRetryAfter) {
+        this.maxRetryAfter = maxRetryAfter;
+    }
+
+    public Map<String, Rule> getExceptions() {
+        return exceptions;
+    }
+
+    public void setExceptions(Map<String, Rule> exceptions) {
+        this.exceptions = exceptions;
+    }
+
+    /** Resolves the backoff for a failure, or {@code null} if it is not retried. */
+    public Backoff backoffFor(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            for (Class<?> type = t.getClass(); type != Object.class; type = type.getSuperclass()) {
+                Rule rule = findRule(type);
+                if (rule != null) {
+                    return resolve(rule);
+                }
+            }
+        }
+        return null;
+    }
+
+    /** A fully qualified key wins over a simple class name key. */
+    private Rule findRule(Class<?> type) {
+        Rule bySimpleName = null;
+        for (Map.Entry<String, Rule> entry : exceptions.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(type.getName())) {
+                return entry.getValue();
+            }
+            if (bySimpleName == null && entry.getKey().equalsIgnoreCase(type.getSimpleName())) {
+                bySimpleName = entry.getValue();
+            }
+        }
+        return bySimpleName;
+    }
+
+    private Backoff resolve(Rule rule) {
+        return new Backoff(
+                rule.getMaxAttempts() != null ? rule.getMaxAttempts() : maxAttempts,
+                rule.getInitialBackoff() != null ? rule.getInitialBackoff() : initialBackoff,
+                rule.getMaxBackoff() != null ? rule.getMaxBackoff() : maxBackoff,
+                multiplier);
+    }
+
+    /**
+     * Server errors, unavailable services, 429 responses and I/O timeouts are retried; an open
+     * circuit breaker is not, since it fails locally until its wait is over.
+     */
+    private static Map<String, Rule> defaultRules() {
+        Map<String, Rule> rules = new LinkedHashMap<>();
+        rules.put("ServerErrorException", new Rule());
+        rules.put("HttpServerErrorException", new Rule());
+        rules.put("ServiceUnavailableException", new Rule());
+        rules.put("SocketTimeoutException", new Rule());
+        rules.put("HttpTimeoutException", new Rule());
+        rules.put("TooManyRequestsException", new Rule());
+        rules.put("TooManyRequests", new Rule());
+        Rule noRetry = new Rule();
+        noRetry.setMaxAttempts(1);
+        rules.put("CircuitBreakerOpenException", noRetry);
+        return rules;
+    }
+
+    /** Per-exception overrides; {@code null} means "use the default". */
+    public static class Rule {
+        private Integer maxAttempts;
+        private Duration initialBackoff;
+        private Duration maxBackoff;
+
+        public Integer getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(Integer maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+    }
+
+    /** Effective retry settings for one kind of failure. */
+    public record Backoff(
+            int maxAttempts, Duration initialBackoff, Duration maxBackoff, double multiplier) {
+
+        /**
+         * Upper bound of the wait after the given failed attempt (1-based): {@code initialBackoff *
+         * multiplier^(attempt - 1)}, capped at {@code maxBackoff}.
+         */
+        public long ceilingNanos(int attempt) {
+            double ceiling = initialBackoff.toNanos() * Math.pow(multiplier, attempt - 1);
+            return (long) Math.min(ceiling, maxBackoff.toNanos());
+        }
+    }
+}
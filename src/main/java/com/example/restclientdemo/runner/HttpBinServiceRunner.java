@@ -1,30 +1,93 @@
 package com.example.restclientdemo.runner;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
+import com.example.restclientdemo.bulkhead.BulkheadRegistry;
+import com.example.restclientdemo.circuitbreaker.CircuitBreakerRegistry;
+import com.example.restclientdemo.client.HttpBinAsyncClient;
+import com.example.restclientdemo.limit.AdaptiveLimitRegistry;
+import com.example.restclientdemo.limit.AdaptiveLimitStats;
+import com.example.restclientdemo.logging.RequestLogRegistry;
+import com.example.restclientdemo.metrics.LatencyRegistry;
+import com.example.restclientdemo.metrics.LatencySnapshot;
+import com.example.restclientdemo.model.HttpBinDashboard;
 import com.example.restclientdemo.model.HttpBinResponse;
+import com.example.restclientdemo.ratelimit.RateLimitRegistry;
+import com.example.restclientdemo.retry.HostPauseRegistry;
+import com.example.restclientdemo.retry.RetryBudgetRegistry;
 import com.example.restclientdemo.service.ErrorHandlingService;
 import com.example.restclientdemo.service.HttpBinHttpInterfaceService;
 import com.example.restclientdemo.service.HttpBinService;
+import com.example.restclientdemo.transport.ConnectionPoolRegistry;
 
 @Component // Disabled to run UserServiceDemoRunner instead
 public class HttpBinServiceRunner implements CommandLineRunner {
 
+    private static final String REST_CLIENT_EXAMPLES = "RestClient Examples";
+    private static final String HTTP_INTERFACE_EXAMPLES = "HTTP Interface Examples";
+    private static final String ERROR_HANDLER_EXAMPLES = "ResponseErrorHandler Examples";
+
     private final HttpBinService httpBinService;
     private final HttpBinHttpInterfaceService httpInterfaceService;
+    private final HttpBinAsyncClient httpBinAsyncClient;
     private final ErrorHandlingService errorHandlingService;
+    private final ConnectionPoolRegistry connectionPoolRegistry;
+    private final AdaptiveLimitRegistry adaptiveLimitRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final RetryBudgetRegistry retryBudgetRegistry;
+    private final HostPauseRegistry hostPauseRegistry;
+    private final RateLimitRegistry rateLimitRegistry;
+    private final RequestLogRegistry requestLogRegistry;
+    private final LatencyRegistry latencyRegistry;
+
+    /** Run independent scenarios concurrently on virtual threads instead of one by one. */
+    @Value("${app.runner.concurrent:false}")
+    private boolean concurrent;
+
+    /** After a concurrent run, run the scenarios once more one by one to measure the speedup. */
+    @Value("${app.runner.sequential-baseline:false}")
+    private boolean sequentialBaseline;
 
     public HttpBinServiceRunner(
             HttpBinService httpBinService,
             HttpBinHttpInterfaceService httpInterfaceService,
-            ErrorHandlingService errorHandlingService) {
+            HttpBinAsyncClient httpBinAsyncClient,
+            ErrorHandlingService errorHandlingService,
+            ConnectionPoolRegistry connectionPoolRegistry,
+            AdaptiveLimitRegistry adaptiveLimitRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            RetryBudgetRegistry retryBudgetRegistry,
+            HostPauseRegistry hostPauseRegistry,
+            RateLimitRegistry rateLimitRegistry,
+            RequestLogRegistry requestLogRegistry,
+            LatencyRegistry latencyRegistry) {
         this.httpBinService = httpBinService;
         this.httpInterfaceService = httpInterfaceService;
+        this.httpBinAsyncClient = httpBinAsyncClient;
         this.errorHandlingService = errorHandlingService;
+        this.connectionPoolRegistry = connectionPoolRegistry;
+        this.adaptiveLimitRegistry = adaptiveLimitRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.retryBudgetRegistry = retryBudgetRegistry;
+        this.hostPauseRegistry = hostPauseRegistry;
+        this.rateLimitRegistry = rateLimitRegistry;
+        this.requestLogRegistry = requestLogRegistry;
+        this.latencyRegistry = latencyRegistry;
     }
 
     @Override
@@ -32,34 +95,143 @@ public class HttpBinServiceRunner implements CommandLineRunner {
         System.out.println("Starting Spring Boot RestClient Demo");
         System.out.println("=".repeat(50));
 
-        // Regular RestClient Examples
-        System.out.println("\nRestClient Examples");
-        runRestClientExamples();
+        List<Scenario> scenarios = new ArrayList<>();
 
-        // HTTP Interface Examples
-        System.out.println("\nHTTP Interface Examples");
-        httpInterfaceService.demonstrateHttpInterface();
+        addRestClientExamples(scenarios);
 
-        // Error Handling Examples with ResponseErrorHandler
-        System.out.println("\n" + "=".repeat(50));
-        System.out.println("ResponseErrorHandler Examples");
-        System.out.println("=".repeat(50));
-        runDemo(
+        addDemo(
+                scenarios,
+                HTTP_INTERFACE_EXAMPLES,
+                "HTTP Interface Client",
+                () -> {
+                    httpInterfaceService.demonstrateHttpInterface();
+                });
+
+        addDemo(
+                scenarios,
+                HTTP_INTERFACE_EXAMPLES,
+                "Async HTTP Interface (CompletableFuture)",
+                () -> {
+                    CompletableFuture<HttpBinResponse> plain = httpBinAsyncClient.get();
+                    CompletableFuture<HttpBinResponse> withParams =
+                            httpBinAsyncClient.getWithParams(Map.of("page", "2"));
+                    CompletableFuture.allOf(plain, withParams).join();
+                    System.out.println("Fan-out URL: " + plain.join().getUrl());
+                    System.out.println("Fan-out args: " + withParams.join().getArgs());
+
+                    CompletableFuture<HttpBinResponse> slow = httpBinAsyncClient.delay(10);
+                    slow.cancel(true);
+                    System.out.println("Slow request cancelled: " + slow.isCancelled());
+                });
+
+        addDemo(
+                scenarios,
+                ERROR_HANDLER_EXAMPLES,
                 "Error Handling with ResponseErrorHandler",
                 () -> {
                     errorHandlingService.demonstrateErrorHandling();
                 });
 
-        runDemo(
+        // Opens the circuit breaker of errorHandlingRestClient, which the scenario above also
+        // uses, so the two never run at the same time
+        addDemoAfterPrevious(
+                scenarios,
+                ERROR_HANDLER_EXAMPLES,
                 "Error Recovery Strategies",
                 () -> {
                     errorHandlingService.demonstrateErrorRecovery();
                 });
+
+        if (concurrent) {
+            runConcurrently(scenarios);
+        } else {
+            runSequentially(scenarios);
+        }
+        System.out.println("\nDemo completed successfully!");
+
+        // Latency per bean, method, URI template and status class
+        System.out.println("\nLatency");
+        latencyRegistry
+                .snapshot()
+                .forEach((key, snapshot) -> System.out.println("  " + key + " " + snapshot));
+
+        // Where the time of each bean's exchanges went
+        System.out.println("\nPhase Timings");
+        latencyRegistry
+                .phaseSnapshot()
+                .forEach(
+                        (client, phases) -> {
+                            for (Map.Entry<String, LatencySnapshot> phase : phases.entrySet()) {
+                                System.out.println(
+                                        "  "
+                                                + client
+                                                + " "
+                                                + phase.getKey()
+                                                + " "
+                                                + phase.getValue());
+                            }
+                        });
+
+        // Entries written, skipped and dropped by the request log
+        System.out.println("\nRequest Log: " + requestLogRegistry.stats());
+
+        // Slot usage across all pooled RestClient beans, with estimated connection reuse
+        System.out.println("\nConnection Pools");
+        connectionPoolRegistry.snapshot().forEach(stats -> System.out.println("  " + stats));
+
+        // Circuit breaker state after the error handling scenarios
+        System.out.println("\nCircuit Breakers");
+        circuitBreakerRegistry
+                .stats()
+                .forEach((client, stats) -> System.out.println("  " + client + " " + stats));
+
+        // Retries allowed and denied by each bean's retry budget
+        System.out.println("\nRetry Budgets");
+        retryBudgetRegistry
+                .stats()
+                .forEach((client, stats) -> System.out.println("  " + client + " " + stats));
+
+        // Hosts that asked for a pause with Retry-After
+        System.out.println(
+                "\nPaused Hosts (rejected requests: "
+                        + hostPauseRegistry.rejectedRequests()
+                        + ")");
+        hostPauseRegistry
+                .pausedHosts()
+                .forEach(
+                        (origin, remaining) ->
+                                System.out.println(
+                                        "  " + origin + " for " + remaining.toMillis() + "ms"));
+
+        // Permits and throttle wait times per bean/host and HTTP Interface method
+        System.out.println("\nRate Limits");
+        rateLimitRegistry
+                .stats()
+                .forEach((limiter, stats) -> System.out.println("  " + limiter + " " + stats));
+
+        // Calls admitted and rejected by each bean's bulkhead
+        System.out.println("\nBulkheads");
+        bulkheadRegistry
+                .stats()
+                .forEach((client, stats) -> System.out.println("  " + client + " " + stats));
+
+        // Concurrency limits discovered per RestClient bean
+        System.out.println("\nAdaptive Concurrency Limits");
+        adaptiveLimitRegistry
+                .stats()
+                .forEach(
+                        (client, limits) -> {
+                            for (AdaptiveLimitStats stats : limits) {
+                                System.out.println("  " + client + " " + stats);
+                            }
+                        });
     }
 
-    private void runRestClientExamples() {
+    private void addRestClientExamples(List<Scenario> scenarios) {
         // GET Requests
-        runDemo(
+        addDemo(
+                scenarios,
+                REST_CLIENT_EXAMPLES,
                 "Simple GET",
                 () -> {
                     HttpBinResponse response = httpBinService.simpleGet();
@@ -67,21 +239,27 @@ public class HttpBinServiceRunner implements CommandLineRunner {
                     System.out.println("Origin: " + response.getOrigin());
                 });
 
-        runDemo(
+        addDemo(
+                scenarios,
+                REST_CLIENT_EXAMPLES,
                 "GET with Query Parameters",
                 () -> {
                     HttpBinResponse response = httpBinService.getWithQueryParams();
                     System.out.println("Args: " + response.getArgs());
                 });
 
-        runDemo(
+        addDemo(
+                scenarios,
+                REST_CLIENT_EXAMPLES,
                 "GET with URI Variables",
                 () -> {
                     HttpBinResponse response = httpBinService.getWithUriVariables();
                     System.out.println("Args: " + response.getArgs());
                 });
 
-        runDemo(
+        addDemo(
+                scenarios,
+                REST_CLIENT_EXAMPLES,
                 "GET with Custom Headers",
                 () -> {
                     HttpBinResponse response = httpBinService.getWithCustomHeaders();
@@ -93,21 +271,27 @@ public class HttpBinServiceRunner implements CommandLineRunner {
                 });
 
         // POST Requests
-        runDemo(
+        addDemo(
+                scenarios,
+                REST_CLIENT_EXAMPLES,
                 "POST with JSON",
                 () -> {
                     HttpBinResponse response = httpBinService.postJson();
                     System.out.println("JSON Data: " + response.getJson());
                 });
 
-        runDemo(
+        addDemo(
+                scenarios,
+                REST_CLIENT_EXAMPLES,
                 "POST with Form Data",
                 () -> {
                     HttpBinResponse response = httpBinService.postFormData();
                     System.out.println("Form Data: " + response.getForm());
                 });
 
-        runDemo(
+        addDemo(
+                scenarios,
+                REST_CLIENT_EXAMPLES,
                 "POST with Custom Client",
                 () -> {
                     HttpBinResponse response = httpBinService.postWithCustomClient();
@@ -117,21 +301,27 @@ public class HttpBinServiceRunner implements CommandLineRunner {
                 });
 
         // Other HTTP Methods
-        runDemo(
+        addDemo(
+                scenarios,
+                REST_CLIENT_EXAMPLES,
                 "PUT Request",
                 () -> {
                     HttpBinResponse response = httpBinService.putData();
                     System.out.println("JSON Data: " + response.getJson());
                 });
 
-        runDemo(
+        addDemo(
+                scenarios,
+                REST_CLIENT_EXAMPLES,
                 "PATCH Request",
                 () -> {
                     HttpBinResponse response = httpBinService.patchData();
                     System.out.println("JSON Data: " + response.getJson());
                 });
 
-        runDemo(
+        addDemo(
+                scenarios,
+                REST_CLIENT_EXAMPLES,
                 "DELETE Request",
                 () -> {
                     HttpBinResponse response = httpBinService.deleteResource();
@@ -139,7 +329,9 @@ public class HttpBinServiceRunner implements CommandLineRunner {
                 });
 
         // Advanced Features
-        runDemo(
+        addDemo(
+                scenarios,
+                REST_CLIENT_EXAMPLES,
                 "Response Entity",
                 () -> {
                     ResponseEntity<HttpBinResponse> response =
@@ -150,7 +342,9 @@ public class HttpBinServiceRunner implements CommandLineRunner {
                     System.out.println("Body URL: " + response.getBody().getUrl());
                 });
 
-        runDemo(
+        addDemo(
+                scenarios,
+                REST_CLIENT_EXAMPLES,
                 "Generic Map Response",
                 () -> {
                     Map<String, Object> response = httpBinService.getAsMap();
@@ -158,21 +352,27 @@ public class HttpBinServiceRunner implements CommandLineRunner {
                 });
 
         // Utility Endpoints
-        runDemo(
+        addDemo(
+                scenarios,
+                REST_CLIENT_EXAMPLES,
                 "IP Address",
                 () -> {
                     String ip = httpBinService.getIpAddress();
                     System.out.println("Your IP: " + ip);
                 });
 
-        runDemo(
+        addDemo(
+                scenarios,
+                REST_CLIENT_EXAMPLES,
                 "User Agent",
                 () -> {
                     String userAgent = httpBinService.getUserAgent();
                     System.out.println("User Agent: " + userAgent);
                 });
 
-        runDemo(
+        addDemo(
+                scenarios,
+                REST_CLIENT_EXAMPLES,
                 "Headers Info",
                 () -> {
                     Map<String, String> headers = httpBinService.getHeaders();
@@ -181,7 +381,9 @@ public class HttpBinServiceRunner implements CommandLineRunner {
                 });
 
         // Authentication
-        runDemo(
+        addDemo(
+                scenarios,
+                REST_CLIENT_EXAMPLES,
                 "Basic Authentication",
                 () -> {
                     String response = httpBinService.demonstrateBasicAuth();
@@ -193,52 +395,193 @@ public class HttpBinServiceRunner implements CommandLineRunner {
                     }
                 });
 
+        // Scatter-Gather
+        addDemo(
+                scenarios,
+                REST_CLIENT_EXAMPLES,
+                "Scatter-Gather Dashboard",
+                () -> {
+                    HttpBinDashboard dashboard = httpBinService.getDashboard(Duration.ofSeconds(3));
+                    System.out.println("IP: " + dashboard.ipAddress());
+                    System.out.println("User-Agent: " + dashboard.userAgent());
+                    System.out.println("Complete: " + dashboard.isComplete());
+                    dashboard.legs().forEach(leg -> System.out.println("  " + leg));
+                });
+
         // Error Handling
-        runDemo(
+        addDemo(
+                scenarios,
+                REST_CLIENT_EXAMPLES,
                 "Error Handling",
                 () -> {
                     httpBinService.demonstrateErrorHandling();
                 });
 
-        runDemo(
+        addDemo(
+                scenarios,
+                REST_CLIENT_EXAMPLES,
                 "Status Code Handling",
                 () -> {
                     httpBinService.demonstrateStatusHandling();
                 });
 
         // Exchange Method Examples
-        runDemo(
+        addDemo(
+                scenarios,
+                REST_CLIENT_EXAMPLES,
                 "Exchange Method - Full Control",
                 () -> {
                     HttpBinResponse response = httpBinService.demonstrateExchange();
                     System.out.println("Result: " + response.getArgs());
                 });
 
-        runDemo(
+        addDemo(
+                scenarios,
+                REST_CLIENT_EXAMPLES,
                 "Exchange Method - Error Handling",
                 () -> {
                     String result = httpBinService.demonstrateExchangeWithError();
                     System.out.println("Result: " + result);
                 });
 
-        runDemo(
+        addDemo(
+                scenarios,
+                REST_CLIENT_EXAMPLES,
                 "Exchange vs Retrieve Comparison",
                 () -> {
                     httpBinService.compareExchangeVsRetrieve();
                 });
+    }
 
-        System.out.println("\nDemo completed successfully!");
+    private void addDemo(List<Scenario> scenarios, String group, String title, Runnable demo) {
+        scenarios.add(new Scenario(group, title, demo, false));
     }
 
-    private void runDemo(String title, Runnable demo) {
+    /** Adds a scenario that, in a concurrent run, starts only once the previous one finished. */
+    private void addDemoAfterPrevious(
+            List<Scenario> scenarios, String group, String title, Runnable demo) {
+        scenarios.add(new Scenario(group, title, demo, true));
+    }
+
+    private void runSequentially(List<Scenario> scenarios) throws InterruptedException {
+        String group = null;
+        for (Scenario scenario : scenarios) {
+            if (!scenario.group().equals(group)) {
+                group = scenario.group();
+                printGroupHeader(group);
+            }
+            execute(scenario);
+            Thread.sleep(1000); // Small delay between requests
+        }
+    }
+
+    private static void printGroupHeader(String group) {
+        if (group.equals(ERROR_HANDLER_EXAMPLES)) {
+            System.out.println("\n" + "=".repeat(50));
+            System.out.println(group);
+            System.out.println("=".repeat(50));
+        } else {
+            System.out.println("\n" + group);
+        }
+    }
+
+    /**
+     * Runs every scenario on its own virtual thread; a scenario added with {@link
+     * #addDemoAfterPrevious} shares the thread of the one before it and runs after it. The
+     * executor is scoped to this method: closing it waits for all scenarios, so none outlives the
+     * run and results can be read in submission order. Console output of concurrent scenarios
+     * interleaves; the summary below does not.
+     */
+    private void runConcurrently(List<Scenario> scenarios) {
+        List<List<Scenario>> chains = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            if (scenario.afterPrevious() && !chains.isEmpty()) {
+                chains.getLast().add(scenario);
+            } else {
+                chains.add(new ArrayList<>(List.of(scenario)));
+            }
+        }
+        long start = System.nanoTime();
+        List<Future<List<ScenarioResult>>> futures;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            futures = chains.stream().map(c -> executor.submit(() -> runChain(c))).toList();
+        }
+        Duration wallTime = Duration.ofNanos(System.nanoTime() - start);
+        List<ScenarioResult> results =
+                futures.stream().flatMap(future -> future.resultNow().stream()).toList();
+
+        System.out.println("\n" + "=".repeat(50));
+        System.out.println("Concurrent Run Summary");
+        System.out.println("=".repeat(50));
+        String group = null;
+        for (int i = 0; i < results.size(); i++) {
+            if (!scenarios.get(i).group().equals(group)) {
+                group = scenarios.get(i).group();
+                System.out.println(group);
+            }
+            System.out.println("  " + results.get(i));
+        }
+
+        // Scenario times are measured while the others run, so contention inflates their sum;
+        // divided by the wall time it gives the average number of scenarios in flight, not the
+        // speedup over a sequential run.
+        Duration scenarioTime =
+                results.stream().map(ScenarioResult::elapsed).reduce(Duration.ZERO, Duration::plus);
+        long failures = results.stream().filter(result -> result.failure() != null).count();
+        System.out.printf(
+                "%d scenarios, %d failed. Sum of scenario times: %d ms, wall time: %d ms,"
+                        + " parallelism: %.1f%n",
+                results.size(),
+                failures,
+                scenarioTime.toMillis(),
+                wallTime.toMillis(),
+                (double) scenarioTime.toNanos() / Math.max(1, wallTime.toNanos()));
+
+        if (sequentialBaseline) {
+            // Runs second, with warm connections and caches, so the speedup is a lower bound
+            System.out.println("\nSequential baseline");
+            long baselineStart = System.nanoTime();
+            scenarios.forEach(this::execute);
+            Duration baseline = Duration.ofNanos(System.nanoTime() - baselineStart);
+            System.out.printf(
+                    "Sequential: %d ms, concurrent: %d ms, speedup: %.1fx%n",
+                    baseline.toMillis(),
+                    wallTime.toMillis(),
+                    (double) baseline.toNanos() / Math.max(1, wallTime.toNanos()));
+        }
+    }
+
+    private List<ScenarioResult> runChain(List<Scenario> chain) {
+        return chain.stream().map(this::execute).toList();
+    }
+
+    private ScenarioResult execute(Scenario scenario) {
+        long start = System.nanoTime();
         try {
             System.out.println("\n" + "─".repeat(50));
-            System.out.println(title);
+            System.out.println(scenario.title());
             System.out.println("─".repeat(50));
-            demo.run();
-            Thread.sleep(1000); // Small delay between requests
+            scenario.demo().run();
+            return new ScenarioResult(
+                    scenario.title(), Duration.ofNanos(System.nanoTime() - start), null);
         } catch (Exception e) {
-            System.err.println("Error in " + title + ": " + e.getMessage());
+            System.err.println("Error in " + scenario.title() + ": " + e.getMessage());
+            return new ScenarioResult(
+                    scenario.title(), Duration.ofNanos(System.nanoTime() - start), e);
+        }
+    }
+
+    private record Scenario(String group, String title, Runnable demo, boolean afterPrevious) {}
+
+    private record ScenarioResult(String title, Duration elapsed, Exception failure) {
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "%-45s %6d ms  %s",
+                    title,
+                    elapsed.toMillis(),
+                    failure == null ? "OK" : "FAILED: " + failure.getMessage());
         }
     }
 }
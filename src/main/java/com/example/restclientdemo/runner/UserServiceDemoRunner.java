@@ -3,10 +3,27 @@ package com.example.restclientdemo.runner;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import com.example.restclientdemo.batch.BatchResult;
+import com.example.restclientdemo.batch.MicroBatcher;
+import com.example.restclientdemo.cache.EntityCache;
+import com.example.restclientdemo.cache.NegativeLookupCache;
 import com.example.restclientdemo.client.UserClient;
+import com.example.restclientdemo.metrics.ExchangeTimings;
 import com.example.restclientdemo.model.User;
+import com.example.restclientdemo.retry.RetryBudgetRegistry;
+import com.example.restclientdemo.retry.RetryExecutor;
 import com.example.restclientdemo.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.CommandLineRunner;
@@ -24,12 +41,28 @@ public class UserServiceDemoRunner implements CommandLineRunner {
 
     private final UserService userService;
     private final UserClient userClient;
+    private final MicroBatcher<Long, User> userMicroBatcher;
 
     public UserServiceDemoRunner(
             @Qualifier("jsonPlaceholderRestClient") RestClient restClient,
-            @Qualifier("jsonPlaceholderUserClient") UserClient userClient) {
-        this.userService = new UserService(restClient);
+            @Qualifier("jsonPlaceholderUserClient") UserClient userClient,
+            EntityCache<Long, User> userEntityCache,
+            NegativeLookupCache<Long> missingUserCache,
+            MicroBatcher<Long, User> userMicroBatcher,
+            RetryExecutor retryExecutor,
+            RetryBudgetRegistry retryBudgetRegistry,
+            ObjectMapper objectMapper) {
+        this.userService =
+                new UserService(
+                        restClient,
+                        userEntityCache,
+                        missingUserCache,
+                        userMicroBatcher,
+                        retryExecutor,
+                        retryBudgetRegistry.budgetFor("jsonPlaceholderRestClient"),
+                        objectMapper);
         this.userClient = userClient;
+        this.userMicroBatcher = userMicroBatcher;
     }
 
     @Override
@@ -41,6 +74,15 @@ public class UserServiceDemoRunner implements CommandLineRunner {
         // Basic GET Operations
         demonstrateBasicGet();
 
+        // Micro-batching of concurrent getUser calls
+        demonstrateMicroBatching();
+
+        // Batch fetch
+        demonstrateBatchFetch();
+
+        // Streaming JSON arrays
+        demonstrateStreaming();
+
         // Query Parameters
         demonstrateQueryParameters();
 
@@ -77,6 +119,93 @@ public class UserServiceDemoRunner implements CommandLineRunner {
         System.out.println("First user: " + users.get(0).getName());
     }
 
+    private void demonstrateMicroBatching() {
+        System.out.println("\n--- Micro-Batching ---");
+
+        // Independent callers on their own threads, each asking for one user
+        List<Future<User>> futures;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            futures =
+                    LongStream.rangeClosed(2, 10)
+                            .mapToObj(id -> executor.submit(() -> userService.getUser(id)))
+                            .toList();
+        }
+        futures.forEach(future -> System.out.println("Got: " + future.resultNow().getName()));
+        MicroBatcher.Stats stats = userMicroBatcher.stats();
+        System.out.println(
+                "Requests: " + stats.requests() + ", upstream batches: " + stats.batches());
+    }
+
+    private void demonstrateBatchFetch() {
+        System.out.println("\n--- Batch Fetch ---");
+
+        // Ids 1-10 exist, 999 does not, and 1 is repeated
+        List<Long> ids = List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 999L, 1L);
+        BatchResult<Long, User> result = userService.getUsers(ids, 4);
+        System.out.println("Fetched users: " + result.values().size() + " of " + ids.size());
+        result.failures()
+                .forEach(
+                        (id, e) ->
+                                System.out.println(
+                                        "Failed id " + id + ": " + e.getClass().getSimpleName()));
+    }
+
+    private void demonstrateStreaming() {
+        System.out.println("\n--- Streaming ---");
+
+        // Stop after three users; closing the stream releases the connection
+        try (Stream<User> users = userService.streamAllUsers()) {
+            users.limit(3).forEach(user -> System.out.println("Streamed: " + user.getName()));
+        }
+
+        AtomicInteger count = new AtomicInteger();
+        userClient.forEachUser(user -> count.incrementAndGet());
+        System.out.println("HTTP Interface - Users pushed to consumer: " + count.get());
+
+        // Flow.Publisher: request one user at a time and cancel after three
+        CountDownLatch done = new CountDownLatch(1);
+        userClient
+                .publishAllUsers()
+                .subscribe(
+                        new Flow.Subscriber<User>() {
+                            private Flow.Subscription subscription;
+                            private int received;
+
+                            @Override
+                            public void onSubscribe(Flow.Subscription subscription) {
+                                this.subscription = subscription;
+                                subscription.request(1);
+                            }
+
+                            @Override
+                            public void onNext(User user) {
+                                System.out.println("Published: " + user.getName());
+                                if (++received == 3) {
+                                    subscription.cancel();
+                                    done.countDown();
+                                } else {
+                                    subscription.request(1);
+                                }
+                            }
+
+                            @Override
+                            public void onError(Throwable throwable) {
+                                System.out.println("Publisher failed: " + throwable.getMessage());
+                                done.countDown();
+                            }
+
+                            @Override
+                            public void onComplete() {
+                                done.countDown();
+                            }
+                        });
+        try {
+            done.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private void demonstrateQueryParameters() {
         System.out.println("\n--- Query Parameters ---");
 
@@ -136,6 +265,9 @@ public class UserServiceDemoRunner implements CommandLineRunner {
         ResponseEntity<User> response = userService.getUserWithMetadata(1L);
         System.out.println("Response Status: " + response.getStatusCode());
         System.out.println("Response Headers (sample): " + response.getHeaders().getContentType());
+        System.out.println(
+                "Client-Timing: "
+                        + response.getHeaders().getFirst(ExchangeTimings.CLIENT_TIMING));
         System.out.println("Response Body: " + response.getBody().getName());
 
         // Process response (line 329-338)
@@ -170,6 +302,10 @@ public class UserServiceDemoRunner implements CommandLineRunner {
 
         Optional<User> notFound = userService.getUserSafely(999L);
         System.out.println("Optional empty: " + notFound.isEmpty());
+
+        // Retries of 5xx responses, limited by the retry budget of jsonPlaceholderRestClient
+        User retried = userService.getUserWithRetry(2L);
+        System.out.println("With retry: Got user " + retried.getName());
     }
 
     private void demonstrateHttpInterface() {
@@ -1,8 +1,18 @@
 package com.example.restclientdemo.service;
 
+import java.util.List;
+
+import com.example.restclientdemo.exception.CircuitBreakerOpenException;
 import com.example.restclientdemo.exception.ClientErrorException;
 import com.example.restclientdemo.exception.ServerErrorException;
+import com.example.restclientdemo.exception.ServiceUnavailableException;
+import com.example.restclientdemo.retry.AttemptStats;
+import com.example.restclientdemo.retry.RetryBudget;
+import com.example.restclientdemo.retry.RetryBudgetRegistry;
+import com.example.restclientdemo.retry.RetryExecutor;
+import com.example.restclientdemo.retry.RetryProperties;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
@@ -13,12 +23,42 @@ public class ErrorHandlingService {
 
     private final RestClient errorHandlingRestClient;
     private final RestClient defaultRestClient;
+    private final RetryExecutor retryExecutor;
+    private final RetryBudget retryBudget;
 
     public ErrorHandlingService(
             @Qualifier("errorHandlingRestClient") RestClient errorHandlingRestClient,
             @Qualifier("defaultRestClient") RestClient defaultRestClient) {
+        this(
+                errorHandlingRestClient,
+                defaultRestClient,
+                new RetryExecutor(new RetryProperties()),
+                RetryBudget.unlimited());
+    }
+
+    @Autowired
+    public ErrorHandlingService(
+            @Qualifier("errorHandlingRestClient") RestClient errorHandlingRestClient,
+            @Qualifier("defaultRestClient") RestClient defaultRestClient,
+            RetryExecutor retryExecutor,
+            RetryBudgetRegistry retryBudgetRegistry) {
+        this(
+                errorHandlingRestClient,
+                defaultRestClient,
+                retryExecutor,
+                retryBudgetRegistry.budgetFor("errorHandlingRestClient"));
+    }
+
+    /** @param retryBudget limits the retries of calls on errorHandlingRestClient */
+    public ErrorHandlingService(
+            RestClient errorHandlingRestClient,
+            RestClient defaultRestClient,
+            RetryExecutor retryExecutor,
+            RetryBudget retryBudget) {
         this.errorHandlingRestClient = errorHandlingRestClient;
         this.defaultRestClient = defaultRestClient;
+        this.retryExecutor = retryExecutor;
+        this.retryBudget = retryBudget;
     }
 
     public void demonstrateErrorHandling() {
@@ -93,7 +133,9 @@ public class ErrorHandlingService {
     }
 
     /**
-     * Handles 503 Service Unavailable error. Demonstrates handling temporary service disruptions.
+     * Handles 503 Service Unavailable error. The response's {@code Retry-After}, if any, is
+     * surfaced on the exception; the retry is then scheduled for exactly that time, and until then
+     * other requests to the host fail fast instead of hammering it.
      */
     private void handle503ServiceUnavailable() {
         System.out.println("\n4. Testing 503 Service Unavailable:");
@@ -105,7 +147,34 @@ public class ErrorHandlingService {
             System.out.println("Caught ServerErrorException (Service Unavailable):");
             System.out.println("  Status Code: " + e.getStatusCode());
             System.out.println("  Message: " + e.getMessage());
-            System.out.println("  Action: Could implement retry logic here");
+            System.out.println(
+                    "  Retry-After: "
+                            + e.getRetryAfter()
+                                    .map(wait -> wait.toSeconds() + "s")
+                                    .orElse("not sent, using exponential backoff"));
+            retryServiceUnavailable();
+        }
+    }
+
+    private void retryServiceUnavailable() {
+        try {
+            String response =
+                    retryExecutor.execute(
+                            "handle503ServiceUnavailable",
+                            retryBudget,
+                            () ->
+                                    errorHandlingRestClient
+                                            .get()
+                                            .uri("/status/503")
+                                            .retrieve()
+                                            .body(String.class));
+            System.out.println("  Recovered after retry: " + response);
+        } catch (ServerErrorException | ServiceUnavailableException e) {
+            System.out.println(
+                    "  Still unavailable after retries ("
+                            + e.getClass().getSimpleName()
+                            + "): "
+                            + e.getMessage());
         }
     }
 
@@ -153,6 +222,27 @@ public class ErrorHandlingService {
         System.out.println("\n2. Error recovery with retry:");
         String retryResult = getDataWithRetry();
         System.out.println("Result after retry: " + retryResult);
+
+        System.out.println("\n3. Circuit breaker short-circuiting a failing upstream:");
+        demonstrateCircuitBreaker();
+    }
+
+    /**
+     * Keeps calling a failing endpoint until the circuit breaker of errorHandlingRestClient opens.
+     * From then on calls fail with CircuitBreakerOpenException without reaching the server.
+     */
+    private void demonstrateCircuitBreaker() {
+        for (int call = 1; call <= 25; call++) {
+            try {
+                errorHandlingRestClient.get().uri("/status/500").retrieve().body(String.class);
+            } catch (ServerErrorException e) {
+                System.out.println("Call " + call + ": server error " + e.getStatusCode());
+            } catch (CircuitBreakerOpenException e) {
+                System.out.println("Call " + call + ": short-circuited - " + e.getMessage());
+                return;
+            }
+        }
+        System.out.println("Circuit breaker did not open (not configured for this client?)");
     }
 
     /**
@@ -163,47 +253,41 @@ public class ErrorHandlingService {
     private String getDataWithFallback() {
         try {
             return errorHandlingRestClient.get().uri("/status/500").retrieve().body(String.class);
-        } catch (ServerErrorException e) {
+        } catch (ServerErrorException | ServiceUnavailableException e) {
             System.out.println("Error occurred, returning fallback value");
             return "Fallback data: Service temporarily unavailable";
         }
     }
 
     /**
-     * Demonstrates retry logic when an error occurs. In a real application, this could use more
-     * sophisticated retry mechanisms like Spring Retry or Resilience4j.
+     * Demonstrates retry logic when an error occurs. The {@link RetryExecutor} backs off
+     * exponentially with full jitter and schedules the waits on a timer instead of sleeping.
+     * Retries are paid from the retry budget of errorHandlingRestClient; once it is exhausted the
+     * call fails fast with {@code RetryBudgetExhaustedException}.
      *
      * @return the response body after retry
      */
     private String getDataWithRetry() {
-        int maxRetries = 3;
-        int attempt = 0;
-
-        while (attempt < maxRetries) {
-            try {
-                attempt++;
-                System.out.println("Attempt " + attempt + " of " + maxRetries);
-                return errorHandlingRestClient
-                        .get()
-                        .uri("/status/500")
-                        .retrieve()
-                        .body(String.class);
-            } catch (ServerErrorException e) {
-                System.out.println("Attempt " + attempt + " failed: " + e.getMessage());
-                if (attempt >= maxRetries) {
-                    System.out.println("Max retries reached, returning fallback");
-                    return "Fallback data: Service unavailable after " + maxRetries + " retries";
-                }
-                // In real apps, add exponential backoff here
-                try {
-                    Thread.sleep(1000 * attempt); // Simple linear backoff
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    return "Fallback data: Retry interrupted";
-                }
+        try {
+            return retryExecutor.execute(
+                    "getDataWithRetry",
+                    retryBudget,
+                    () ->
+                            errorHandlingRestClient
+                                    .get()
+                                    .uri("/status/500")
+                                    .retrieve()
+                                    .body(String.class));
+        } catch (ServerErrorException | ServiceUnavailableException e) {
+            System.out.println(
+                    "Giving up (" + e.getClass().getSimpleName() + "): " + e.getMessage());
+            return "Fallback data: Service unavailable after retries";
+        } finally {
+            for (AttemptStats stats :
+                    retryExecutor.stats().getOrDefault("getDataWithRetry", List.of())) {
+                System.out.println("  " + stats);
             }
+            System.out.println("  Retry budget: " + retryBudget.stats());
         }
-
-        return "Fallback data: Unexpected retry exit";
     }
 }
@@ -1,7 +1,10 @@
 package com.example.restclientdemo.service;
 
+import java.time.Duration;
 import java.util.Map;
 
+import com.example.restclientdemo.batch.ScatterGather;
+import com.example.restclientdemo.model.HttpBinDashboard;
 import com.example.restclientdemo.model.HttpBinResponse;
 import com.example.restclientdemo.model.User;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -400,4 +403,33 @@ public class HttpBinService {
 
         return response != null ? (String) response.get("user-agent") : null;
     }
+
+    // Scatter-Gather Demo
+    /**
+     * Calls {@link #getHeaders()}, {@link #getIpAddress()}, {@link #getUserAgent()} and {@link
+     * #simpleGet()} concurrently and merges them. Calls that fail or are still running at the
+     * deadline are left out of the result instead of failing it.
+     */
+    public HttpBinDashboard getDashboard(Duration deadline) {
+        System.out.println("\n=== Scatter-Gather Dashboard ===");
+
+        try (ScatterGather gather = new ScatterGather(deadline)) {
+            ScatterGather.Leg<Map<String, String>> headers =
+                    gather.fork("headers", this::getHeaders);
+            ScatterGather.Leg<String> ipAddress = gather.fork("ip", this::getIpAddress);
+            ScatterGather.Leg<String> userAgent = gather.fork("user-agent", this::getUserAgent);
+            ScatterGather.Leg<HttpBinResponse> get = gather.fork("get", this::simpleGet);
+            gather.join();
+
+            return new HttpBinDashboard(
+                    headers.value().orElse(null),
+                    ipAddress.value().orElse(null),
+                    userAgent.value().orElse(null),
+                    get.value().orElse(null),
+                    gather.timings());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while gathering dashboard", e);
+        }
+    }
 }
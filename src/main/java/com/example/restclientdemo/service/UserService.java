@@ -1,16 +1,34 @@
 package com.example.restclientdemo.service;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+import com.example.restclientdemo.batch.BatchFetcher;
+import com.example.restclientdemo.batch.BatchResult;
+import com.example.restclientdemo.batch.MicroBatcher;
+import com.example.restclientdemo.cache.EntityCache;
+import com.example.restclientdemo.cache.NegativeLookupCache;
 import com.example.restclientdemo.exception.ServiceUnavailableException;
 import com.example.restclientdemo.exception.UserNotFoundException;
+import com.example.restclientdemo.http.JsonArrayStream;
+import com.example.restclientdemo.metrics.ExchangeTimer;
+import com.example.restclientdemo.metrics.ExchangeTimings;
 import com.example.restclientdemo.model.User;
+import com.example.restclientdemo.retry.RetryBudget;
+import com.example.restclientdemo.retry.RetryExecutor;
+import com.example.restclientdemo.retry.RetryProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -26,20 +44,97 @@ import org.springframework.web.client.RestClientResponseException;
  * <p>This service contains working examples of all code snippets shown in the
  * spring-restclient-guide.adoc documentation. Note: Not annotated with @Service to avoid bean
  * conflicts. Created manually in DemoRunner.
+ *
+ * <p>Single-user reads go through an optional {@link EntityCache}: PUT and PATCH responses
+ * refresh the cached user and DELETE evicts it. Ids that recently returned 404 are remembered in a
+ * {@link NegativeLookupCache} until they expire or the user is created. With a {@link
+ * MicroBatcher}, cache misses in {@link #getUser(Long)} are combined into multi-id requests.
+ * {@link #getUserWithRetry(Long)} retries server errors within the client's {@link RetryBudget}.
  */
 public class UserService {
 
+    /** Parallel requests per {@link #getUsers(Collection)} call. */
+    public static final int DEFAULT_BATCH_CONCURRENCY = 16;
+
     private final RestClient restClient;
+    private final EntityCache<Long, User> userCache;
+    private final NegativeLookupCache<Long> missingUsers;
+    private final Function<Long, User> userLoader;
+    private final RetryExecutor retryExecutor;
+    private final RetryBudget retryBudget;
+    private final ObjectMapper objectMapper;
 
     public UserService(RestClient restClient) {
+        this(restClient, EntityCache.disabled(), NegativeLookupCache.disabled());
+    }
+
+    public UserService(
+            RestClient restClient,
+            EntityCache<Long, User> userCache,
+            NegativeLookupCache<Long> missingUsers) {
+        this(restClient, userCache, missingUsers, null);
+    }
+
+    /**
+     * @param userBatcher combines concurrent {@link #getUser(Long)} misses into one request, or
+     *     {@code null} to fetch each user on its own
+     */
+    public UserService(
+            RestClient restClient,
+            EntityCache<Long, User> userCache,
+            NegativeLookupCache<Long> missingUsers,
+            MicroBatcher<Long, User> userBatcher) {
+        this(
+                restClient,
+                userCache,
+                missingUsers,
+                userBatcher,
+                new RetryExecutor(new RetryProperties()),
+                RetryBudget.unlimited(),
+                new ObjectMapper());
+    }
+
+    /**
+     * @param retryBudget limits the retries of {@link #getUserWithRetry(Long)}; use the budget of
+     *     the bean behind {@code restClient}
+     * @param objectMapper decodes {@link #streamAllUsers()}; use the application's mapper
+     */
+    public UserService(
+            RestClient restClient,
+            EntityCache<Long, User> userCache,
+            NegativeLookupCache<Long> missingUsers,
+            MicroBatcher<Long, User> userBatcher,
+            RetryExecutor retryExecutor,
+            RetryBudget retryBudget,
+            ObjectMapper objectMapper) {
         this.restClient = restClient;
+        this.userCache = userCache;
+        this.missingUsers = missingUsers;
+        this.userLoader = userBatcher == null ? this::fetchUser : batchedLoader(userBatcher);
+        this.retryExecutor = retryExecutor;
+        this.retryBudget = retryBudget;
+        this.objectMapper = objectMapper;
     }
 
     // ===== Basic Operations =====
 
     /** Simple GET request example from line 119-124 */
     public User getUser(Long id) {
-        return restClient.get().uri("/users/{id}", id).retrieve().body(User.class);
+        return userCache.getOrLoad(id, userLoader);
+    }
+
+    /** Fetches users by id in parallel; see {@link #getUsers(Collection, int)}. */
+    public BatchResult<Long, User> getUsers(Collection<Long> ids) {
+        return getUsers(ids, DEFAULT_BATCH_CONCURRENCY);
+    }
+
+    /**
+     * Fetches users by id on virtual threads, at most {@code maxConcurrency} requests at a time.
+     * Results follow the order of {@code ids}, duplicate ids are fetched once, and an id that fails
+     * is reported in {@link BatchResult#failures()} without aborting the rest.
+     */
+    public BatchResult<Long, User> getUsers(Collection<Long> ids, int maxConcurrency) {
+        return BatchFetcher.fetchAll(ids, this::getUser, maxConcurrency);
     }
 
     /** Get all users example from line 126-132 */
@@ -66,6 +161,45 @@ public class UserService {
                 .body(new ParameterizedTypeReference<List<User>>() {});
     }
 
+    // ===== Streaming =====
+
+    /**
+     * Streaming variant of {@link #getAllUsers()}: users are decoded one at a time as the response
+     * arrives. The stream holds the connection; close it, e.g. with try-with-resources.
+     */
+    public Stream<User> streamAllUsers() {
+        return streamUsers(restClient.get().uri("/users"));
+    }
+
+    /** Streaming variant of {@link #searchUsers(String, Integer)}; close the returned stream. */
+    public Stream<User> streamSearchUsers(String name, Integer minAge) {
+        return streamUsers(
+                restClient
+                        .get()
+                        .uri(
+                                uriBuilder ->
+                                        uriBuilder
+                                                .path("/users/search")
+                                                .queryParam("name", name)
+                                                .queryParam("minAge", minAge)
+                                                .build()));
+    }
+
+    /** Pushes each user to {@code action} as it is decoded, then releases the connection. */
+    public void forEachUser(Consumer<? super User> action) {
+        try (Stream<User> users = streamAllUsers()) {
+            users.forEach(action);
+        }
+    }
+
+    private Stream<User> streamUsers(RestClient.RequestHeadersSpec<?> request) {
+        return request.attribute(JsonArrayStream.STREAMING_ATTRIBUTE, true)
+                .exchange(
+                        (clientRequest, response) ->
+                                JsonArrayStream.open(response, objectMapper, User.class),
+                        false);
+    }
+
     /** GET with query parameters using string formatting (line 159-164) */
     public List<User> searchUsersWithStringFormat(String name, Integer age) {
         return restClient
@@ -77,13 +211,18 @@ public class UserService {
 
     /** POST request example (line 173-180) */
     public User createUser(User user) {
-        return restClient
-                .post()
-                .uri("/users")
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(user)
-                .retrieve()
-                .body(User.class);
+        User created =
+                restClient
+                        .post()
+                        .uri("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(user)
+                        .retrieve()
+                        .body(User.class);
+        if (created != null && created.getId() != null) {
+            missingUsers.invalidate(created.getId());
+        }
+        return created;
     }
 
     /** Form data submission example (line 187-198) */
@@ -103,35 +242,43 @@ public class UserService {
 
     /** PUT request example (line 207-214) */
     public User updateUser(Long id, User user) {
-        return restClient
-                .put()
-                .uri("/users/{id}", id)
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(user)
-                .retrieve()
-                .body(User.class);
+        User updated =
+                restClient
+                        .put()
+                        .uri("/users/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(user)
+                        .retrieve()
+                        .body(User.class);
+        refreshCachedUser(id, updated);
+        return updated;
     }
 
     /** PATCH request example (line 216-223) */
     public User partialUpdateUser(Long id, Map<String, Object> updates) {
-        return restClient
-                .patch()
-                .uri("/users/{id}", id)
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(updates)
-                .retrieve()
-                .body(User.class);
+        User patched =
+                restClient
+                        .patch()
+                        .uri("/users/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(updates)
+                        .retrieve()
+                        .body(User.class);
+        refreshCachedUser(id, patched);
+        return patched;
     }
 
     /** DELETE request example (line 232-237) */
     public void deleteUser(Long id) {
         restClient.delete().uri("/users/{id}", id).retrieve().toBodilessEntity();
+        userCache.evict(id);
     }
 
     /** DELETE with status code return (line 239-246) */
     public int deleteUserWithStatus(Long id) {
         ResponseEntity<Void> response =
                 restClient.delete().uri("/users/{id}", id).retrieve().toBodilessEntity();
+        userCache.evict(id);
 
         return response.getStatusCode().value();
     }
@@ -140,28 +287,35 @@ public class UserService {
 
     /** Custom headers example (line 257-264) */
     public User getUserWithHeaders(Long id) {
-        return restClient
-                .get()
-                .uri("/users/{id}", id)
-                .header("X-Request-ID", UUID.randomUUID().toString())
-                .header("X-API-Version", "v2")
-                .retrieve()
-                .body(User.class);
+        return userCache.getOrLoad(
+                id,
+                key ->
+                        restClient
+                                .get()
+                                .uri("/users/{id}", key)
+                                .header("X-Request-ID", UUID.randomUUID().toString())
+                                .header("X-API-Version", "v2")
+                                .retrieve()
+                                .body(User.class));
     }
 
     /** Headers consumer example (line 271-281) */
     public User getUserWithDynamicHeaders(Long id) {
-        return restClient
-                .get()
-                .uri("/users/{id}", id)
-                .headers(
-                        headers -> {
-                            headers.set("X-Request-ID", UUID.randomUUID().toString());
-                            headers.set("X-Timestamp", Instant.now().toString());
-                            headers.setAccept(List.of(MediaType.APPLICATION_JSON));
-                        })
-                .retrieve()
-                .body(User.class);
+        return userCache.getOrLoad(
+                id,
+                key ->
+                        restClient
+                                .get()
+                                .uri("/users/{id}", key)
+                                .headers(
+                                        headers -> {
+                                            headers.set(
+                                                    "X-Request-ID", UUID.randomUUID().toString());
+                                            headers.set("X-Timestamp", Instant.now().toString());
+                                            headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+                                        })
+                                .retrieve()
+                                .body(User.class));
     }
 
     /** Basic authentication example (line 290-296) */
@@ -174,9 +328,17 @@ public class UserService {
                 .body(User.class);
     }
 
-    /** Response entity access example (line 322-327) */
+    /**
+     * Response entity access example (line 322-327). Always fetched, since the caller wants the
+     * response metadata, but the body refreshes the cached user. When the bean is timed, the
+     * response carries a {@code Client-Timing} header with the phases of the exchange.
+     */
     public ResponseEntity<User> getUserWithMetadata(Long id) {
-        return restClient.get().uri("/users/{id}", id).retrieve().toEntity(User.class);
+        ExchangeTimer.clearLast();
+        ResponseEntity<User> response =
+                restClient.get().uri("/users/{id}", id).retrieve().toEntity(User.class);
+        userCache.put(id, response.getBody());
+        return ExchangeTimings.withClientTiming(response);
     }
 
     /** Process response with metadata (line 329-338) */
@@ -193,17 +355,24 @@ public class UserService {
 
     /** Basic error handling example (line 347-358) */
     public User getUserWithErrorHandling(Long id) {
+        if (missingUsers.isKnownMissing(id)) {
+            throw new UserNotFoundException("User not found with id: " + id);
+        }
         try {
             return restClient.get().uri("/users/{id}", id).retrieve().body(User.class);
         } catch (RestClientResponseException e) {
             System.err.println("Error status: " + e.getStatusCode());
             System.err.println("Error body: " + e.getResponseBodyAsString());
+            recordIfNotFound(id, e.getStatusCode());
             throw new UserNotFoundException("User not found with id: " + id);
         }
     }
 
     /** Custom error handling with status handlers (line 365-378) */
     public User getUserWithCustomErrorHandling(Long id) {
+        if (missingUsers.isKnownMissing(id)) {
+            throw new UserNotFoundException("User not found: " + HttpStatus.NOT_FOUND);
+        }
         return restClient
                 .get()
                 .uri("/users/{id}", id)
@@ -211,6 +380,7 @@ public class UserService {
                 .onStatus(
                         HttpStatusCode::is4xxClientError,
                         (request, response) -> {
+                            recordIfNotFound(id, response.getStatusCode());
                             throw new UserNotFoundException(
                                     "User not found: " + response.getStatusCode());
                         })
@@ -223,13 +393,78 @@ public class UserService {
                 .body(User.class);
     }
 
+    /**
+     * Like {@link #getUserWithCustomErrorHandling(Long)}, retrying 5xx responses with backoff as
+     * long as the retry budget allows. A missing user is not retried.
+     *
+     * @throws com.example.restclientdemo.exception.RetryBudgetExhaustedException if a retry was
+     *     needed but the budget is used up
+     */
+    public User getUserWithRetry(Long id) {
+        return userCache.getOrLoad(
+                id,
+                key ->
+                        retryExecutor.execute(
+                                "UserService.getUser",
+                                retryBudget,
+                                () -> getUserWithCustomErrorHandling(key)));
+    }
+
     /** Error handling with Optional (line 779-789) */
     public Optional<User> getUserSafely(Long id) {
+        Optional<User> cached = userCache.get(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        if (missingUsers.isKnownMissing(id)) {
+            return Optional.empty();
+        }
         try {
             User user = restClient.get().uri("/users/{id}", id).retrieve().body(User.class);
+            userCache.put(id, user);
             return Optional.ofNullable(user);
         } catch (HttpClientErrorException.NotFound e) {
+            recordIfNotFound(id, e.getStatusCode());
             return Optional.empty();
         }
     }
+
+    private User fetchUser(Long id) {
+        return restClient.get().uri("/users/{id}", id).retrieve().body(User.class);
+    }
+
+    /**
+     * A multi-id response simply omits unknown ids. They are reported as the 404 a single-id
+     * request would have raised, so {@link #getUser(Long)} fails the same way with or without a
+     * batcher.
+     */
+    private static Function<Long, User> batchedLoader(MicroBatcher<Long, User> userBatcher) {
+        return id -> {
+            User user = userBatcher.get(id);
+            if (user == null) {
+                throw HttpClientErrorException.create(
+                        HttpStatus.NOT_FOUND,
+                        "User not found with id: " + id,
+                        HttpHeaders.EMPTY,
+                        null,
+                        null);
+            }
+            return user;
+        };
+    }
+
+    private void recordIfNotFound(Long id, HttpStatusCode statusCode) {
+        if (statusCode.value() == HttpStatus.NOT_FOUND.value()) {
+            userCache.evict(id);
+            missingUsers.recordMissing(id);
+        }
+    }
+
+    private void refreshCachedUser(Long id, User user) {
+        if (user != null) {
+            userCache.put(id, user);
+        } else {
+            userCache.evict(id);
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package com.example.restclientdemo.transport;
+
+import java.io.IOException;
+
+import com.example.restclientdemo.http.ObservedClientHttpResponse;
+import com.example.restclientdemo.metrics.ExchangeTimer;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Takes a connection slot from the shared {@link ConnectionPoolRegistry} for every exchange and
+ * returns it when the response is closed, so the per-host limit holds across all RestClient beans.
+ *
+ * <p>For timed exchanges it reports the slot wait to the current {@link ExchangeTimer}.
+ */
+public class ConnectionPoolInterceptor implements ClientHttpRequestInterceptor {
+
+    private final ConnectionPoolRegistry registry;
+
+    public ConnectionPoolInterceptor(ConnectionPoolRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(
+            HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        HostPool pool = registry.pool(request.getURI());
+        ExchangeTimer timer = ExchangeTimer.current();
+        long waitStart = System.nanoTime();
+        pool.acquire();
+        if (timer != null) {
+            timer.connectionAcquired(System.nanoTime() - waitStart);
+        }
+        try {
+            return new ObservedClientHttpResponse(execution.execute(request, body), pool::release);
+        } catch (IOException | RuntimeException e) {
+            pool.discard();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.restclientdemo.transport;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.example.restclientdemo.http.Origin;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+
+/**
+ * Connection pools shared by every pooled RestClient bean.
+ *
+ * <p>All beans that use the same HTTP version share one JDK HttpClient, and therefore one socket
+ * pool, so several beans pointing at the same base URL reuse each other's connections and TLS
+ * sessions instead of opening their own. Per-host limits and statistics are kept in a {@link
+ * HostPool} per scheme/host/port. Beans on the {@code HTTP_COMPONENTS} transport likewise share
+ * one Apache HttpClient, created on first use.
+ *
+ * <p>Keep-alive and idle TTL of the JDK connection pool are JVM-wide system properties read once
+ * when the first HttpClient in the JVM is created, so they are set here before this registry builds
+ * a client. If anything else in the JVM created an HttpClient earlier, the values set here are
+ * silently ignored; pass {@code -Djdk.httpclient.keepalive.timeout=...} on the command line to be
+ * sure they apply. Values passed with {@code -D} also take precedence over the configured ones.
+ *
+ * <p>{@link #close()} closes the shared clients and their executor on shutdown.
+ */
+public class ConnectionPoolRegistry implements AutoCloseable {
+
+    private final HttpTransportProperties properties;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<HttpClient.Version, HttpClient> clients = new ConcurrentHashMap<>();
+    private final Map<Origin, HostPool> pools = new ConcurrentHashMap<>();
+    private volatile CloseableHttpClient httpComponentsClient;
+
+    public ConnectionPoolRegistry(HttpTransportProperties properties) {
+        this.properties = properties;
+        applyJdkPoolProperties(properties);
+    }
+
+    /** Returns the HttpClient shared by all beans using the given protocol version. */
+    public HttpClient httpClient(boolean http2) {
+        HttpClient.Version version =
+                http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1;
+        return clients.computeIfAbsent(
+                version,
+                v ->
+                        HttpClient.newBuilder()
+                                .version(v)
+                                .connectTimeout(properties.getConnectTimeout())
+                                .executor(executor)
+                                .build());
+    }
+
+    /** Returns the Apache HttpClient shared by all {@code HTTP_COMPONENTS} beans. */
+    public CloseableHttpClient httpComponentsClient() {
+        CloseableHttpClient client = httpComponentsClient;
+        if (client == null) {
+            synchronized (this) {
+                client = httpComponentsClient;
+                if (client == null) {
+                    client = HttpComponentsClientFactory.create(properties);
+                    httpComponentsClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    public HostPool pool(URI uri) {
+        return pools.computeIfAbsent(Origin.of(uri), this::createPool);
+    }
+
+    /** Statistics for every host contacted so far, ordered by origin. */
+    public List<HostPoolStats> snapshot() {
+        return pools.values().stream()
+                .map(HostPool::stats)
+                .sorted(Comparator.comparing(stats -> stats.origin().toString()))
+                .toList();
+    }
+
+    /** Closes the shared clients, waiting for in-flight exchanges, then their executor. */
+    @Override
+    public void close() {
+        clients.values().forEach(HttpClient::close);
+        executor.close();
+        CloseableHttpClient client = httpComponentsClient;
+        if (client != null) {
+            try {
+                client.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private HostPool createPool(Origin origin) {
+        long idleTtlNanos = properties.isKeepAlive() ? properties.getIdleTimeout().toNanos() : 0;
+        return new HostPool(origin, properties.maxConnectionsFor(origin), idleTtlNanos);
+    }
+
+    private static void applyJdkPoolProperties(HttpTransportProperties properties) {
+        // A keep-alive timeout of zero makes every connection expire as soon as it is released
+        long idleSeconds =
+                properties.isKeepAlive() ? Math.max(1, properties.getIdleTimeout().toSeconds()) : 0;
+        setIfAbsent("jdk.httpclient.keepalive.timeout", String.valueOf(idleSeconds));
+        setIfAbsent("jdk.httpclient.keepalive.timeout.h2", String.valueOf(idleSeconds));
+    }
+
+    private static void setIfAbsent(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.restclientdemo.transport;
+
+import java.io.InterruptedIOException;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.example.restclientdemo.http.Origin;
+
+/**
+ * Connection accounting for one scheme/host/port, shared by every RestClient bean.
+ *
+ * <p>The slot limit and the wait counts are exact. Connection reuse is not: the JDK HttpClient
+ * does not report whether an exchange reused a pooled connection, so it is estimated from the
+ * pool's own rules. A released connection is assumed to stay idle for the keep-alive TTL, and an
+ * exchange that starts while one is idle is counted as reusing it; otherwise as needing a new
+ * connection and, for https, a TLS handshake. The JDK may close connections earlier, and for
+ * HTTP/2 origins, where streams share one connection, new connections are overcounted.
+ */
+public class HostPool {
+
+    private final Origin origin;
+    private final int maxConnections;
+    private final long idleTtlNanos;
+    private final Semaphore permits;
+    private final Deque<Long> idleSince = new ConcurrentLinkedDeque<>();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder estimatedReuses = new LongAdder();
+    private final LongAdder estimatedNewConnections = new LongAdder();
+    private final LongAdder waited = new LongAdder();
+
+    HostPool(Origin origin, int maxConnections, long idleTtlNanos) {
+        this.origin = origin;
+        this.maxConnections = maxConnections;
+        this.idleTtlNanos = idleTtlNanos;
+        this.permits = new Semaphore(maxConnections, true);
+    }
+
+    /** Blocks until a connection slot is free. */
+    public void acquire() throws InterruptedIOException {
+        if (!permits.tryAcquire()) {
+            waited.increment();
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(
+                        "Interrupted waiting for a connection to " + origin);
+            }
+        }
+        acquired.increment();
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+        if (pollIdleConnection()) {
+            estimatedReuses.increment();
+        } else {
+            estimatedNewConnections.increment();
+        }
+    }
+
+    /** Returns the slot; the connection is assumed idle and reusable for the keep-alive TTL. */
+    public void release() {
+        if (idleTtlNanos > 0) {
+            idleSince.offerFirst(System.nanoTime());
+        }
+        inFlight.decrementAndGet();
+        permits.release();
+    }
+
+    /** Returns the slot without offering the connection for reuse (e.g. after an I/O error). */
+    public void discard() {
+        inFlight.decrementAndGet();
+        permits.release();
+    }
+
+    public HostPoolStats stats() {
+        purgeExpired();
+        return new HostPoolStats(
+                origin,
+                maxConnections,
+                inFlight.get(),
+                peakInFlight.get(),
+                idleSince.size(),
+                acquired.sum(),
+                estimatedReuses.sum(),
+                estimatedNewConnections.sum(),
+                waited.sum());
+    }
+
+    private boolean pollIdleConnection() {
+        long now = System.nanoTime();
+        Long since;
+        while ((since = idleSince.pollFirst()) != null) {
+            if (now - since < idleTtlNanos) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void purgeExpired() {
+        long now = System.nanoTime();
+        idleSince.removeIf(since -> now - since >= idleTtlNanos);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.restclientdemo.transport;
+
+import com.example.restclientdemo.http.Origin;
+
+/**
+ * Point-in-time view of a {@link HostPool}.
+ *
+ * @param idleConnections connections assumed idle, an estimate like the two below
+ * @param estimatedReuses exchanges that started while a connection was assumed idle
+ * @param estimatedNewConnections exchanges that started while none was
+ */
+public record HostPoolStats(
+        Origin origin,
+        int maxConnections,
+        int inFlight,
+        int peakInFlight,
+        int idleConnections,
+        long acquired,
+        long estimatedReuses,
+        long estimatedNewConnections,
+        long waited) {
+
+    public double estimatedReuseRatio() {
+        long total = estimatedReuses + estimatedNewConnections;
+        return total == 0 ? 0.0 : (double) estimatedReuses / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%s limit=%d inFlight=%d peak=%d acquired=%d waited=%d"
+                        + " estimated: idle=%d reuse=%d/%d (%.0f%%)",
+                origin,
+                maxConnections,
+                inFlight,
+                peakInFlight,
+                acquired,
+                waited,
+                idleConnections,
+                estimatedReuses,
+                estimatedReuses + estimatedNewConnections,
+                estimatedReuseRatio() * 100);
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.restclientdemo.transport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import javax.net.ssl.SSLSocket;
+
+import com.example.restclientdemo.metrics.ExchangeTimer;
+
+import org.apache.hc.client5.http.DnsResolver;
+import org.apache.hc.client5.http.SystemDefaultDnsResolver;
+import org.apache.hc.client5.http.classic.ExecChainHandler;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.ChainElement;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.ssl.DefaultClientTlsStrategy;
+import org.apache.hc.client5.http.ssl.TlsSocketStrategy;
+import org.apache.hc.core5.http.HttpConnection;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.impl.DefaultConnectionReuseStrategy;
+import org.apache.hc.core5.http.impl.Http1StreamListener;
+import org.apache.hc.core5.http.impl.io.HttpRequestExecutor;
+import org.apache.hc.core5.http.io.entity.HttpEntityWrapper;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+/**
+ * Builds the Apache HttpClient behind {@link TransportMode#HTTP_COMPONENTS} beans, with hooks that
+ * report each connection phase to the current {@link ExchangeTimer}.
+ *
+ * <p>The classic client runs the whole exchange on the calling thread, so every hook sees the
+ * timer {@code LatencyInterceptor} made current: the DNS resolver and the TLS strategy are only
+ * called for a new connection, a handler right after the connect step marks the connection as
+ * ready (new or reused), and the request executor's stream listener and a wrapper around the
+ * request body mark the end of the request write.
+ *
+ * <p>The per-host connection limit is enforced by {@link HostPool}, as for the JDK client, so
+ * Apache's own pool is not limited per route and never makes a request wait.
+ */
+final class HttpComponentsClientFactory {
+
+    private HttpComponentsClientFactory() {}
+
+    static CloseableHttpClient create(HttpTransportProperties properties) {
+        ConnectionConfig connectionConfig =
+                ConnectionConfig.custom()
+                        .setConnectTimeout(timeout(properties.getConnectTimeout().toMillis()))
+                        .setSocketTimeout(timeout(properties.getReadTimeout().toMillis()))
+                        .build();
+        HttpClientBuilder builder =
+                HttpClients.custom()
+                        .setConnectionManager(
+                                PoolingHttpClientConnectionManagerBuilder.create()
+                                        .setDnsResolver(new TimingDnsResolver())
+                                        .setTlsSocketStrategy(
+                                                timingTlsStrategy(
+                                                        DefaultClientTlsStrategy
+                                                                .createSystemDefault()))
+                                        .setDefaultConnectionConfig(connectionConfig)
+                                        .setMaxConnPerRoute(Integer.MAX_VALUE)
+                                        .setMaxConnTotal(Integer.MAX_VALUE)
+                                        .build())
+                        .setRequestExecutor(
+                                new HttpRequestExecutor(
+                                        HttpRequestExecutor.DEFAULT_WAIT_FOR_CONTINUE,
+                                        DefaultConnectionReuseStrategy.INSTANCE,
+                                        new TimingStreamListener()))
+                        .addExecInterceptorAfter(
+                                ChainElement.CONNECT.name(), "exchange-timer", connectionReady())
+                        .evictIdleConnections(
+                                TimeValue.ofMilliseconds(properties.getIdleTimeout().toMillis()));
+        if (properties.isKeepAlive()) {
+            builder.setKeepAliveStrategy(
+                    (response, context) ->
+                            TimeValue.ofMilliseconds(properties.getIdleTimeout().toMillis()));
+        } else {
+            builder.setConnectionReuseStrategy((request, response, context) -> false);
+        }
+        return builder.build();
+    }
+
+    private static TlsSocketStrategy timingTlsStrategy(TlsSocketStrategy delegate) {
+        return (socket, target, port, attachment, context) -> {
+            long start = System.nanoTime();
+            SSLSocket upgraded = delegate.upgrade(socket, target, port, attachment, context);
+            ExchangeTimer timer = ExchangeTimer.current();
+            if (timer != null) {
+                timer.tlsHandshakeCompleted(start);
+            }
+            return upgraded;
+        };
+    }
+
+    /** Runs after the connect step, for new and reused connections alike. */
+    private static ExecChainHandler connectionReady() {
+        return (request, scope, chain) -> {
+            ExchangeTimer timer = ExchangeTimer.current();
+            if (timer != null) {
+                timer.connectionReady();
+                HttpEntity entity = request.getEntity();
+                if (entity != null) {
+                    request.setEntity(new TimedEntity(entity, timer));
+                }
+            }
+            return chain.proceed(request, scope);
+        };
+    }
+
+    private static Timeout timeout(long millis) {
+        return Timeout.ofMilliseconds(millis);
+    }
+
+    private static final class TimingDnsResolver implements DnsResolver {
+
+        @Override
+        public InetAddress[] resolve(String host) throws UnknownHostException {
+            long start = System.nanoTime();
+            InetAddress[] addresses = SystemDefaultDnsResolver.INSTANCE.resolve(host);
+            ExchangeTimer timer = ExchangeTimer.current();
+            if (timer != null) {
+                timer.dnsResolved(start);
+            }
+            return addresses;
+        }
+
+        @Override
+        public String resolveCanonicalHostname(String host) throws UnknownHostException {
+            return SystemDefaultDnsResolver.INSTANCE.resolveCanonicalHostname(host);
+        }
+    }
+
+    /** Marks the request as written once its head is sent; {@link TimedEntity} adds the body. */
+    private static final class TimingStreamListener implements Http1StreamListener {
+
+        @Override
+        public void onRequestHead(HttpConnection connection, HttpRequest request) {
+            ExchangeTimer timer = ExchangeTimer.current();
+            if (timer != null) {
+                timer.requestWritten();
+            }
+        }
+
+        @Override
+        public void onResponseHead(HttpConnection connection, HttpResponse response) {}
+
+        @Override
+        public void onExchangeComplete(HttpConnection connection, boolean keepAlive) {}
+    }
+
+    private static final class TimedEntity extends HttpEntityWrapper {
+
+        private final ExchangeTimer timer;
+
+        TimedEntity(HttpEntity entity, ExchangeTimer timer) {
+            super(entity);
+            this.timer = timer;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            super.writeTo(out);
+            timer.requestWritten();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.restclientdemo.transport;
+
+import java.util.function.Consumer;
+
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Applies the configured {@link TransportMode} to a RestClient builder.
+ *
+ * <p>{@code SIMPLE} leaves the builder untouched so the Spring Boot auto-configured factory is
+ * used. {@code POOLED} installs a {@link JdkClientHttpRequestFactory} over the HttpClient shared
+ * through the {@link ConnectionPoolRegistry}, which keeps idle connections alive, multiplexes
+ * HTTP/2 streams and enforces the per-host connection limit. {@code HTTP_COMPONENTS} does the same
+ * over the shared Apache HttpClient, which also reports the connection phases of each exchange.
+ */
+public class HttpTransportFactory {
+
+    private final HttpTransportProperties properties;
+    private final ConnectionPoolRegistry registry;
+
+    public HttpTransportFactory(
+            HttpTransportProperties properties, ConnectionPoolRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    /** Returns a builder customizer that installs the transport configured for the bean. */
+    public Consumer<RestClient.Builder> forClient(String clientName) {
+        HttpTransportProperties.Settings settings = properties.settingsFor(clientName);
+        if (settings.mode() == TransportMode.SIMPLE) {
+            return builder -> {};
+        }
+        ClientHttpRequestFactory requestFactory =
+                settings.mode() == TransportMode.HTTP_COMPONENTS
+                        ? new HttpComponentsClientHttpRequestFactory(
+                                registry.httpComponentsClient())
+                        : pooledRequestFactory(settings);
+        return builder ->
+                builder.requestFactory(requestFactory)
+                        .requestInterceptor(new ConnectionPoolInterceptor(registry));
+    }
+
+    private JdkClientHttpRequestFactory pooledRequestFactory(
+            HttpTransportProperties.Settings settings) {
+        JdkClientHttpRequestFactory requestFactory =
+                new JdkClientHttpRequestFactory(registry.httpClient(settings.http2()));
+        requestFactory.setReadTimeout(settings.readTimeout());
+        return requestFactory;
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.restclientdemo.transport;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.example.restclientdemo.http.ClientNames;
+import com.example.restclientdemo.http.Origin;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Transport settings for the RestClient beans, bound from {@code app.http.transport.*}.
+ *
+ * <p>The top-level values are defaults; entries under {@code app.http.transport.clients.<bean>}
+ * override the mode for a single RestClient bean, and entries under {@code
+ * app.http.transport.hosts.<host>} override the connection limit for a host, which is shared by
+ * every bean talking to it, e.g.
+ *
+ * <pre>
+ * app.http.transport.mode=pooled
+ * app.http.transport.clients.errorHandlingRestClient.mode=simple
+ * app.http.transport.hosts[jsonplaceholder.typicode.com].max-connections=50
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.http.transport")
+public class HttpTransportProperties {
+
+    private TransportMode mode = TransportMode.SIMPLE;
+
+    /** Negotiate HTTP/2 (ALPN for https, h2c upgrade for http) and multiplex streams. */
+    private boolean http2 = true;
+
+    /** Default maximum of concurrent connections (or HTTP/2 streams) per scheme/host/port. */
+    private int maxConnectionsPerRoute = 20;
+
+    /** How long an idle pooled connection is kept before it is closed. */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    /** Whether idle connections are returned to the pool at all. */
+    private boolean keepAlive = true;
+
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    private Map<String, Client> clients = new LinkedHashMap<>();
+
+    private Map<String, Host> hosts = new LinkedHashMap<>();
+
+    public TransportMode getMode() {
+        return mode;
+    }
+
+    public void setMode(TransportMode mode) {
+        this.mode = mode;
+    }
+
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    public void setHttp2(boolean http2) {
+        this.http2 = http2;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    public void setKeepAlive(boolean keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public Map<String, Client> getClients() {
+        return clients;
+    }
+
+    public void setClients(Map<String, Client> clients) {
+        this.clients = clients;
+    }
+
+    public Map<String, Host> getHosts() {
+        return hosts;
+    }
+
+    public void setHosts(Map<String, Host> hosts) {
+        this.hosts = hosts;
+    }
+
+    /**
+     * Connection limit for an origin. A {@code host:port} entry wins over a plain {@code host}
+     * entry, which wins over {@link #getMaxConnectionsPerRoute()}.
+     */
+    public int maxConnectionsFor(Origin origin) {
+        Host host = hosts.get(origin.host() + ":" + origin.port());
+        if (host == null) {
+            host = hosts.get(origin.host());
+        }
+        return host != null && host.getMaxConnections() != null
+                ? host.getMaxConnections()
+                : maxConnectionsPerRoute;
+    }
+
+    /** Resolves the effective settings for a RestClient bean, applying its overrides. */
+    public Settings settingsFor(String clientName) {
+        Client client = findClient(clientName);
+        return new Settings(
+                client.getMode() != null ? client.getMode() : mode,
+                client.getHttp2() != null ? client.getHttp2() : http2,
+                readTimeout);
+    }
+
+    private Client findClient(String clientName) {
+        return clients.entrySet().stream()
+                .filter(entry -> ClientNames.matches(entry.getKey(), clientName))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElseGet(Client::new);
+    }
+
+    /** Per-bean overrides; {@code null} means "use the default". */
+    public static class Client {
+        private TransportMode mode;
+        private Boolean http2;
+
+        public TransportMode getMode() {
+            return mode;
+        }
+
+        public void setMode(TransportMode mode) {
+            this.mode = mode;
+        }
+
+        public Boolean getHttp2() {
+            return http2;
+        }
+
+        public void setHttp2(Boolean http2) {
+            this.http2 = http2;
+        }
+    }
+
+    /** Per-host overrides; {@code null} means "use the default". */
+    public static class Host {
+        private Integer maxConnections;
+
+        public Integer getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(Integer maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+    }
+
+    /** Effective transport settings of one RestClient bean. */
+    public record Settings(TransportMode mode, boolean http2, Duration readTimeout) {}
+}
@@ -0,0 +1,23 @@
+package com.example.restclientdemo.transport;
+
+/** HTTP transport used underneath a RestClient bean. */
+public enum TransportMode {
+
+    /**
+     * Keeps the Spring Boot auto-configured request factory ({@code spring.http.client.factory}),
+     * i.e. {@code HttpURLConnection} with its JVM-wide keep-alive cache.
+     */
+    SIMPLE,
+
+    /**
+     * JDK {@link java.net.http.HttpClient} with connection pooling, HTTP/2 multiplexing and a
+     * per-route connection limit.
+     */
+    POOLED,
+
+    /**
+     * Apache HttpClient 5 with connection pooling over HTTP/1.1, which reports DNS lookup, connect,
+     * TLS handshake and request write to the exchange timer. {@code http2} does not apply.
+     */
+    HTTP_COMPONENTS
+}
@@ -0,0 +1,77 @@
+package com.example.restclientdemo.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for BatchFetcher with an in-memory loader. */
+class BatchFetcherTest {
+
+    @Test
+    @DisplayName("Should return outcomes in input order and load duplicate keys once")
+    void testOrderAndDeduplication() {
+        ConcurrentHashMap<Long, AtomicInteger> loads = new ConcurrentHashMap<>();
+
+        BatchResult<Long, String> result =
+                BatchFetcher.fetchAll(
+                        List.of(3L, 1L, 2L, 1L),
+                        id -> {
+                            loads.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet();
+                            return "user-" + id;
+                        },
+                        2);
+
+        assertThat(result.values()).containsExactly("user-3", "user-1", "user-2", "user-1");
+        assertThat(loads.get(1L)).hasValue(1);
+        assertThat(result.hasFailures()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should report failed keys without aborting the batch")
+    void testFailuresAreCollected() {
+        BatchResult<Long, String> result =
+                BatchFetcher.fetchAll(
+                        List.of(1L, 999L, 2L),
+                        id -> {
+                            if (id == 999L) {
+                                throw new IllegalArgumentException("not found: " + id);
+                            }
+                            return "user-" + id;
+                        },
+                        4);
+
+        assertThat(result.values()).containsExactly("user-1", "user-2");
+        assertThat(result.failures()).containsKey(999L);
+        assertThat(result.outcomes().get(1).isSuccess()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should never run more loads at once than the concurrency limit")
+    void testConcurrencyLimit() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<Long> ids = LongStream.rangeClosed(1, 50).boxed().toList();
+
+        BatchFetcher.fetchAll(
+                ids,
+                id -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    return id;
+                },
+                3);
+
+        assertThat(peak.get()).isLessThanOrEqualTo(3);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.restclientdemo.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for MicroBatcher with an in-memory batch loader. */
+class MicroBatcherTest {
+
+    private final List<List<Long>> calls = new CopyOnWriteArrayList<>();
+
+    private Map<Long, String> load(List<Long> ids) {
+        calls.add(ids);
+        return ids.stream()
+                .filter(id -> id < 100)
+                .collect(Collectors.toMap(Function.identity(), id -> "user-" + id));
+    }
+
+    @Test
+    @DisplayName("Should combine loads within the window into one call")
+    void testWindowCombinesLoads() {
+        MicroBatcher<Long, String> batcher =
+                new MicroBatcher<>(this::load, Duration.ofMillis(50), 100, Runnable::run);
+
+        CompletableFuture<String> first = batcher.load(1L);
+        CompletableFuture<String> second = batcher.load(2L);
+        CompletableFuture<String> duplicate = batcher.load(1L);
+
+        assertThat(first.join()).isEqualTo("user-1");
+        assertThat(second.join()).isEqualTo("user-2");
+        assertThat(duplicate).isSameAs(first);
+        assertThat(calls).containsExactly(List.of(1L, 2L));
+        assertThat(batcher.stats().requests()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should dispatch as soon as the batch is full")
+    void testFullBatchDispatchesImmediately() {
+        MicroBatcher<Long, String> batcher =
+                new MicroBatcher<>(this::load, Duration.ofHours(1), 2, Runnable::run);
+
+        CompletableFuture<String> first = batcher.load(1L);
+        CompletableFuture<String> second = batcher.load(2L);
+
+        assertThat(first.isDone()).isTrue();
+        assertThat(second.join()).isEqualTo("user-2");
+        assertThat(batcher.stats().batches()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should complete missing keys with null and fail all keys when the loader fails")
+    void testMissingKeysAndFailures() {
+        MicroBatcher<Long, String> batcher =
+                new MicroBatcher<>(this::load, Duration.ofHours(1), 2, Runnable::run);
+        assertThat(batcher.load(1L)).isNotDone();
+        assertThat(batcher.load(999L).join()).isNull();
+
+        MicroBatcher<Long, String> failing =
+                new MicroBatcher<>(
+                        ids -> {
+                            throw new IllegalStateException("upstream down");
+                        },
+                        Duration.ofHours(1),
+                        1,
+                        Runnable::run);
+        assertThatThrownBy(() -> failing.get(1L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("upstream down");
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.restclientdemo.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for ScatterGather with in-memory legs. */
+class ScatterGatherTest {
+
+    @Test
+    @DisplayName("Should run legs concurrently and return every result")
+    void testAllLegsSucceed() throws InterruptedException {
+        long start = System.nanoTime();
+        try (ScatterGather gather = new ScatterGather(Duration.ofSeconds(2))) {
+            ScatterGather.Leg<String> first = gather.fork("first", () -> sleepThen(200, "a"));
+            ScatterGather.Leg<String> second = gather.fork("second", () -> sleepThen(200, "b"));
+            gather.join();
+
+            assertThat(first.value()).hasValue("a");
+            assertThat(second.value()).hasValue("b");
+            assertThat(Duration.ofNanos(System.nanoTime() - start))
+                    .isLessThan(Duration.ofMillis(380));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep partial results when legs fail or miss the deadline")
+    void testPartialResults() throws InterruptedException {
+        try (ScatterGather gather = new ScatterGather(Duration.ofMillis(300))) {
+            ScatterGather.Leg<String> fast = gather.fork("fast", () -> "ok");
+            ScatterGather.Leg<String> broken =
+                    gather.fork(
+                            "broken",
+                            () -> {
+                                throw new IllegalStateException("boom");
+                            });
+            ScatterGather.Leg<String> slow = gather.fork("slow", () -> sleepThen(5_000, "late"));
+            gather.join();
+
+            assertThat(fast.value()).hasValue("ok");
+            assertThat(broken.state()).isEqualTo(ScatterGather.LegState.FAILED);
+            assertThat(slow.state()).isEqualTo(ScatterGather.LegState.TIMED_OUT);
+            assertThat(slow.value()).isEmpty();
+
+            List<ScatterGather.LegTiming> timings = gather.timings();
+            assertThat(timings).hasSize(3);
+            assertThat(timings.get(1).error()).isEqualTo("boom");
+            assertThat(timings.get(2).elapsed()).isGreaterThanOrEqualTo(Duration.ofMillis(250));
+        }
+    }
+
+    private static String sleepThen(long millis, String value) throws InterruptedException {
+        Thread.sleep(millis);
+        return value;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.restclientdemo.bulkhead;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.example.restclientdemo.exception.BulkheadFullException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for Bulkhead and the per-bean settings of BulkheadProperties. */
+class BulkheadTest {
+
+    private static Bulkhead bulkhead(int maxConcurrentCalls, Duration maxWait) {
+        return new Bulkhead(
+                "errorHandlingRestClient",
+                new BulkheadProperties.Settings(maxConcurrentCalls, maxWait));
+    }
+
+    @Test
+    @DisplayName("Should fail fast when the bulkhead is full and waiting is disabled")
+    void testFailsFastWhenFull() throws Exception {
+        Bulkhead bulkhead = bulkhead(2, Duration.ZERO);
+        bulkhead.acquire();
+        bulkhead.acquire();
+
+        assertThatThrownBy(bulkhead::acquire)
+                .isInstanceOf(BulkheadFullException.class)
+                .hasMessageContaining("errorHandlingRestClient");
+
+        BulkheadStats stats = bulkhead.stats();
+        assertThat(stats.accepted()).isEqualTo(2);
+        assertThat(stats.rejected()).isEqualTo(1);
+        assertThat(stats.inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should admit a waiting call when a permit is released in time")
+    void testWaitsForReleasedPermit() throws Exception {
+        Bulkhead bulkhead = bulkhead(1, Duration.ofSeconds(5));
+        bulkhead.acquire();
+
+        CompletableFuture<Void> waiter =
+                CompletableFuture.runAsync(
+                        () -> {
+                            try {
+                                bulkhead.acquire();
+                            } catch (Exception e) {
+                                throw new IllegalStateException(e);
+                            }
+                        });
+        Thread.sleep(50);
+        assertThat(waiter).isNotDone();
+
+        bulkhead.release();
+        waiter.get(5, TimeUnit.SECONDS);
+
+        BulkheadStats stats = bulkhead.stats();
+        assertThat(stats.waited()).isEqualTo(1);
+        assertThat(stats.rejected()).isZero();
+        assertThat(stats.peakInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a call after the wait timeout")
+    void testRejectsAfterWaitTimeout() throws Exception {
+        Bulkhead bulkhead = bulkhead(1, Duration.ofMillis(20));
+        bulkhead.acquire();
+
+        assertThatThrownBy(bulkhead::acquire).isInstanceOf(BulkheadFullException.class);
+        assertThat(bulkhead.stats().rejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should only configure bulkheads for listed beans, with defaults filled in")
+    void testSettingsPerClient() {
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.setMaxWait(Duration.ofMillis(10));
+        BulkheadProperties.Client client = new BulkheadProperties.Client();
+        client.setMaxConcurrentCalls(5);
+        properties.setClients(Map.of("error-handling-rest-client", client));
+
+        assertThat(properties.settingsFor("errorHandlingRestClient"))
+                .isEqualTo(new BulkheadProperties.Settings(5, Duration.ofMillis(10)));
+        assertThat(properties.settingsFor("defaultRestClient")).isNull();
+    }
+}
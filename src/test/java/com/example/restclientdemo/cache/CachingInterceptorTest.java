@@ -0,0 +1,174 @@
+package com.example.restclientdemo.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Unit tests for CachingInterceptor.
+ *
+ * <p>Upstream responses are queued in a fake execution, so no network is involved and the clock
+ * can be moved forward to make stored responses stale.
+ */
+class CachingInterceptorTest {
+
+    private static final URI USER_URI = URI.create("https://example.com/users/1");
+
+    private MutableClock clock;
+    private HttpResponseCache cache;
+    private CachingInterceptor interceptor;
+    private Deque<ClientHttpResponse> upstream;
+    private List<HttpRequest> sentRequests;
+    private ClientHttpRequestExecution execution;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        cache = new HttpResponseCache(1024 * 1024);
+        interceptor = new CachingInterceptor("test", cache, 64 * 1024, clock);
+        upstream = new ArrayDeque<>();
+        sentRequests = new ArrayList<>();
+        execution =
+                (request, body) -> {
+                    sentRequests.add(request);
+                    return upstream.removeFirst();
+                };
+    }
+
+    @Test
+    @DisplayName("Should serve a fresh response from the cache without a network call")
+    void testFreshResponseIsServedFromCache() throws IOException {
+        upstream.add(response(HttpStatus.OK, "user-v1", HttpHeaders.CACHE_CONTROL, "max-age=60"));
+
+        assertThat(bodyOf(get())).isEqualTo("user-v1");
+        clock.advance(Duration.ofSeconds(30));
+        ClientHttpResponse cached = get();
+
+        assertThat(bodyOf(cached)).isEqualTo("user-v1");
+        assertThat(cached.getHeaders().getFirst(HttpHeaders.AGE)).isEqualTo("30");
+        assertThat(sentRequests).hasSize(1);
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should revalidate a stale response with If-None-Match and reuse it on 304")
+    void testStaleResponseIsRevalidatedWithETag() throws IOException {
+        MockClientHttpResponse first =
+                response(HttpStatus.OK, "user-v1", HttpHeaders.CACHE_CONTROL, "max-age=10");
+        first.getHeaders().add(HttpHeaders.ETAG, "\"v1\"");
+        upstream.add(first);
+        upstream.add(
+                response(HttpStatus.NOT_MODIFIED, "", HttpHeaders.CACHE_CONTROL, "max-age=10"));
+
+        get();
+        clock.advance(Duration.ofSeconds(11));
+        ClientHttpResponse revalidated = get();
+
+        assertThat(bodyOf(revalidated)).isEqualTo("user-v1");
+        assertThat(sentRequests.get(1).getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH))
+                .isEqualTo("\"v1\"");
+        assertThat(cache.stats().revalidations()).isEqualTo(1);
+
+        // The 304 made the entry fresh again
+        get();
+        assertThat(sentRequests).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should not store responses marked no-store")
+    void testNoStoreResponseIsNotCached() throws IOException {
+        upstream.add(response(HttpStatus.OK, "secret", HttpHeaders.CACHE_CONTROL, "no-store"));
+        upstream.add(response(HttpStatus.OK, "secret", HttpHeaders.CACHE_CONTROL, "no-store"));
+
+        get();
+        get();
+
+        assertThat(sentRequests).hasSize(2);
+        assertThat(cache.stats().entries()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should invalidate the stored response after a successful PUT")
+    void testUnsafeMethodInvalidatesEntry() throws IOException {
+        upstream.add(response(HttpStatus.OK, "user-v1", HttpHeaders.CACHE_CONTROL, "max-age=60"));
+        upstream.add(response(HttpStatus.OK, "updated", HttpHeaders.CONTENT_TYPE, "text/plain"));
+        upstream.add(response(HttpStatus.OK, "user-v2", HttpHeaders.CACHE_CONTROL, "max-age=60"));
+
+        get();
+        interceptor.intercept(
+                new MockClientHttpRequest(HttpMethod.PUT, USER_URI), new byte[0], execution);
+
+        assertThat(bodyOf(get())).isEqualTo("user-v2");
+        assertThat(sentRequests).hasSize(3);
+    }
+
+    private ClientHttpResponse get() throws IOException {
+        return interceptor.intercept(
+                new MockClientHttpRequest(HttpMethod.GET, USER_URI), new byte[0], execution);
+    }
+
+    private static MockClientHttpResponse response(
+            HttpStatus status, String body, String headerName, String headerValue) {
+        MockClientHttpResponse response =
+                new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), status);
+        response.getHeaders().add(headerName, headerValue);
+        return response;
+    }
+
+    private static String bodyOf(ClientHttpResponse response) throws IOException {
+        return StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
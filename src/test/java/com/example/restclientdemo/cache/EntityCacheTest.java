@@ -0,0 +1,110 @@
+package com.example.restclientdemo.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for EntityCache using a manual ticker instead of the system clock. */
+class EntityCacheTest {
+
+    private AtomicLong ticker;
+    private EntityCache<Long, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        ticker = new AtomicLong();
+        cache = new EntityCache<>(2, Duration.ofSeconds(10), ticker::get);
+    }
+
+    @Test
+    @DisplayName("Should load once and serve later reads from the cache")
+    void testGetOrLoadCachesValue() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getOrLoad(1L, id -> "user-" + id + "-" + loads.incrementAndGet());
+        String second = cache.getOrLoad(1L, id -> "user-" + id + "-" + loads.incrementAndGet());
+
+        assertThat(second).isEqualTo("user-1-1");
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().hits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not store a load that an evict or put overtook")
+    void testWriteDuringLoadWins() {
+        String evicted =
+                cache.getOrLoad(
+                        1L,
+                        id -> {
+                            cache.evict(id);
+                            return "stale-user-1";
+                        });
+        cache.getOrLoad(
+                2L,
+                id -> {
+                    cache.put(id, "updated-user-2");
+                    return "stale-user-2";
+                });
+
+        assertThat(evicted).isEqualTo("stale-user-1");
+        assertThat(cache.get(1L)).isEmpty();
+        assertThat(cache.get(2L)).contains("updated-user-2");
+    }
+
+    @Test
+    @DisplayName("Should load again after a failed load")
+    void testFailedLoadIsNotStored() {
+        assertThatThrownBy(
+                        () ->
+                                cache.getOrLoad(
+                                        1L,
+                                        id -> {
+                                            throw new IllegalStateException("down");
+                                        }))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.getOrLoad(1L, id -> "user-1")).isEqualTo("user-1");
+        assertThat(cache.get(1L)).contains("user-1");
+    }
+
+    @Test
+    @DisplayName("Should expire entries after the TTL")
+    void testEntriesExpire() {
+        cache.put(1L, "user-1");
+
+        ticker.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        assertThat(cache.get(1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry when full")
+    void testLeastRecentlyUsedIsEvicted() {
+        cache.put(1L, "user-1");
+        cache.put(2L, "user-2");
+        cache.get(1L);
+
+        cache.put(3L, "user-3");
+
+        assertThat(cache.get(1L)).contains("user-1");
+        assertThat(cache.get(2L)).isEmpty();
+        assertThat(cache.get(3L)).contains("user-3");
+    }
+
+    @Test
+    @DisplayName("Should never store anything when disabled")
+    void testDisabledCache() {
+        EntityCache<Long, String> disabled = EntityCache.disabled();
+
+        disabled.put(1L, "user-1");
+
+        assertThat(disabled.get(1L)).isEmpty();
+    }
+}
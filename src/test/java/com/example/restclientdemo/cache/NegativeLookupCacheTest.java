@@ -0,0 +1,67 @@
+package com.example.restclientdemo.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for NegativeLookupCache using a manual ticker instead of the system clock. */
+class NegativeLookupCacheTest {
+
+    private AtomicLong ticker;
+    private NegativeLookupCache<Long> missing;
+
+    @BeforeEach
+    void setUp() {
+        ticker = new AtomicLong();
+        missing = new NegativeLookupCache<>(100, Duration.ofSeconds(30), ticker::get);
+    }
+
+    @Test
+    @DisplayName("Should answer a recorded id as missing and count the hit")
+    void testRecordedIdIsKnownMissing() {
+        assertThat(missing.isKnownMissing(99L)).isFalse();
+
+        missing.recordMissing(99L);
+
+        assertThat(missing.isKnownMissing(99L)).isTrue();
+        assertThat(missing.isKnownMissing(1L)).isFalse();
+        assertThat(missing.stats().hits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should forget a missing id after the TTL")
+    void testEntriesExpire() {
+        missing.recordMissing(99L);
+
+        ticker.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertThat(missing.isKnownMissing(99L)).isTrue();
+        ticker.addAndGet(Duration.ofSeconds(2).toNanos());
+
+        assertThat(missing.isKnownMissing(99L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should forget a missing id once it is invalidated")
+    void testInvalidate() {
+        missing.recordMissing(99L);
+
+        missing.invalidate(99L);
+
+        assertThat(missing.isKnownMissing(99L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should never remember ids when disabled")
+    void testDisabled() {
+        NegativeLookupCache<Long> disabled = NegativeLookupCache.disabled();
+
+        disabled.recordMissing(99L);
+
+        assertThat(disabled.isKnownMissing(99L)).isFalse();
+    }
+}
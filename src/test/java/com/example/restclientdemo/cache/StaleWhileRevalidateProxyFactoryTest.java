@@ -0,0 +1,109 @@
+package com.example.restclientdemo.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for StaleWhileRevalidateProxyFactory with a manual ticker and a queued executor. */
+class StaleWhileRevalidateProxyFactoryTest {
+
+    interface Greeter {
+        String greet(String name);
+
+        String uncached(String name);
+    }
+
+    private final AtomicLong ticker = new AtomicLong();
+    private final List<Runnable> refreshQueue = new ArrayList<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile boolean failing;
+
+    private Greeter greeter;
+    private StaleWhileRevalidateProxyFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        StaleWhileRevalidateProperties.Policy policy = new StaleWhileRevalidateProperties.Policy();
+        policy.setFreshFor(Duration.ofSeconds(10));
+        policy.setStaleWhileRevalidate(Duration.ofSeconds(20));
+        policy.setStaleIfError(Duration.ofSeconds(60));
+        StaleWhileRevalidateProperties properties = new StaleWhileRevalidateProperties();
+        properties.getMethods().put("Greeter.greet", policy);
+
+        factory = new StaleWhileRevalidateProxyFactory(properties, refreshQueue::add, ticker::get);
+        greeter =
+                factory.wrap(
+                        Greeter.class,
+                        new Greeter() {
+                            @Override
+                            public String greet(String name) {
+                                if (failing) {
+                                    throw new IllegalStateException("upstream down");
+                                }
+                                return "hello " + name + " #" + calls.incrementAndGet();
+                            }
+
+                            @Override
+                            public String uncached(String name) {
+                                return "hi " + name + " #" + calls.incrementAndGet();
+                            }
+                        });
+    }
+
+    @Test
+    @DisplayName("Should serve fresh results without calling the target")
+    void testFreshResultIsReused() {
+        assertThat(greeter.greet("ann")).isEqualTo("hello ann #1");
+        assertThat(greeter.greet("ann")).isEqualTo("hello ann #1");
+        assertThat(greeter.greet("bob")).isEqualTo("hello bob #2");
+        assertThat(factory.stats().fresh()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should serve stale results and refresh once in the background")
+    void testStaleResultTriggersSingleRefresh() {
+        greeter.greet("ann");
+        ticker.addAndGet(Duration.ofSeconds(15).toNanos());
+
+        assertThat(greeter.greet("ann")).isEqualTo("hello ann #1");
+        assertThat(greeter.greet("ann")).isEqualTo("hello ann #1");
+        assertThat(refreshQueue).hasSize(1);
+
+        refreshQueue.remove(0).run();
+
+        assertThat(greeter.greet("ann")).isEqualTo("hello ann #2");
+        assertThat(factory.stats().refreshes()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the stale result when a blocking call fails")
+    void testStaleIfError() {
+        greeter.greet("ann");
+        ticker.addAndGet(Duration.ofSeconds(40).toNanos());
+        failing = true;
+
+        assertThat(greeter.greet("ann")).isEqualTo("hello ann #1");
+        assertThat(factory.stats().staleOnError()).isEqualTo(1);
+
+        ticker.addAndGet(Duration.ofSeconds(40).toNanos());
+        assertThatThrownBy(() -> greeter.greet("ann"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("upstream down");
+    }
+
+    @Test
+    @DisplayName("Should pass unconfigured methods straight to the target")
+    void testUnconfiguredMethodIsNotCached() {
+        assertThat(greeter.uncached("ann")).isEqualTo("hi ann #1");
+        assertThat(greeter.uncached("ann")).isEqualTo("hi ann #2");
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.restclientdemo.circuitbreaker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.restclientdemo.circuitbreaker.CircuitBreaker.State;
+import com.example.restclientdemo.exception.CircuitBreakerOpenException;
+import com.example.restclientdemo.exception.ServiceUnavailableException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for CircuitBreaker with a manual clock. */
+class CircuitBreakerTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(10);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<String> transitions = new CopyOnWriteArrayList<>();
+
+    private CircuitBreaker circuitBreaker(int windowSize, int minimumCalls, int probes) {
+        return new CircuitBreaker(
+                "errorHandlingRestClient",
+                new CircuitBreakerProperties.Settings(50, windowSize, minimumCalls, WAIT, probes),
+                (client, from, to) -> transitions.add(from + "->" + to),
+                clock::get);
+    }
+
+    private static void fail(CircuitBreaker circuitBreaker, int calls) {
+        for (int i = 0; i < calls; i++) {
+            circuitBreaker.onFailure(circuitBreaker.acquire());
+        }
+    }
+
+    private static void succeed(CircuitBreaker circuitBreaker, int calls) {
+        for (int i = 0; i < calls; i++) {
+            circuitBreaker.onSuccess(circuitBreaker.acquire());
+        }
+    }
+
+    @Test
+    @DisplayName("Should stay closed until the window holds the minimum number of calls")
+    void testMinimumCalls() {
+        CircuitBreaker circuitBreaker = circuitBreaker(10, 5, 1);
+
+        fail(circuitBreaker, 4);
+        assertThat(circuitBreaker.state()).isEqualTo(State.CLOSED);
+
+        fail(circuitBreaker, 1);
+        assertThat(circuitBreaker.state()).isEqualTo(State.OPEN);
+        assertThat(transitions).containsExactly("CLOSED->OPEN");
+    }
+
+    @Test
+    @DisplayName("Should only count the most recent calls of the sliding window")
+    void testSlidingWindow() {
+        CircuitBreaker circuitBreaker = circuitBreaker(4, 4, 1);
+
+        fail(circuitBreaker, 1);
+        succeed(circuitBreaker, 3);
+        succeed(circuitBreaker, 1);
+        fail(circuitBreaker, 1);
+
+        CircuitBreakerStats stats = circuitBreaker.stats();
+        assertThat(stats.bufferedCalls()).isEqualTo(4);
+        assertThat(stats.failedCalls()).isEqualTo(1);
+        assertThat(stats.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should short-circuit calls while open")
+    void testShortCircuitsWhileOpen() {
+        CircuitBreaker circuitBreaker = circuitBreaker(2, 2, 1);
+        fail(circuitBreaker, 2);
+        clock.addAndGet(Duration.ofSeconds(4).toNanos());
+
+        assertThatThrownBy(circuitBreaker::acquire)
+                .isInstanceOf(ServiceUnavailableException.class)
+                .satisfies(
+                        e ->
+                                assertThat(((CircuitBreakerOpenException) e).getRetryAfter())
+                                        .isEqualTo(Duration.ofSeconds(6)));
+        assertThat(circuitBreaker.stats().notPermittedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should close after the permitted half-open probes succeed")
+    void testHalfOpenProbesClose() {
+        CircuitBreaker circuitBreaker = circuitBreaker(2, 2, 2);
+        fail(circuitBreaker, 2);
+        clock.addAndGet(WAIT.toNanos());
+
+        CircuitBreaker.Permit first = circuitBreaker.acquire();
+        CircuitBreaker.Permit second = circuitBreaker.acquire();
+        assertThat(circuitBreaker.state()).isEqualTo(State.HALF_OPEN);
+        assertThatThrownBy(circuitBreaker::acquire)
+                .isInstanceOf(CircuitBreakerOpenException.class);
+
+        circuitBreaker.onSuccess(first);
+        circuitBreaker.onSuccess(second);
+
+        assertThat(circuitBreaker.state()).isEqualTo(State.CLOSED);
+        assertThat(circuitBreaker.stats().bufferedCalls()).isZero();
+        assertThat(transitions)
+                .containsExactly("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED");
+    }
+
+    @Test
+    @DisplayName("Should reopen when a half-open probe fails")
+    void testHalfOpenProbeFailureReopens() {
+        CircuitBreaker circuitBreaker = circuitBreaker(2, 2, 3);
+        fail(circuitBreaker, 2);
+        clock.addAndGet(WAIT.toNanos());
+
+        fail(circuitBreaker, 1);
+
+        assertThat(circuitBreaker.state()).isEqualTo(State.OPEN);
+        assertThatThrownBy(circuitBreaker::acquire)
+                .isInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    @DisplayName("Should ignore outcomes of calls let through before a transition")
+    void testStaleOutcomesIgnored() {
+        CircuitBreaker circuitBreaker = circuitBreaker(2, 2, 1);
+        CircuitBreaker.Permit slowCall = circuitBreaker.acquire();
+        fail(circuitBreaker, 2);
+        clock.addAndGet(WAIT.toNanos());
+        CircuitBreaker.Permit probe = circuitBreaker.acquire();
+
+        circuitBreaker.onSuccess(slowCall);
+        assertThat(circuitBreaker.state()).isEqualTo(State.HALF_OPEN);
+
+        circuitBreaker.onIgnored(probe);
+        circuitBreaker.onSuccess(circuitBreaker.acquire());
+        assertThat(circuitBreaker.state()).isEqualTo(State.CLOSED);
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.restclientdemo.coalescing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import com.example.restclientdemo.exception.HostPausedException;
+import com.example.restclientdemo.exception.ServiceUnavailableException;
+import com.example.restclientdemo.http.JsonArrayStream;
+import com.example.restclientdemo.http.Origin;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Unit tests for RequestCoalescingInterceptor.
+ *
+ * <p>The fake execution blocks until released, so a second request can be issued while the first
+ * is still in flight.
+ */
+class RequestCoalescingInterceptorTest {
+
+    private static final URI USER_URI = URI.create("https://example.com/users/1");
+
+    private RequestCoalescingInterceptor interceptor;
+    private AtomicInteger executions;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new RequestCoalescingInterceptor(List.of(HttpHeaders.ACCEPT));
+        executions = new AtomicInteger();
+        release = new CountDownLatch(1);
+    }
+
+    @Test
+    @DisplayName("Should send one request upstream and share its response with waiters")
+    void testWaiterSharesLeaderResponse() throws Exception {
+        ClientHttpRequestExecution execution =
+                blockingExecution(() -> new MockClientHttpResponse(bytes("user-1"), HttpStatus.OK));
+
+        CompletableFuture<String> leader = send(get(), execution);
+        awaitExecutions(1);
+        CompletableFuture<String> waiter = send(get(), execution);
+        awaitCoalesced(1);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("user-1");
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("user-1");
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(interceptor.stats().executed()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fail waiters with the leader's exception")
+    void testWaiterSharesLeaderFailure() throws Exception {
+        ClientHttpRequestExecution execution =
+                blockingExecution(
+                        () -> {
+                            throw new HttpTimeoutException("request timed out");
+                        });
+
+        CompletableFuture<String> leader = send(get(), execution);
+        awaitExecutions(1);
+        CompletableFuture<String> waiter = send(get(), execution);
+        awaitCoalesced(1);
+        release.countDown();
+
+        Throwable leaderFailure = failureOf(leader);
+        Throwable waiterFailure = failureOf(waiter);
+        assertThat(leaderFailure).isInstanceOf(HttpTimeoutException.class);
+        assertThat(waiterFailure).isSameAs(leaderFailure);
+        assertThat(leaderFailure.getSuppressed()).isEmpty();
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the type and Retry-After of a paused host for waiters")
+    void testWaiterKeepsServiceUnavailable() throws Exception {
+        ClientHttpRequestExecution execution =
+                blockingExecution(
+                        () -> {
+                            throw new HostPausedException(
+                                    new Origin("https", "example.com", 443),
+                                    Duration.ofSeconds(2));
+                        });
+
+        CompletableFuture<String> leader = send(get(), execution);
+        awaitExecutions(1);
+        CompletableFuture<String> waiter = send(get(), execution);
+        awaitCoalesced(1);
+        release.countDown();
+
+        Throwable waiterFailure = failureOf(waiter);
+        assertThat(waiterFailure).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(((HostPausedException) waiterFailure).getRetryAfter())
+                .isEqualTo(Duration.ofSeconds(2));
+        assertThat(failureOf(leader)).isSameAs(waiterFailure);
+    }
+
+    @Test
+    @DisplayName("Should never coalesce streaming requests")
+    void testStreamingRequestsBypass() throws Exception {
+        ClientHttpRequestExecution execution =
+                blockingExecution(() -> new MockClientHttpResponse(bytes("[]"), HttpStatus.OK));
+
+        MockClientHttpRequest first = get();
+        first.getAttributes().put(JsonArrayStream.STREAMING_ATTRIBUTE, true);
+        MockClientHttpRequest second = get();
+        second.getAttributes().put(JsonArrayStream.STREAMING_ATTRIBUTE, true);
+        CompletableFuture<String> firstResult = send(first, execution);
+        CompletableFuture<String> secondResult = send(second, execution);
+        awaitExecutions(2);
+        release.countDown();
+
+        assertThat(firstResult.get(5, TimeUnit.SECONDS)).isEqualTo("[]");
+        assertThat(secondResult.get(5, TimeUnit.SECONDS)).isEqualTo("[]");
+        assertThat(interceptor.stats().coalesced()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep requests apart when a varying header differs")
+    void testVaryingHeadersArePartOfTheKey() throws Exception {
+        ClientHttpRequestExecution execution =
+                blockingExecution(() -> new MockClientHttpResponse(bytes("user-1"), HttpStatus.OK));
+
+        MockClientHttpRequest json = get();
+        json.getHeaders().set(HttpHeaders.ACCEPT, "application/json");
+        MockClientHttpRequest xml = get();
+        xml.getHeaders().set(HttpHeaders.ACCEPT, "application/xml");
+        MockClientHttpRequest otherJson = get();
+        otherJson.getHeaders().set(HttpHeaders.ACCEPT, "application/json");
+        otherJson.getHeaders().set("X-Request-Id", "42");
+
+        CompletableFuture<String> jsonResult = send(json, execution);
+        CompletableFuture<String> xmlResult = send(xml, execution);
+        awaitExecutions(2);
+        CompletableFuture<String> otherJsonResult = send(otherJson, execution);
+        awaitCoalesced(1);
+        release.countDown();
+
+        jsonResult.get(5, TimeUnit.SECONDS);
+        xmlResult.get(5, TimeUnit.SECONDS);
+        otherJsonResult.get(5, TimeUnit.SECONDS);
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    private interface Upstream {
+        ClientHttpResponse respond() throws IOException;
+    }
+
+    private ClientHttpRequestExecution blockingExecution(Upstream upstream) {
+        return (request, body) -> {
+            executions.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return upstream.respond();
+        };
+    }
+
+    private CompletableFuture<String> send(
+            MockClientHttpRequest request, ClientHttpRequestExecution execution) {
+        return CompletableFuture.supplyAsync(
+                () -> {
+                    try (ClientHttpResponse response =
+                            interceptor.intercept(request, new byte[0], execution)) {
+                        return StreamUtils.copyToString(
+                                response.getBody(), StandardCharsets.UTF_8);
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    private void awaitExecutions(int count) throws InterruptedException {
+        waitFor(() -> executions.get() >= count);
+    }
+
+    private void awaitCoalesced(long count) throws InterruptedException {
+        waitFor(() -> interceptor.stats().coalesced() >= count);
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static Throwable failureOf(CompletableFuture<String> result) {
+        try {
+            result.get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            return e.getCause() instanceof CompletionException c ? c.getCause() : e.getCause();
+        }
+        throw new AssertionError("Expected a failure");
+    }
+
+    private static MockClientHttpRequest get() {
+        return new MockClientHttpRequest(HttpMethod.GET, USER_URI);
+    }
+
+    private static byte[] bytes(String body) {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+}
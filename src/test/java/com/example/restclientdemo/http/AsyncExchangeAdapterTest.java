@@ -0,0 +1,59 @@
+package com.example.restclientdemo.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for the executor and cancellation handling of AsyncExchangeAdapter. */
+class AsyncExchangeAdapterTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AsyncExchangeAdapter adapter = new AsyncExchangeAdapter(null, executor);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should complete with the exchange result from the executor")
+    void testCompletesWithResult() {
+        CompletableFuture<String> future = adapter.submit(() -> "ok");
+
+        assertThat(future.join()).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("Should interrupt the running exchange when cancelled")
+    void testCancelInterruptsExchange() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        CompletableFuture<String> future =
+                adapter.submit(
+                        () -> {
+                            started.countDown();
+                            try {
+                                Thread.sleep(10_000);
+                                return "too late";
+                            } catch (InterruptedException e) {
+                                interrupted.countDown();
+                                throw new IllegalStateException("aborted", e);
+                            }
+                        });
+        assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+
+        future.cancel(true);
+
+        assertThat(interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(future.isCancelled()).isTrue();
+    }
+}
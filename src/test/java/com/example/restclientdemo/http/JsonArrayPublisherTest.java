@@ -0,0 +1,123 @@
+package com.example.restclientdemo.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for JsonArrayPublisher backed by an in-memory stream. */
+class JsonArrayPublisherTest {
+
+    private final AtomicInteger produced = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private Stream<Integer> source() {
+        return IntStream.rangeClosed(1, 100)
+                .boxed()
+                .peek(i -> produced.incrementAndGet())
+                .onClose(() -> closed.set(true));
+    }
+
+    @Test
+    @DisplayName("Should deliver only as many elements as requested")
+    void testRespectsDemand() throws InterruptedException {
+        RecordingSubscriber subscriber = new RecordingSubscriber(3);
+        new JsonArrayPublisher<>(this::source, executor).subscribe(subscriber);
+
+        assertThat(subscriber.received.await(2, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(50);
+
+        assertThat(subscriber.items).containsExactly(1, 2, 3);
+        assertThat(produced.get()).isLessThanOrEqualTo(4);
+
+        subscriber.subscription.cancel();
+        assertThat(subscriber.closedWithin(closed)).isTrue();
+        assertThat(subscriber.completed.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should complete after the last element and close the stream")
+    void testCompletes() throws InterruptedException {
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        new JsonArrayPublisher<>(this::source, executor).subscribe(subscriber);
+
+        assertThat(subscriber.completed.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.items).hasSize(100);
+        assertThat(closed.get()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should signal onError for a non-positive request")
+    void testRejectsInvalidRequest() throws InterruptedException {
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        new JsonArrayPublisher<>(this::source, executor).subscribe(subscriber);
+
+        assertThat(subscriber.completed.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(subscriber.error).isInstanceOf(IllegalArgumentException.class);
+        assertThat(produced.get()).isZero();
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<Integer> {
+
+        private final long initialRequest;
+        private final List<Integer> items = new CopyOnWriteArrayList<>();
+        private final CountDownLatch received;
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile Flow.Subscription subscription;
+        private volatile Throwable error;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+            this.received = new CountDownLatch((int) Math.min(initialRequest, 100));
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            items.add(item);
+            received.countDown();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+
+        boolean closedWithin(AtomicBoolean closed) throws InterruptedException {
+            for (int i = 0; i < 100 && !closed.get(); i++) {
+                Thread.sleep(10);
+            }
+            return closed.get();
+        }
+    }
+}
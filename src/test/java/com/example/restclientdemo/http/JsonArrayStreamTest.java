@@ -0,0 +1,92 @@
+package com.example.restclientdemo.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.example.restclientdemo.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for JsonArrayStream decoding from an in-memory body. */
+class JsonArrayStreamTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should decode array elements in order")
+    void testDecodesElements() throws IOException {
+        String json =
+                "[{\"id\":1,\"name\":\"Ann\",\"company\":{\"name\":\"x\"}},"
+                        + "{\"id\":2,\"name\":\"Bob\"}]";
+
+        try (Stream<User> users = JsonArrayStream.of(body(json), objectMapper, User.class)) {
+            assertThat(users.map(User::getName).toList()).containsExactly("Ann", "Bob");
+        }
+    }
+
+    @Test
+    @DisplayName("Should read the body lazily and close it with the stream")
+    void testReadsLazily() throws IOException {
+        String json =
+                IntStream.rangeClosed(1, 10_000)
+                        .mapToObj(id -> "{\"id\":" + id + ",\"name\":\"user-" + id + "\"}")
+                        .collect(Collectors.joining(",", "[", "]"));
+        CountingInputStream body = new CountingInputStream(body(json));
+
+        try (Stream<User> users = JsonArrayStream.of(body, objectMapper, User.class)) {
+            List<User> first = users.limit(2).toList();
+
+            assertThat(first).hasSize(2);
+            assertThat(body.bytesRead).isLessThan(json.length() / 10);
+        }
+        assertThat(body.closed).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject a body that is not a JSON array")
+    void testRejectsNonArray() throws IOException {
+        Stream<User> users = JsonArrayStream.of(body("{\"id\":1}"), objectMapper, User.class);
+
+        assertThatThrownBy(users::toList).isInstanceOf(UncheckedIOException.class);
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long bytesRead;
+        private boolean closed;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            bytesRead += Math.max(read, 0);
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.restclientdemo.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for the proxy target invocation of Proxies. */
+class ProxiesTest {
+
+    interface Reader {
+        String read(String name) throws IOException;
+    }
+
+    @Test
+    @DisplayName("Should return the target's result")
+    void testReturnsResult() throws Throwable {
+        Reader reader = name -> "read " + name;
+        Method read = Reader.class.getMethod("read", String.class);
+
+        assertThat(Proxies.invoke(reader, read, new Object[] {"a"})).isEqualTo("read a");
+    }
+
+    @Test
+    @DisplayName("Should rethrow the target's exception unwrapped")
+    void testRethrowsCause() throws Exception {
+        IOException failure = new IOException("boom");
+        Reader reader =
+                name -> {
+                    throw failure;
+                };
+        Method read = Reader.class.getMethod("read", String.class);
+
+        assertThatThrownBy(() -> Proxies.invoke(reader, read, new Object[] {"a"}))
+                .isSameAs(failure);
+    }
+}
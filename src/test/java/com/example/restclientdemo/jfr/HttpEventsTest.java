@@ -0,0 +1,146 @@
+package com.example.restclientdemo.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.example.restclientdemo.exception.ServerErrorException;
+import com.example.restclientdemo.retry.RetryExecutor;
+import com.example.restclientdemo.retry.RetryProperties;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for the HTTP Interface call events of HttpEvents. */
+class HttpEventsTest {
+
+    private static final String INTERFACE_CALL = "com.example.restclientdemo.HttpInterfaceCall";
+
+    interface Greeter {
+        String hello(String name);
+    }
+
+    interface AsyncGreeter {
+        CompletableFuture<String> hello(String name);
+    }
+
+    private static List<RecordedEvent> record(Runnable action) throws Exception {
+        Path file = Files.createTempFile("http-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(INTERFACE_CALL).withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        try {
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(INTERFACE_CALL))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Should delegate without a recording")
+    void testPassThroughWhenDisabled() {
+        Greeter greeter =
+                new HttpEvents().wrap(Greeter.class, "defaultRestClient", name -> "hi " + name);
+
+        assertThat(greeter.hello("ann")).isEqualTo("hi ann");
+    }
+
+    @Test
+    @DisplayName("Should end the event of an async call when its future completes")
+    void testRecordsAsyncCallOnCompletion() throws Exception {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        AsyncGreeter greeter =
+                new HttpEvents().wrap(AsyncGreeter.class, "defaultRestClient", name -> pending);
+
+        List<RecordedEvent> events =
+                record(
+                        () -> {
+                            assertThat(greeter.hello("ann")).isSameAs(pending);
+                            pending.completeExceptionally(new IllegalStateException("boom"));
+                        });
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getString("interfaceName")).isEqualTo("AsyncGreeter");
+        assertThat(events.get(0).getString("failure"))
+                .isEqualTo(IllegalStateException.class.getName());
+    }
+
+    @Test
+    @DisplayName("Should record client, interface, method and failure of each call")
+    void testRecordsCalls() throws Exception {
+        Greeter greeter =
+                new HttpEvents()
+                        .wrap(
+                                Greeter.class,
+                                "defaultRestClient",
+                                name -> {
+                                    if (name.isEmpty()) {
+                                        throw new IllegalArgumentException("empty");
+                                    }
+                                    return "hi " + name;
+                                });
+
+        List<RecordedEvent> events =
+                record(
+                        () -> {
+                            greeter.hello("ann");
+                            assertThatThrownBy(() -> greeter.hello(""))
+                                    .isInstanceOf(IllegalArgumentException.class);
+                        });
+
+        assertThat(events).hasSize(2);
+        RecordedEvent ok = events.get(0);
+        assertThat(ok.getString("clientName")).isEqualTo("defaultRestClient");
+        assertThat(ok.getString("interfaceName")).isEqualTo("Greeter");
+        assertThat(ok.getString("methodName")).isEqualTo("hello");
+        assertThat(ok.getString("failure")).isNull();
+        assertThat(events.get(1).getString("failure"))
+                .isEqualTo(IllegalArgumentException.class.getName());
+    }
+
+    @Test
+    @DisplayName("Should record each attempt of a retried call without a retry count")
+    void testRecordsEachAttempt() throws Exception {
+        RetryProperties properties = new RetryProperties();
+        properties.setInitialBackoff(Duration.ofMillis(1));
+        RetryExecutor retryExecutor = new RetryExecutor(properties);
+        AtomicInteger calls = new AtomicInteger();
+        Greeter greeter =
+                new HttpEvents()
+                        .wrap(
+                                Greeter.class,
+                                "defaultRestClient",
+                                name -> {
+                                    if (calls.incrementAndGet() == 1) {
+                                        throw new ServerErrorException(
+                                                "Service unavailable", 503, "");
+                                    }
+                                    return "hi " + name;
+                                });
+
+        List<RecordedEvent> events =
+                record(() -> retryExecutor.execute("greet", () -> greeter.hello("ann")));
+
+        // A proxy call may span several exchanges, so only HttpExchange carries a retry count.
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).hasField("retryCount")).isFalse();
+        assertThat(events.stream().filter(event -> event.getString("failure") != null).count())
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.restclientdemo.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+
+/** Unit tests for how AdaptiveLimitInterceptor classifies failed exchanges. */
+class AdaptiveLimitInterceptorTest {
+
+    private static AdaptiveLimitInterceptor interceptor() {
+        AdaptiveLimitProperties properties = new AdaptiveLimitProperties();
+        properties.setInitialLimit(10);
+        return new AdaptiveLimitInterceptor(properties);
+    }
+
+    private static void failWith(AdaptiveLimitInterceptor interceptor, IOException failure) {
+        ClientHttpRequestExecution execution =
+                (request, body) -> {
+                    throw failure;
+                };
+        MockClientHttpRequest request =
+                new MockClientHttpRequest(HttpMethod.GET, URI.create("https://example.com/users"));
+
+        assertThatThrownBy(() -> interceptor.intercept(request, new byte[0], execution))
+                .isSameAs(failure);
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit after a timeout")
+    void testTimeoutIsDrop() {
+        AdaptiveLimitInterceptor interceptor = interceptor();
+
+        failWith(interceptor, new SocketTimeoutException("Read timed out"));
+
+        AdaptiveLimitStats stats = interceptor.stats().get(0);
+        assertThat(stats.dropped()).isEqualTo(1);
+        assertThat(stats.limit()).isLessThan(10);
+        assertThat(stats.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should leave the limit alone when the host cannot be reached")
+    void testConnectFailureIsNotDrop() {
+        AdaptiveLimitInterceptor interceptor = interceptor();
+
+        for (int i = 0; i < 5; i++) {
+            failWith(interceptor, new ConnectException("Connection refused"));
+        }
+
+        AdaptiveLimitStats stats = interceptor.stats().get(0);
+        assertThat(stats.dropped()).isZero();
+        assertThat(stats.limit()).isEqualTo(10);
+        assertThat(stats.inFlight()).isZero();
+    }
+}
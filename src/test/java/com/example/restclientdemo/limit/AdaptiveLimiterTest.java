@@ -0,0 +1,146 @@
+package com.example.restclientdemo.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.example.restclientdemo.exception.ConcurrencyLimitExceededException;
+import com.example.restclientdemo.http.Origin;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for AdaptiveLimiter and its gradient limit, fed with synthetic round trips. */
+class AdaptiveLimiterTest {
+
+    private static final Origin ORIGIN = new Origin("https", "example.com", 443);
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private static AdaptiveLimitProperties properties(int initialLimit) {
+        AdaptiveLimitProperties properties = new AdaptiveLimitProperties();
+        properties.setInitialLimit(initialLimit);
+        properties.setMaxLimit(100);
+        return properties;
+    }
+
+    @Test
+    @DisplayName("Should raise the limit while round trips stay stable under load")
+    void testLimitGrowsWithStableLatency() {
+        GradientLimit limit = new GradientLimit(properties(10));
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(RTT, limit.limit(), false);
+        }
+
+        assertThat(limit.limit()).isGreaterThan(10);
+        assertThat(limit.limit()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should not raise the limit while it is mostly unused")
+    void testLimitHoldsWhenAppLimited() {
+        GradientLimit limit = new GradientLimit(properties(10));
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(RTT, 1, false);
+        }
+
+        assertThat(limit.limit()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should lower the limit when round trips slow down")
+    void testLimitShrinksWhenLatencyRises() {
+        GradientLimit limit = new GradientLimit(properties(50));
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(RTT, 50, false);
+        }
+        int before = limit.limit();
+
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(RTT * 4, limit.limit(), false);
+        }
+
+        assertThat(limit.limit()).isLessThan(before);
+    }
+
+    @Test
+    @DisplayName("Should back off multiplicatively on drops, down to the minimum")
+    void testDropsBackOff() {
+        AdaptiveLimitProperties properties = properties(20);
+        properties.setMinLimit(2);
+        GradientLimit limit = new GradientLimit(properties);
+
+        limit.onSample(RTT, 20, true);
+        assertThat(limit.limit()).isEqualTo(18);
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(RTT, 20, true);
+        }
+        assertThat(limit.limit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject requests over the limit when queueing is disabled")
+    void testRejectsOverLimit() throws Exception {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(ORIGIN, properties(2));
+
+        int first = limiter.acquire();
+        limiter.acquire();
+
+        assertThatThrownBy(limiter::acquire)
+                .isInstanceOf(ConcurrencyLimitExceededException.class)
+                .hasMessageContaining("example.com");
+
+        limiter.release(RTT, first, false);
+        limiter.acquire();
+
+        AdaptiveLimitStats stats = limiter.stats();
+        assertThat(stats.accepted()).isEqualTo(3);
+        assertThat(stats.rejected()).isEqualTo(1);
+        assertThat(stats.inFlight()).isEqualTo(2);
+        assertThat(stats.peakInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should let a queued request through when a slot is released")
+    void testQueuedRequestGetsReleasedSlot() throws Exception {
+        AdaptiveLimitProperties properties = properties(1);
+        properties.setMaxQueueWait(Duration.ofSeconds(5));
+        AdaptiveLimiter limiter = new AdaptiveLimiter(ORIGIN, properties);
+        int inFlight = limiter.acquire();
+
+        CompletableFuture<Integer> waiter =
+                CompletableFuture.supplyAsync(
+                        () -> {
+                            try {
+                                return limiter.acquire();
+                            } catch (Exception e) {
+                                throw new IllegalStateException(e);
+                            }
+                        });
+        Thread.sleep(50);
+        assertThat(waiter).isNotDone();
+
+        limiter.release(RTT, inFlight, false);
+
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(limiter.stats().queued()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a queued request once the queue wait expires")
+    void testQueueWaitExpires() throws Exception {
+        AdaptiveLimitProperties properties = properties(1);
+        properties.setMaxQueueWait(Duration.ofMillis(20));
+        AdaptiveLimiter limiter = new AdaptiveLimiter(ORIGIN, properties);
+        limiter.acquire();
+
+        assertThatThrownBy(limiter::acquire)
+                .isInstanceOf(ConcurrencyLimitExceededException.class);
+        assertThat(limiter.stats().rejected()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.restclientdemo.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+
+/** Unit tests for RequestLogRegistry and its ring buffer. */
+class RequestLogRegistryTest {
+
+    private static RequestLogEvent event(String path, byte[] body) {
+        return new RequestLogEvent(
+                "defaultRestClient",
+                HttpMethod.POST,
+                URI.create("http://localhost:1080" + path),
+                new HttpHeaders(),
+                body,
+                200,
+                new HttpHeaders(),
+                1_500_000,
+                null);
+    }
+
+    @Test
+    @DisplayName("Should write queued entries with truncated bodies before closing")
+    void testWritesAndTruncates() throws Exception {
+        RequestLogProperties properties = new RequestLogProperties();
+        properties.setMaxBodyBytes(5);
+        properties.setIncludeHeaders(false);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        RequestLogRegistry registry =
+                new RequestLogRegistry(properties, new PrintStream(output, true));
+
+        registry.submit(event("/post", "hello world".getBytes(StandardCharsets.UTF_8)));
+        registry.submit(event("/anything", new byte[0]));
+        registry.close();
+
+        String log = output.toString(StandardCharsets.UTF_8);
+        assertThat(log).contains("Making request to: POST http://localhost:1080/post");
+        assertThat(log).contains("Body: hello... (11 bytes)");
+        assertThat(log).contains("Response Status: 200 (1.5ms)");
+        assertThat(log).doesNotContain("Headers:");
+        assertThat(log.indexOf("/post")).isLessThan(log.indexOf("/anything"));
+        assertThat(registry.stats().written()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should install no interceptor for unlisted beans or when disabled")
+    void testOptIn() throws Exception {
+        RequestLogProperties properties = new RequestLogProperties();
+        properties.setClients(List.of("defaultRestClient"));
+        properties.setEnabled(false);
+        RequestLogRegistry registry = new RequestLogRegistry(properties);
+
+        assertThat(properties.isEnabledFor("defaultRestClient")).isFalse();
+        properties.setEnabled(true);
+        assertThat(properties.isEnabledFor("default-rest-client")).isTrue();
+        assertThat(properties.isEnabledFor("customRestClient")).isFalse();
+        properties.setSampleRate(0);
+        assertThat(properties.isEnabledFor("defaultRestClient")).isFalse();
+        registry.close();
+    }
+
+    @Test
+    @DisplayName("Should drop entries rather than block when the buffer is full")
+    void testRingBufferFull() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(3);
+
+        assertThat(buffer.capacity()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.poll()).isEqualTo(0);
+        assertThat(buffer.offer(5)).isTrue();
+        assertThat(buffer.poll()).isEqualTo(1);
+        assertThat(buffer.poll()).isEqualTo(2);
+        assertThat(buffer.poll()).isEqualTo(3);
+        assertThat(buffer.poll()).isEqualTo(5);
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should hand every item from concurrent producers to the consumer exactly once")
+    void testConcurrentProducers() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(64);
+        Set<Integer> received = ConcurrentHashMap.newKeySet();
+        List<CompletableFuture<Void>> producers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            int base = p * 10_000;
+            producers.add(
+                    CompletableFuture.runAsync(
+                            () -> {
+                                for (int i = 0; i < 10_000; i++) {
+                                    while (!buffer.offer(base + i)) {
+                                        Thread.onSpinWait();
+                                    }
+                                }
+                            }));
+        }
+        CompletableFuture<Void> all =
+                CompletableFuture.allOf(producers.toArray(CompletableFuture[]::new));
+        int count = 0;
+        while (count < 40_000) {
+            Integer item = buffer.poll();
+            if (item != null) {
+                assertThat(received.add(item)).isTrue();
+                count++;
+            }
+        }
+        all.join();
+
+        assertThat(received).hasSize(40_000);
+        assertThat(buffer.poll()).isNull();
+    }
+}
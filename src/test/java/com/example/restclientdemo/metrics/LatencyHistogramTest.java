@@ -0,0 +1,40 @@
+package com.example.restclientdemo.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for LatencyHistogram percentiles. */
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Should never report a percentile above the recorded maximum")
+    void testPercentilesCappedAtMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Duration.ofMillis(100));
+
+        LatencySnapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.max()).isEqualTo(Duration.ofMillis(100));
+        assertThat(snapshot.p50()).isLessThanOrEqualTo(snapshot.max());
+        assertThat(snapshot.p99()).isLessThanOrEqualTo(snapshot.max());
+    }
+
+    @Test
+    @DisplayName("Should report percentiles within one bucket of the recorded values")
+    void testPercentileAccuracy() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(Duration.ofMillis(i));
+        }
+
+        LatencySnapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.count()).isEqualTo(100);
+        assertThat(snapshot.p50()).isBetween(Duration.ofMillis(50), Duration.ofMillis(57));
+        assertThat(snapshot.p99()).isBetween(Duration.ofMillis(99), Duration.ofMillis(100));
+    }
+}
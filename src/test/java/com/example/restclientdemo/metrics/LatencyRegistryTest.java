@@ -0,0 +1,253 @@
+package com.example.restclientdemo.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import com.example.restclientdemo.exception.BulkheadFullException;
+import com.example.restclientdemo.http.UriTemplates;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+/** Unit tests for LatencyRegistry keys, URI templates, phase timings and the CSV dump. */
+class LatencyRegistryTest {
+
+    private static final long MILLIS = Duration.ofMillis(1).toNanos();
+
+    @Test
+    @DisplayName("Should key histograms by URI template rather than expanded URI")
+    void testUriTemplate() {
+        URI uri = URI.create("https://jsonplaceholder.typicode.com/users/42?expand=true");
+
+        assertThat(UriTemplates.of("/users/{id}?expand={expand}", uri))
+                .isEqualTo("/users/{id}");
+        assertThat(UriTemplates.of(null, uri)).isEqualTo("/users/{id}");
+        String uuid = "123e4567-e89b-12d3-a456-426614174000";
+        URI orderItem = URI.create("http://localhost/orders/" + uuid + "/items/7");
+        assertThat(UriTemplates.of(null, orderItem))
+                .isEqualTo("/orders/{id}/items/{id}");
+        assertThat(UriTemplates.of(null, URI.create("http://localhost/v2/get")))
+                .isEqualTo("/v2/get");
+        assertThat(UriTemplates.of(null, URI.create("http://localhost")))
+                .isEqualTo("/");
+        assertThat(UriTemplates.of("https://example.com/api/users/{id}?x={x}", uri))
+                .isEqualTo("/api/users/{id}");
+        assertThat(UriTemplates.of("https://example.com", uri)).isEqualTo("/");
+    }
+
+    @Test
+    @DisplayName("Should read the URI template RestClient stores on the request")
+    void testUriTemplateFromRestClient() {
+        LatencyProperties properties = new LatencyProperties();
+        properties.setClients(List.of("jsonPlaceholderRestClient"));
+        LatencyRegistry registry = new LatencyRegistry(properties);
+        RestClient.Builder builder =
+                RestClient.builder()
+                        .baseUrl("https://jsonplaceholder.typicode.com")
+                        .apply(registry.forClient("jsonPlaceholderRestClient"));
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        server.expect(requestTo("https://jsonplaceholder.typicode.com/users/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess());
+
+        builder.build().get().uri("/users/{id}", 1).retrieve().toBodilessEntity();
+
+        server.verify();
+        assertThat(registry.snapshot().keySet())
+                .containsExactly(
+                        new LatencyKey("jsonPlaceholderRestClient", "GET", "/users/{id}", "2xx"));
+        ExchangeTimer.clearLast();
+    }
+
+    @Test
+    @DisplayName("Should keep one histogram per bean, method, template and status class")
+    void testSnapshotKeys() {
+        LatencyRegistry registry = new LatencyRegistry(new LatencyProperties());
+
+        registry.record("defaultRestClient", "GET", "/get", "2xx", 10 * MILLIS);
+        registry.record("defaultRestClient", "GET", "/get", "2xx", 20 * MILLIS);
+        registry.record("defaultRestClient", "GET", "/get", "5xx", 30 * MILLIS);
+        registry.record("defaultRestClient", "POST", "/post", "2xx", 40 * MILLIS);
+
+        Map<LatencyKey, LatencySnapshot> snapshot = registry.snapshot();
+
+        assertThat(snapshot).hasSize(3);
+        LatencySnapshot ok =
+                snapshot.get(new LatencyKey("defaultRestClient", "GET", "/get", "2xx"));
+        assertThat(ok.count()).isEqualTo(2);
+        assertThat(ok.mean()).isEqualTo(Duration.ofMillis(15));
+        assertThat(ok.max()).isEqualTo(Duration.ofMillis(20));
+        assertThat(LatencyKey.statusClassOf(404)).isEqualTo("4xx");
+    }
+
+    @Test
+    @DisplayName("Should record calls that failed without a response under their own class")
+    void testFailedCalls() {
+        LatencyRegistry registry = new LatencyRegistry(new LatencyProperties());
+        LatencyInterceptor interceptor = new LatencyInterceptor("defaultRestClient", registry);
+        MockClientHttpRequest request =
+                new MockClientHttpRequest(HttpMethod.GET, URI.create("http://localhost/get"));
+
+        assertThatThrownBy(
+                        () ->
+                                interceptor.intercept(
+                                        request,
+                                        new byte[0],
+                                        (r, b) -> {
+                                            throw new BulkheadFullException("defaultRestClient", 1);
+                                        }))
+                .isInstanceOf(BulkheadFullException.class);
+        assertThatThrownBy(
+                        () ->
+                                interceptor.intercept(
+                                        request,
+                                        new byte[0],
+                                        (r, b) -> {
+                                            throw new IOException("connection reset");
+                                        }))
+                .isInstanceOf(IOException.class);
+
+        assertThat(registry.snapshot().keySet())
+                .containsExactly(
+                        new LatencyKey("defaultRestClient", "GET", "/get", "IO_ERROR"),
+                        new LatencyKey("defaultRestClient", "GET", "/get", "REJECTED"));
+        assertThat(LatencyKey.statusClassOf(new IllegalStateException())).isEqualTo("ERROR");
+    }
+
+    @Test
+    @DisplayName("Should count new templates under {other} once max-keys is reached")
+    void testMaxKeys() {
+        LatencyProperties properties = new LatencyProperties();
+        properties.setMaxKeys(2);
+        LatencyRegistry registry = new LatencyRegistry(properties);
+
+        registry.record("defaultRestClient", "GET", "/a", "2xx", MILLIS);
+        registry.record("defaultRestClient", "GET", "/b", "2xx", MILLIS);
+        registry.record("defaultRestClient", "GET", "/c", "2xx", MILLIS);
+        registry.record("defaultRestClient", "GET", "/d", "2xx", MILLIS);
+        registry.record("defaultRestClient", "GET", "/a", "2xx", MILLIS);
+
+        Map<LatencyKey, LatencySnapshot> snapshot = registry.snapshot();
+        LatencyKey other =
+                new LatencyKey("defaultRestClient", "GET", LatencyRegistry.OTHER_TEMPLATE, "2xx");
+        assertThat(snapshot).hasSize(3);
+        assertThat(snapshot.get(other).count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should dump the histograms as CSV on close")
+    void testDump() throws Exception {
+        LatencyProperties properties = new LatencyProperties();
+        Path file = Files.createTempDirectory("latency").resolve("metrics/http-latency.csv");
+        properties.setDumpFile(file);
+        LatencyRegistry registry = new LatencyRegistry(properties);
+        registry.record("jsonPlaceholderRestClient", "GET", "/users/{id}", "2xx", 5 * MILLIS);
+
+        registry.close();
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).startsWith("client,method,uri_template,status,count");
+        assertThat(lines.get(1)).startsWith("jsonPlaceholderRestClient,GET,\"/users/{id}\",2xx,1,");
+    }
+
+    @Test
+    @DisplayName("Should split an exchange into phases and hand them to the caller once")
+    void testPhaseTimings() {
+        ExchangeTimer timer = ExchangeTimer.start();
+        assertThat(ExchangeTimer.current()).isSameAs(timer);
+        timer.transportStarted();
+        timer.connectionAcquired(2 * MILLIS);
+        timer.headersReceived();
+        timer.detach();
+        assertThat(ExchangeTimer.current()).isNull();
+
+        ExchangeTimings timings = timer.finish();
+
+        assertThat(timings.phases().keySet())
+                .containsExactly("admission", "pool", "ttfb", "body", "total");
+        assertThat(timings.poolWait()).isEqualTo(Duration.ofMillis(2));
+        assertThat(timings.toHeaderValue()).contains("pool;dur=2.0, ttfb;dur=");
+
+        ResponseEntity<String> response =
+                ExchangeTimings.withClientTiming(
+                        new ResponseEntity<>("ok", new HttpHeaders(), HttpStatus.OK));
+        assertThat(response.getHeaders().getFirst(ExchangeTimings.CLIENT_TIMING))
+                .isEqualTo(timings.toHeaderValue());
+        assertThat(ExchangeTimer.takeLast()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report the connection phases of a new connection")
+    void testConnectionPhases() {
+        ExchangeTimer timer = ExchangeTimer.start();
+        timer.transportStarted();
+        timer.connectionAcquired(0);
+        timer.dnsResolved(System.nanoTime());
+        timer.tlsHandshakeCompleted(System.nanoTime());
+        timer.connectionReady();
+        timer.requestWritten();
+        timer.headersReceived();
+        timer.detach();
+
+        ExchangeTimings timings = timer.finish();
+
+        assertThat(timings.phases().keySet())
+                .containsExactly(
+                        "admission", "pool", "dns", "connect", "tls", "write", "ttfb", "body",
+                        "total");
+        ExchangeTimer.clearLast();
+    }
+
+    @Test
+    @DisplayName("Should leave out connection phases on a reused connection")
+    void testReusedConnectionPhases() {
+        ExchangeTimer timer = ExchangeTimer.start();
+        timer.transportStarted();
+        timer.connectionReady();
+        timer.requestWritten();
+        timer.headersReceived();
+        timer.detach();
+
+        ExchangeTimings timings = timer.finish();
+
+        assertThat(timings.phases().keySet())
+                .containsExactly("admission", "write", "ttfb", "body", "total");
+        assertThat(timings.dnsLookup()).isNull();
+        assertThat(timings.connect()).isNull();
+        ExchangeTimer.clearLast();
+    }
+
+    @Test
+    @DisplayName("Should leave out phases an exchange never went through")
+    void testCacheHitPhases() {
+        LatencyRegistry registry = new LatencyRegistry(new LatencyProperties());
+        ExchangeTimer timer = ExchangeTimer.start();
+        timer.headersReceived();
+        timer.detach();
+
+        registry.recordPhases("defaultRestClient", timer.finish());
+
+        assertThat(registry.phaseSnapshot().get("defaultRestClient").keySet())
+                .containsExactly("ttfb", "body", "total");
+        ExchangeTimer.clearLast();
+    }
+}
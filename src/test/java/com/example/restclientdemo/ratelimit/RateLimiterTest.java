@@ -0,0 +1,198 @@
+package com.example.restclientdemo.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.restclientdemo.exception.RateLimitExceededException;
+import com.example.restclientdemo.metrics.LatencyHistogram;
+import com.example.restclientdemo.metrics.LatencySnapshot;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for RateLimiter, method limits of RateLimitRegistry and LatencyHistogram. */
+class RateLimiterTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    /** Method limits are matched by interface simple name and method name. */
+    interface Greeter {
+        String hello();
+
+        String bye();
+    }
+
+    private static RateLimiter limiter(
+            double permitsPerSecond, int burst, Duration maxWait, AtomicLong clock) {
+        return new RateLimiter(
+                "defaultRestClient http://localhost:80",
+                new RateLimitProperties.Settings(permitsPerSecond, burst, maxWait),
+                clock::get);
+    }
+
+    @Test
+    @DisplayName("Should allow a burst and then fail fast until a permit is due")
+    void testBurstThenFailFast() {
+        AtomicLong clock = new AtomicLong();
+        RateLimiter limiter = limiter(10, 3, Duration.ZERO, clock);
+
+        assertThat(limiter.reserve()).isZero();
+        assertThat(limiter.reserve()).isZero();
+        assertThat(limiter.reserve()).isZero();
+        assertThatThrownBy(limiter::reserve)
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasMessageContaining("defaultRestClient");
+
+        clock.addAndGet(SECOND / 10);
+        assertThat(limiter.reserve()).isZero();
+
+        RateLimitStats stats = limiter.stats();
+        assertThat(stats.acquired()).isEqualTo(4);
+        assertThat(stats.rejected()).isEqualTo(1);
+        assertThat(stats.throttled()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hand out slots one interval apart when waiting is allowed")
+    void testQueuedSlots() {
+        AtomicLong clock = new AtomicLong();
+        RateLimiter limiter = limiter(10, 1, Duration.ofMillis(250), clock);
+
+        assertThat(limiter.reserve()).isZero();
+        assertThat(limiter.reserve()).isEqualTo(SECOND / 10);
+        assertThat(limiter.reserve()).isEqualTo(2 * SECOND / 10);
+        assertThatThrownBy(limiter::reserve)
+                .isInstanceOf(RateLimitExceededException.class)
+                .satisfies(
+                        e ->
+                                assertThat(((RateLimitExceededException) e).getRetryAfter())
+                                        .isEqualTo(Duration.ofMillis(300)));
+
+        RateLimitStats stats = limiter.stats();
+        assertThat(stats.throttled()).isEqualTo(2);
+        assertThat(stats.waitTime().count()).isEqualTo(3);
+        assertThat(stats.waitTime().max()).isEqualTo(Duration.ofMillis(200));
+    }
+
+    @Test
+    @DisplayName("Should not refill beyond the burst after an idle period")
+    void testIdleDoesNotAccumulate() {
+        AtomicLong clock = new AtomicLong();
+        RateLimiter limiter = limiter(10, 2, Duration.ZERO, clock);
+
+        clock.addAndGet(60 * SECOND);
+
+        assertThat(limiter.reserve()).isZero();
+        assertThat(limiter.reserve()).isZero();
+        assertThatThrownBy(limiter::reserve).isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    @DisplayName("Should grant exactly the burst to concurrent callers")
+    void testConcurrentCallers() throws Exception {
+        RateLimiter limiter =
+                new RateLimiter(
+                        "concurrent", new RateLimitProperties.Settings(0.001, 50, Duration.ZERO));
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Void>> callers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            callers.add(
+                    CompletableFuture.runAsync(
+                            () -> {
+                                try {
+                                    start.await();
+                                    for (int j = 0; j < 20; j++) {
+                                        try {
+                                            limiter.acquire();
+                                            granted.incrementAndGet();
+                                        } catch (RateLimitExceededException e) {
+                                            // expected once the burst is used up
+                                        }
+                                    }
+                                } catch (Exception e) {
+                                    throw new IllegalStateException(e);
+                                }
+                            }));
+        }
+        start.countDown();
+        CompletableFuture.allOf(callers.toArray(CompletableFuture[]::new)).join();
+
+        assertThat(granted.get()).isEqualTo(50);
+        assertThat(limiter.stats().rejected()).isEqualTo(110);
+    }
+
+    @Test
+    @DisplayName("Should sleep until the reserved slot is due")
+    void testBlockingAcquire() throws Exception {
+        RateLimiter limiter =
+                new RateLimiter(
+                        "blocking", new RateLimitProperties.Settings(20, 1, Duration.ofSeconds(1)));
+
+        long start = System.nanoTime();
+        limiter.acquire();
+        limiter.acquire();
+        limiter.acquire();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(elapsed).isBetween(Duration.ofMillis(90), Duration.ofSeconds(2));
+    }
+
+    @Test
+    @DisplayName("Should limit configured HTTP Interface methods only")
+    void testMethodLimits() {
+        RateLimitProperties properties = new RateLimitProperties();
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setPermitsPerSecond(0.001);
+        limit.setBurst(1);
+        properties.getMethods().put("Greeter.hello", limit);
+        RateLimitRegistry registry = new RateLimitRegistry(properties);
+
+        Greeter greeter =
+                registry.wrap(
+                        Greeter.class,
+                        new Greeter() {
+                            @Override
+                            public String hello() {
+                                return "hello";
+                            }
+
+                            @Override
+                            public String bye() {
+                                return "bye";
+                            }
+                        });
+
+        assertThat(greeter.hello()).isEqualTo("hello");
+        assertThatThrownBy(greeter::hello).isInstanceOf(RateLimitExceededException.class);
+        assertThat(greeter.bye()).isEqualTo("bye");
+        assertThat(greeter.bye()).isEqualTo("bye");
+        assertThat(registry.stats()).containsOnlyKeys("Greeter.hello");
+    }
+
+    @Test
+    @DisplayName("Should report percentiles within the histogram's bucket precision")
+    void testLatencyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(Duration.ofMillis(millis));
+        }
+
+        LatencySnapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.count()).isEqualTo(100);
+        assertThat(snapshot.max()).isEqualTo(Duration.ofMillis(100));
+        assertThat(snapshot.mean().toNanos()).isEqualTo(Duration.ofMillis(50).toNanos() + 500_000);
+        assertThat(snapshot.p50().toMillis()).isBetween(50L, 57L);
+        assertThat(snapshot.p99().toMillis()).isBetween(99L, 112L);
+        assertThat(new LatencyHistogram().snapshot()).isEqualTo(LatencySnapshot.EMPTY);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.restclientdemo.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.restclientdemo.exception.HostPausedException;
+import com.example.restclientdemo.exception.ServerErrorException;
+import com.example.restclientdemo.http.Origin;
+import com.example.restclientdemo.http.RetryAfter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for Retry-After parsing, host pauses and Retry-After driven retries. */
+class RetryAfterTest {
+
+    private static final Instant NOW = Instant.parse("2015-10-21T07:27:00Z");
+    private static final Origin ORIGIN = new Origin("http", "localhost", 1080);
+
+    @Test
+    @DisplayName("Should parse delta-seconds and HTTP-date values")
+    void testParse() {
+        assertThat(RetryAfter.parse("120", NOW)).hasValue(Duration.ofSeconds(120));
+        assertThat(RetryAfter.parse(" 0 ", NOW)).hasValue(Duration.ZERO);
+        assertThat(RetryAfter.parse("Wed, 21 Oct 2015 07:28:00 GMT", NOW))
+                .hasValue(Duration.ofMinutes(1));
+        assertThat(RetryAfter.parse("Wed, 21 Oct 2015 07:00:00 GMT", NOW))
+                .hasValue(Duration.ZERO);
+        assertThat(RetryAfter.parse("soon", NOW)).isEmpty();
+        assertThat(RetryAfter.parse("-5", NOW)).isEmpty();
+        assertThat(RetryAfter.parse(null, NOW)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject requests to a paused host until the pause is over")
+    void testHostPause() {
+        AtomicLong clock = new AtomicLong();
+        HostPauseRegistry registry = new HostPauseRegistry(Duration.ofMinutes(5), clock::get);
+
+        registry.pause(ORIGIN, Duration.ofSeconds(30));
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThatThrownBy(() -> registry.checkNotPaused(ORIGIN))
+                .isInstanceOf(HostPausedException.class)
+                .satisfies(
+                        e ->
+                                assertThat(((HostPausedException) e).getRetryAfter())
+                                        .isEqualTo(Duration.ofSeconds(20)));
+        registry.checkNotPaused(new Origin("https", "example.com", 443));
+
+        clock.addAndGet(Duration.ofSeconds(20).toNanos());
+        registry.checkNotPaused(ORIGIN);
+        assertThat(registry.rejectedRequests()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should cap pauses and never shorten a pause already in force")
+    void testPauseCapAndExtension() {
+        AtomicLong clock = new AtomicLong();
+        HostPauseRegistry registry = new HostPauseRegistry(Duration.ofMinutes(5), clock::get);
+
+        registry.pause(ORIGIN, Duration.ofDays(1));
+        registry.pause(ORIGIN, Duration.ofSeconds(1));
+
+        assertThat(registry.pausedHosts().get(ORIGIN)).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Should retry after the Retry-After wait instead of the backoff")
+    void testRetryHonorsRetryAfter() {
+        RetryProperties properties = new RetryProperties();
+        properties.setInitialBackoff(Duration.ofSeconds(30));
+        RetryExecutor retryExecutor = new RetryExecutor(properties);
+        AtomicInteger calls = new AtomicInteger();
+
+        long start = System.nanoTime();
+        String result =
+                retryExecutor.execute(
+                        "retry-after",
+                        () -> {
+                            if (calls.incrementAndGet() == 1) {
+                                throw new ServerErrorException(
+                                        "Service unavailable", 503, "", Duration.ofMillis(50));
+                            }
+                            return "ok";
+                        });
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(elapsed).isBetween(Duration.ofMillis(50), Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Should not retry when the server asks for a longer wait than allowed")
+    void testRetryAfterTooLong() {
+        RetryProperties properties = new RetryProperties();
+        properties.setMaxRetryAfter(Duration.ofSeconds(1));
+        RetryExecutor retryExecutor = new RetryExecutor(properties);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(
+                        () ->
+                                retryExecutor.execute(
+                                        "retry-after-too-long",
+                                        () -> {
+                                            calls.incrementAndGet();
+                                            throw new ServerErrorException(
+                                                    "Service unavailable",
+                                                    503,
+                                                    "",
+                                                    Duration.ofHours(1));
+                                        }))
+                .isInstanceOf(ServerErrorException.class);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+}
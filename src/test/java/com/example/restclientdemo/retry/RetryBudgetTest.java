@@ -0,0 +1,132 @@
+package com.example.restclientdemo.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.restclientdemo.exception.RetryBudgetExhaustedException;
+import com.example.restclientdemo.exception.ServerErrorException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+/** Unit tests for RetryBudget with a manual clock, and its use by RetryExecutor. */
+class RetryBudgetTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private RetryBudget budget(double retryPercent, int minRetriesPerSecond, int maxTokens) {
+        return new RetryBudget(
+                "errorHandlingRestClient",
+                new RetryBudgetProperties.Settings(retryPercent, minRetriesPerSecond, maxTokens),
+                clock::get);
+    }
+
+    @Test
+    @DisplayName("Should allow retries in proportion to successful requests")
+    void testRetriesFollowSuccessfulTraffic() {
+        RetryBudget budget = budget(20, 0, 100);
+
+        for (int i = 0; i < 10; i++) {
+            budget.deposit();
+        }
+
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+        RetryBudgetStats stats = budget.stats();
+        assertThat(stats.deposits()).isEqualTo(10);
+        assertThat(stats.retriesAllowed()).isEqualTo(2);
+        assertThat(stats.retriesDenied()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should deposit for healthy responses but not for 5xx or 429")
+    void testInterceptorDeposits() throws Exception {
+        RetryBudget budget = budget(20, 0, 100);
+        RetryBudgetInterceptor interceptor = new RetryBudgetInterceptor(budget);
+        MockClientHttpRequest request =
+                new MockClientHttpRequest(HttpMethod.GET, URI.create("http://localhost/get"));
+
+        List<HttpStatus> statuses =
+                List.of(
+                        HttpStatus.OK,
+                        HttpStatus.NOT_FOUND,
+                        HttpStatus.TOO_MANY_REQUESTS,
+                        HttpStatus.SERVICE_UNAVAILABLE);
+        for (HttpStatus status : statuses) {
+            MockClientHttpResponse response = new MockClientHttpResponse(new byte[0], status);
+            interceptor.intercept(request, new byte[0], (r, b) -> response);
+        }
+
+        assertThat(budget.stats().deposits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should cap the saved-up balance at the maximum number of tokens")
+    void testBalanceIsCapped() {
+        RetryBudget budget = budget(100, 0, 3);
+
+        for (int i = 0; i < 50; i++) {
+            budget.deposit();
+        }
+
+        assertThat(budget.stats().balance()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Should refill the reserve at the minimum retry rate")
+    void testReserveRefillsOverTime() {
+        RetryBudget budget = budget(10, 2, 100);
+
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should fail fast with the last failure as cause when the budget is exhausted")
+    void testExecutorRespectsBudget() {
+        RetryProperties properties = new RetryProperties();
+        properties.setInitialBackoff(Duration.ofMillis(1));
+        properties.setMaxAttempts(5);
+        RetryExecutor retryExecutor = new RetryExecutor(properties);
+        RetryBudget budget = budget(100, 0, 100);
+        budget.deposit();
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(
+                        () ->
+                                retryExecutor.execute(
+                                        "budgeted",
+                                        budget,
+                                        () -> {
+                                            calls.incrementAndGet();
+                                            throw new ServerErrorException("Server error", 500, "");
+                                        }))
+                .isInstanceOf(RetryBudgetExhaustedException.class)
+                .hasCauseInstanceOf(ServerErrorException.class);
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should never deny retries with the unlimited budget")
+    void testUnlimitedBudget() {
+        for (int i = 0; i < 1000; i++) {
+            assertThat(RetryBudget.unlimited().tryWithdraw()).isTrue();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.restclientdemo.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.example.restclientdemo.exception.CircuitBreakerOpenException;
+import com.example.restclientdemo.exception.ClientErrorException;
+import com.example.restclientdemo.exception.ServerErrorException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+/** Unit tests for RetryExecutor and the per-exception rules of RetryProperties. */
+class RetryExecutorTest {
+
+    private static RetryProperties fastProperties() {
+        RetryProperties properties = new RetryProperties();
+        properties.setInitialBackoff(Duration.ofMillis(5));
+        properties.setMaxBackoff(Duration.ofMillis(20));
+        return properties;
+    }
+
+    private static ServerErrorException serverError() {
+        return new ServerErrorException("Server error", 500, "");
+    }
+
+    @Test
+    @DisplayName("Should retry server errors until the call succeeds")
+    void testRetriesUntilSuccess() {
+        RetryExecutor retryExecutor = new RetryExecutor(fastProperties());
+        AtomicInteger calls = new AtomicInteger();
+
+        String result =
+                retryExecutor.execute(
+                        "flaky",
+                        () -> {
+                            if (calls.incrementAndGet() < 3) {
+                                throw serverError();
+                            }
+                            return "ok";
+                        });
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(calls.get()).isEqualTo(3);
+        List<AttemptStats> stats = retryExecutor.stats().get("flaky");
+        assertThat(stats).hasSize(3);
+        assertThat(stats.get(0).failures()).isEqualTo(1);
+        assertThat(stats.get(2).failures()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should rethrow the last failure with earlier ones suppressed")
+    void testGivesUpAfterMaxAttempts() {
+        RetryExecutor retryExecutor = new RetryExecutor(fastProperties());
+        AtomicInteger calls = new AtomicInteger();
+
+        Throwable thrown =
+                catchThrowable(
+                        () ->
+                                retryExecutor.execute(
+                                        "failing",
+                                        () -> {
+                                            calls.incrementAndGet();
+                                            throw serverError();
+                                        }));
+
+        assertThat(thrown).isInstanceOf(ServerErrorException.class);
+        assertThat(thrown.getSuppressed()).hasSize(2);
+        assertThat(calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should run the first attempt on the caller's thread and retries off it")
+    void testFirstAttemptRunsOnCaller() {
+        RetryExecutor retryExecutor = new RetryExecutor(fastProperties());
+        ThreadLocal<String> callerLocal = new ThreadLocal<>();
+        callerLocal.set("caller");
+        List<Thread> threads = new ArrayList<>();
+        List<String> locals = new ArrayList<>();
+
+        retryExecutor.execute(
+                "hop",
+                () -> {
+                    threads.add(Thread.currentThread());
+                    locals.add(callerLocal.get());
+                    if (threads.size() < 2) {
+                        throw serverError();
+                    }
+                    return "ok";
+                });
+
+        assertThat(threads.get(0)).isSameAs(Thread.currentThread());
+        assertThat(locals.get(0)).isEqualTo("caller");
+        assertThat(threads.get(1)).isNotSameAs(Thread.currentThread());
+        assertThat(threads.get(1).isVirtual()).isTrue();
+        callerLocal.remove();
+    }
+
+    @Test
+    @DisplayName("Should not retry exceptions without a rule")
+    void testDoesNotRetryUnlistedExceptions() {
+        RetryExecutor retryExecutor = new RetryExecutor(fastProperties());
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(
+                        () ->
+                                retryExecutor.execute(
+                                        "client-error",
+                                        () -> {
+                                            calls.incrementAndGet();
+                                            throw new ClientErrorException("Not found", 404, "");
+                                        }))
+                .isInstanceOf(ClientErrorException.class);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should match rules by class, superclass and cause, most specific first")
+    void testRuleResolution() {
+        RetryProperties properties = new RetryProperties();
+        RetryProperties.Rule timeouts = new RetryProperties.Rule();
+        timeouts.setMaxAttempts(5);
+        properties.getExceptions().put("java.net.SocketTimeoutException", timeouts);
+
+        ResourceAccessException timeout =
+                new ResourceAccessException("I/O error", new SocketTimeoutException("timed out"));
+        assertThat(properties.backoffFor(timeout).maxAttempts()).isEqualTo(5);
+        assertThat(properties.backoffFor(serverError()).maxAttempts()).isEqualTo(3);
+        assertThat(
+                        properties
+                                .backoffFor(
+                                        new CircuitBreakerOpenException(
+                                                "client", Duration.ofSeconds(1)))
+                                .maxAttempts())
+                .isEqualTo(1);
+        assertThat(properties.backoffFor(new IllegalStateException())).isNull();
+    }
+
+    @Test
+    @DisplayName("Should draw full-jitter delays below the capped exponential ceiling")
+    void testFullJitterBounds() {
+        RetryProperties.Backoff backoff =
+                new RetryProperties.Backoff(10, Duration.ofMillis(100), Duration.ofSeconds(1), 2);
+
+        assertThat(backoff.ceilingNanos(1)).isEqualTo(Duration.ofMillis(100).toNanos());
+        assertThat(backoff.ceilingNanos(3)).isEqualTo(Duration.ofMillis(400).toNanos());
+        assertThat(backoff.ceilingNanos(8)).isEqualTo(Duration.ofSeconds(1).toNanos());
+        for (int i = 0; i < 1000; i++) {
+            long delay = RetryExecutor.nextDelayNanos(backoff, 3);
+            assertThat(delay).isBetween(0L, Duration.ofMillis(400).toNanos());
+        }
+    }
+}
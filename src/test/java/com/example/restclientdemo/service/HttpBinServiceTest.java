@@ -2,8 +2,10 @@ package com.example.restclientdemo.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.Duration;
 import java.util.Map;
 
+import com.example.restclientdemo.model.HttpBinDashboard;
 import com.example.restclientdemo.model.HttpBinResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -278,6 +280,19 @@ class HttpBinServiceTest {
         assertThat(headers).containsKey("User-Agent");
     }
 
+    @Test
+    @DisplayName("Should gather headers, IP, user agent and GET into one dashboard")
+    void testGetDashboard() {
+        // When
+        HttpBinDashboard dashboard = httpBinService.getDashboard(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(dashboard.isComplete()).isTrue();
+        assertThat(dashboard.ipAddress()).isNotEmpty();
+        assertThat(dashboard.headers()).containsKey("User-Agent");
+        assertThat(dashboard.legs()).hasSize(4);
+    }
+
     // Authentication Tests
 
     @Test
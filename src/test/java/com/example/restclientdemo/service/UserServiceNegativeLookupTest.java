@@ -0,0 +1,86 @@
+package com.example.restclientdemo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withResourceNotFound;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.time.Duration;
+
+import com.example.restclientdemo.cache.EntityCache;
+import com.example.restclientdemo.cache.NegativeLookupCache;
+import com.example.restclientdemo.exception.UserNotFoundException;
+import com.example.restclientdemo.model.User;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Tests that UserService answers ids recently confirmed missing from its NegativeLookupCache.
+ *
+ * <p>{@link MockRestServiceServer} fails any request beyond the expected ones, so a lookup served
+ * from the cache is one that never reached the network.
+ */
+class UserServiceNegativeLookupTest {
+
+    private static final String BASE_URL = "https://jsonplaceholder.typicode.com";
+
+    private MockRestServiceServer server;
+    private NegativeLookupCache<Long> missingUsers;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder().baseUrl(BASE_URL);
+        server = MockRestServiceServer.bindTo(builder).build();
+        missingUsers = new NegativeLookupCache<>(100, Duration.ofMinutes(1));
+        userService = new UserService(builder.build(), EntityCache.disabled(), missingUsers);
+    }
+
+    @Test
+    @DisplayName("Should answer a repeated lookup of a missing user without a request")
+    void testRepeatedNotFoundSkipsNetwork() {
+        server.expect(once(), requestTo(BASE_URL + "/users/99"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withResourceNotFound());
+
+        assertThat(userService.getUserSafely(99L)).isEmpty();
+        assertThat(userService.getUserSafely(99L)).isEmpty();
+        assertThatThrownBy(() -> userService.getUserWithErrorHandling(99L))
+                .isInstanceOf(UserNotFoundException.class);
+        assertThatThrownBy(() -> userService.getUserWithCustomErrorHandling(99L))
+                .isInstanceOf(UserNotFoundException.class);
+
+        server.verify();
+        assertThat(missingUsers.stats().hits()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should look a user up again once it has been created")
+    void testCreateUserInvalidatesMissingEntry() {
+        String created = "{\"id\":99,\"name\":\"Alice\",\"email\":\"alice@example.com\"}";
+        server.expect(once(), requestTo(BASE_URL + "/users/99"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withResourceNotFound());
+        server.expect(once(), requestTo(BASE_URL + "/users"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess(created, MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(BASE_URL + "/users/99"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(created, MediaType.APPLICATION_JSON));
+
+        assertThat(userService.getUserSafely(99L)).isEmpty();
+        userService.createUser(new User("Alice", "alice@example.com", 25));
+
+        assertThat(userService.getUserSafely(99L).map(User::getName)).contains("Alice");
+        server.verify();
+    }
+}
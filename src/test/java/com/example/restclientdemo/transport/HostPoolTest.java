@@ -0,0 +1,144 @@
+package com.example.restclientdemo.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.example.restclientdemo.http.Origin;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+/** Unit tests for HostPool slot accounting and the per-host limits of ConnectionPoolRegistry. */
+class HostPoolTest {
+
+    private static final Origin ORIGIN = new Origin("https", "example.com", 443);
+    private static final long MINUTE = Duration.ofMinutes(1).toNanos();
+
+    @Test
+    @DisplayName("Should make an exchange wait until a slot of its host is released")
+    void testPerHostLimit() throws Exception {
+        HostPool pool = new HostPool(ORIGIN, 2, MINUTE);
+        pool.acquire();
+        pool.acquire();
+
+        CompletableFuture<Void> third =
+                CompletableFuture.runAsync(
+                        () -> {
+                            try {
+                                pool.acquire();
+                            } catch (Exception e) {
+                                throw new IllegalStateException(e);
+                            }
+                        });
+        Thread.sleep(50);
+        assertThat(third).isNotDone();
+        assertThat(pool.stats().inFlight()).isEqualTo(2);
+
+        pool.release();
+        third.get(5, TimeUnit.SECONDS);
+
+        HostPoolStats stats = pool.stats();
+        assertThat(stats.acquired()).isEqualTo(3);
+        assertThat(stats.waited()).isEqualTo(1);
+        assertThat(stats.inFlight()).isEqualTo(2);
+        assertThat(stats.peakInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should offer released connections for reuse but not discarded ones")
+    void testReleaseAndDiscard() throws Exception {
+        HostPool pool = new HostPool(ORIGIN, 4, MINUTE);
+        pool.acquire();
+        pool.discard();
+        assertThat(pool.stats().idleConnections()).isZero();
+
+        pool.acquire();
+        pool.release();
+        assertThat(pool.stats().idleConnections()).isEqualTo(1);
+
+        pool.acquire();
+        HostPoolStats stats = pool.stats();
+        assertThat(stats.idleConnections()).isZero();
+        assertThat(stats.estimatedNewConnections()).isEqualTo(2);
+        assertThat(stats.estimatedReuses()).isEqualTo(1);
+        assertThat(stats.inFlight()).isEqualTo(1);
+        assertThat(stats.waited()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should never count reuse when keep-alive is off")
+    void testNoReuseWithoutKeepAlive() throws Exception {
+        HostPool pool = new HostPool(ORIGIN, 4, 0);
+        pool.acquire();
+        pool.release();
+        pool.acquire();
+
+        HostPoolStats stats = pool.stats();
+        assertThat(stats.estimatedReuses()).isZero();
+        assertThat(stats.estimatedNewConnections()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should hold a slot until the response is closed and discard it on failure")
+    void testInterceptorReleasesSlots() throws Exception {
+        ConnectionPoolRegistry registry = new ConnectionPoolRegistry(new HttpTransportProperties());
+        ConnectionPoolInterceptor interceptor = new ConnectionPoolInterceptor(registry);
+        URI uri = URI.create("https://example.com/get");
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, uri);
+        HostPool pool = registry.pool(uri);
+
+        ClientHttpResponse response =
+                interceptor.intercept(
+                        request,
+                        new byte[0],
+                        (r, b) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+        assertThat(pool.stats().inFlight()).isEqualTo(1);
+        response.close();
+        assertThat(pool.stats().inFlight()).isZero();
+        assertThat(pool.stats().idleConnections()).isEqualTo(1);
+
+        assertThatThrownBy(
+                        () ->
+                                interceptor.intercept(
+                                        request,
+                                        new byte[0],
+                                        (r, b) -> {
+                                            throw new IOException("connection reset");
+                                        }))
+                .isInstanceOf(IOException.class);
+        assertThat(pool.stats().inFlight()).isZero();
+        assertThat(pool.stats().idleConnections()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should share one pool per origin with host overrides of the limit")
+    void testRegistryPoolsPerOrigin() {
+        HttpTransportProperties properties = new HttpTransportProperties();
+        properties.setMaxConnectionsPerRoute(20);
+        HttpTransportProperties.Host host = new HttpTransportProperties.Host();
+        host.setMaxConnections(5);
+        properties.setHosts(Map.of("jsonplaceholder.typicode.com", host));
+        ConnectionPoolRegistry registry = new ConnectionPoolRegistry(properties);
+
+        HostPool users = registry.pool(URI.create("https://jsonplaceholder.typicode.com/users/1"));
+        HostPool posts = registry.pool(URI.create("https://jsonplaceholder.typicode.com/posts"));
+        HostPool httpBin = registry.pool(URI.create("https://httpbin.org/get"));
+
+        assertThat(posts).isSameAs(users);
+        assertThat(users.stats().maxConnections()).isEqualTo(5);
+        assertThat(httpBin.stats().maxConnections()).isEqualTo(20);
+        assertThat(registry.snapshot()).hasSize(2);
+    }
+}